@@ -0,0 +1,76 @@
+package rad.shipment.calculator.benchmarks;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.*;
+import rad.shipment.calculator.gui.Main;
+import rad.shipment.calculator.helpers.Conversions;
+import rad.shipment.calculator.helpers.Encryption;
+import rad.shipment.calculator.helpers.HTMLWriter;
+import rad.shipment.calculator.helpers.Isotope;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the unit conversions, encryption, html report and bundle strings
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpersBenchmark {
+    // Declaring variables
+    private static final String[] NAMES = {"Co-60", "Cs-137", "P-32", "I-131", "H-3", "C-14", "Sr-90", "Am-241"};
+    @Param({"10", "1000"}) public int rows;  // number of isotopes in the html report
+    private final byte[] plainText = "superuser:SnayRadiation".getBytes(StandardCharsets.UTF_8);
+    private final byte[] associatedData = "shipment".getBytes(StandardCharsets.UTF_8);
+    private Encryption encryption;
+    private byte[] cipherText;
+    private HTMLWriter writer;
+    private String reportPath;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        System.setProperty("referenceDataSource", "csv");
+        if(!Main.setupReferenceDataSource()) throw new IllegalStateException("Failed to load the csv reference data");
+
+        encryption = new Encryption();
+        cipherText = encryption.encrypt(plainText, associatedData);
+
+        ObservableList<Isotope> isotopes = FXCollections.observableArrayList();
+        for(int i = 0; i < rows; i++) {
+            isotopes.add(new Isotope(NAMES[i % NAMES.length], 1, "grams", i + 1, "Regular", "Solid", "Normal", LocalDate.now().minusDays(i)));
+        }
+        writer = new HTMLWriter(isotopes);
+
+        File report = File.createTempFile("benchmark", ".html");
+        report.deleteOnExit();
+        reportPath = report.getPath();
+    }
+
+    @Benchmark
+    public float convertToMicro() {
+        ObservableList<String> prefixes = Conversions.getSiPrefixes();
+        if(++next == prefixes.size()) next = 0;
+        return Conversions.convertToMicro(1.5f, prefixes.get(next));
+    }
+
+    @Benchmark
+    public byte[] encrypt() { return encryption.encrypt(plainText, associatedData); }
+
+    @Benchmark
+    public byte[] decrypt() { return encryption.decrypt(cipherText, associatedData); }
+
+    @Benchmark
+    public boolean saveHTML() { return writer.saveHTML(reportPath); }
+
+    @Benchmark
+    public String replaceBundleString() { return Main.replaceBundleString("shipmentCalculated", "25", "Type A", "3"); }
+}
@@ -0,0 +1,52 @@
+package rad.shipment.calculator.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import rad.shipment.calculator.gui.Main;
+import rad.shipment.calculator.helpers.Isotope;
+import rad.shipment.calculator.helpers.IsotopeProfile;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks making isotopes and decaying their activity to today
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsotopeBenchmark {
+    // Declaring variables
+    private static final String NAME = "Co-60";
+    @Param({"h2", "csv"}) public String source;  // the reference data source the isotopes look themselves up in
+    private LocalDate refDate;
+    private IsotopeProfile profile;
+    private Isotope isotope;
+
+    @Setup
+    public void setup() {
+        System.setProperty("referenceDataSource", source);
+        if(!Main.setupReferenceDataSource()) throw new IllegalStateException("Failed to load the " + source + " reference data");
+
+        refDate = LocalDate.now().minusDays(100);
+        profile = Main.getReferenceDataSource().getIsotopeProfile(NAME);
+        isotope = new Isotope(NAME, profile, 1, "grams", 100, "Regular", "Solid", "Normal", refDate);
+    }
+
+    @TearDown
+    public void tearDown() { Main.getDBEditor().closeConnection(); }
+
+    @Benchmark
+    public Isotope constructName() { return new Isotope(NAME, refDate); }
+
+    @Benchmark
+    public Isotope constructNameValues() { return new Isotope(NAME, 1, "grams", 100, "Regular", "Solid", "Normal", refDate); }
+
+    @Benchmark
+    public Isotope constructProfileValues() { return new Isotope(NAME, profile, 1, "grams", 100, "Regular", "Solid", "Normal", refDate); }
+
+    @Benchmark
+    public float calculateAToday() { return isotope.calculateAToday(); }
+}
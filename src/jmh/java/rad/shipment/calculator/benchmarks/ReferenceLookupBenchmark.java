@@ -0,0 +1,66 @@
+package rad.shipment.calculator.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import rad.shipment.calculator.gui.Main;
+import rad.shipment.calculator.helpers.CsvReferenceData;
+import rad.shipment.calculator.helpers.IsotopeNameResolver;
+import rad.shipment.calculator.helpers.ReferenceDataSource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks looking up isotope constants and names in the reference data
+ * Each call uses the next name of every isotope written as its abbreviation, full name and in lower case
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceLookupBenchmark {
+    // Declaring variables
+    @Param({"h2", "csv"}) public String source;  // the reference data source being measured
+    private ReferenceDataSource reference;
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        CsvReferenceData csv = CsvReferenceData.load();
+        if("csv".equals(source)) reference = csv;
+        else {
+            if(!Main.getDBEditor().startConnection()) throw new IllegalStateException("Failed to start the database");
+            Main.getDBEditor().setupEmbeddedDB();
+            reference = Main.getDBEditor();
+        }
+
+        IsotopeNameResolver resolver = csv.getResolver();
+        names = new String[resolver.size() * 3];
+        for(int i = 0; i < resolver.size(); i++) {
+            names[i * 3] = resolver.getAbbr(i);
+            names[i * 3 + 1] = resolver.getFullName(i);
+            names[i * 3 + 2] = resolver.getAbbr(i).toLowerCase();
+        }
+    }
+
+    @TearDown
+    public void tearDown() { if(reference == Main.getDBEditor()) Main.getDBEditor().closeConnection(); }
+
+    /**
+     * Helper function to get the next name to look up
+     *
+     * @return the next name
+     */
+    private String nextName() {
+        if(++next == names.length) next = 0;
+        return names[next];
+    }
+
+    @Benchmark
+    public float getA1() { return reference.getA1(nextName()); }
+
+    @Benchmark
+    public String getAbbr() { return reference.getAbbr(nextName()); }
+}
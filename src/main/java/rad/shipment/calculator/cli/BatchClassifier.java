@@ -0,0 +1,177 @@
+package rad.shipment.calculator.cli;
+
+import rad.shipment.calculator.gui.Main;
+import rad.shipment.calculator.helpers.ReferenceDataSource;
+import rad.shipment.calculator.helpers.Shipment;
+
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classifies many shipments at once on an executor (a ForkJoinPool for the batch command)
+ *
+ * Every worker reads the same reference data source, which only serves reads from its in-memory snapshot of the
+ * reference tables once it is set up, so nothing is locked while classifying
+ * At most maxPending shipments are waiting or being classified at a time, once that many are out the caller waits
+ * for the oldest one before handing out the next, so a large batch never has more than maxPending results in memory
+ * Results are passed on in the order of the manifests and a shipment that fails only gets an error in its row
+ */
+public final class BatchClassifier {
+    // Declaring variables
+    private static final Logger logr = Logger.getLogger(BatchClassifier.class.getName());  // getting logger
+    static final int ID = 0;                        // positions of the values in a result row
+    static final int ISOTOPES = 1;
+    static final int CLASSIFICATION = 2;
+    static final int REPORTABLE = 3;
+    static final int LIMIT_FRACTION = 4;
+    static final int TOTAL_ACTIVITY = 5;
+    static final int EXEMPT_DATE = 6;
+    static final int ERROR = 7;
+    static final int COLUMNS = 8;                   // number of values in a result row
+    private final ReferenceDataSource reference;    // shared by every worker, only read from
+    private final LocalDate date;                   // the date the shipments are classified on
+    private final Executor executor;                // runs the classifications
+    private final int maxPending;                   // most shipments waiting or being classified at once
+
+    /*/////////////////////////////////////////////// BATCH CLASSIFIER ///////////////////////////////////////////////*/
+
+    /**
+     * Constructs a BatchClassifier object
+     *
+     * @param reference the reference data source every shipment is classified with
+     * @param date the date to classify the shipments on
+     * @param executor the executor the shipments are classified on
+     * @param maxPending the most shipments that can be waiting or being classified at once
+     */
+    public BatchClassifier(ReferenceDataSource reference, LocalDate date, Executor executor, int maxPending) throws InvalidParameterException {
+        if(reference == null) throw new InvalidParameterException("Reference data source cannot be null");
+        if(date == null) throw new InvalidParameterException("Date cannot be null");
+        if(executor == null) throw new InvalidParameterException("Executor cannot be null");
+        if(maxPending < 1) throw new InvalidParameterException("Pending shipment limit must be at least 1");
+
+        this.reference = reference;
+        this.date = date;
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to classify every shipment, the rows are passed to the sink on the calling thread
+     * in the order of the manifests
+     *
+     * @param manifests the shipments to classify
+     * @param sink where the result rows go
+     * @return the number of shipments that failed
+     */
+    public int classify(Iterator<Manifest> manifests, Consumer<String[]> sink) throws InvalidParameterException {
+        if(manifests == null) throw new InvalidParameterException("Manifests cannot be null");
+        if(sink == null) throw new InvalidParameterException("Sink cannot be null");
+
+        Deque<CompletableFuture<String[]>> pending = new ArrayDeque<>(Math.min(maxPending, 1024));
+        int failed = 0;
+
+        while(manifests.hasNext()) {
+            Manifest manifest = manifests.next();
+
+            // waiting for the oldest shipment before handing out another one
+            if(pending.size() >= maxPending) failed += emit(pending.removeFirst(), sink);
+            pending.addLast(submit(manifest));
+
+            while(!pending.isEmpty() && pending.peekFirst().isDone()) failed += emit(pending.removeFirst(), sink);
+        }
+        while(!pending.isEmpty()) failed += emit(pending.removeFirst(), sink);
+
+        return failed;
+    }
+
+    /**
+     * Helper function to classify one shipment on the executor
+     * Anything the shipment throws (or the executor refusing it) becomes the error of its row
+     *
+     * @param manifest the shipment
+     * @return the result row once it is classified
+     */
+    private CompletableFuture<String[]> submit(Manifest manifest) {
+        CompletableFuture<String[]> ret;
+        try {
+            ret = CompletableFuture.supplyAsync(() -> classify(manifest), executor);
+        } catch(RuntimeException e) {
+            ret = new CompletableFuture<>();
+            ret.completeExceptionally(e);
+        }
+        return ret.exceptionally(e -> errorRow(manifest, (e.getCause() == null)? e : e.getCause()));
+    }
+
+    /**
+     * Helper function to wait for a shipment and pass its row on
+     *
+     * @param result the row of the shipment once it is classified
+     * @param sink where the row goes
+     * @return 1 if the shipment failed, 0 otherwise
+     */
+    private static int emit(CompletableFuture<String[]> result, Consumer<String[]> sink) {
+        String[] row = result.join();
+        sink.accept(row);
+        return (row[ERROR] == null)? 0 : 1;
+    }
+
+    /**
+     * Helper function to classify one shipment
+     * Anything that goes wrong is written to the error of the row instead of being thrown
+     *
+     * @param manifest the shipment
+     * @return the values of the result row (the error is null if there was none)
+     */
+    String[] classify(Manifest manifest) {
+        String[] ret = new String[COLUMNS];
+        ret[ID] = manifest.getId();
+        ret[ISOTOPES] = String.valueOf(manifest.getIsotopes().size());
+
+        try {
+            if(manifest.getError() != null) throw new InvalidParameterException(manifest.getError());
+
+            Shipment shipment = new Shipment(manifest.getMass(), manifest.getNature(), manifest.getState(), manifest.getForm(), manifest.getRefDate());
+            shipment.addIsotopes(reference, manifest.getIsotopes());
+
+            int shipmentClass = shipment.calculate(reference, date);
+            LocalDate exempt = shipment.calculateDateForExemptShipping();
+
+            ret[CLASSIFICATION] = Main.getString("isotopeClass" + shipmentClass);
+            ret[REPORTABLE] = String.valueOf(shipment.isReportableQuan());
+            ret[LIMIT_FRACTION] = String.valueOf(shipment.getCalculator().getSumLimitFraction());
+            ret[TOTAL_ACTIVITY] = String.valueOf(shipment.getCalculator().getTotalAToday());
+            ret[EXEMPT_DATE] = (exempt == null)? Main.getString("batchNever") : exempt.toString();
+        } catch(RuntimeException e) {
+            return errorRow(manifest, e);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Helper function to make the row of a shipment that failed
+     *
+     * @param manifest the shipment
+     * @param error why it failed
+     * @return the result row with only the name, number of isotopes and error filled in
+     */
+    private static String[] errorRow(Manifest manifest, Throwable error) {
+        logr.log(Level.WARNING, "Failed to classify shipment " + manifest.getId() + ". Error: " + error.getMessage());
+
+        String[] ret = new String[COLUMNS];
+        ret[ID] = manifest.getId();
+        ret[ISOTOPES] = String.valueOf(manifest.getIsotopes().size());
+        ret[ERROR] = (error.getMessage() == null)? error.getClass().getSimpleName() : error.getMessage();
+        return ret;
+    }
+}
@@ -0,0 +1,180 @@
+package rad.shipment.calculator.cli;
+
+import rad.shipment.calculator.gui.Main;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classifies the shipments in manifest files without the GUI (the JavaFX toolkit is never started)
+ *
+ * Usage: BatchMain [--format csv|json] [--date yyyy-MM-dd] [--reference h2|csv] [--output file]
+ *                  [--threads n] [--pending n] [manifest ...]
+ *     --format     the format of the manifests (guessed from the file name if not given, stdin is csv)
+ *     --date       the date to classify the shipments on (today if not given)
+ *     --reference  where the isotope constants are read from (the referenceDataSource setting if not given)
+ *     --output     the file to write the results to (stdout if not given)
+ *     --threads    the number of shipments classified at the same time (batchThreads, 0 is one per processor)
+ *     --pending    the most shipments waiting to be written at once (batchMaxPending)
+ *     manifest     the manifest files to read, stdin if none are given or the name is -
+ *
+ * One CSV row is written for every shipment in the order of the manifests, a shipment that fails only gets its
+ * error written
+ * Exits with 0 if every shipment was classified, 1 if any failed and 2 if the arguments or files were bad
+ */
+public final class BatchMain {
+    // Declaring variables
+    private static final Logger logr = Logger.getLogger(BatchMain.class.getName());  // getting logger
+    static final int SUCCESS = 0;
+    static final int SHIPMENT_FAILED = 1;
+    static final int USAGE_ERROR = 2;
+    private static final String STDIN = "-";
+
+    /*////////////////////////////////////////////////// BATCH MAIN //////////////////////////////////////////////////*/
+
+    private BatchMain() {}
+
+    public static void main(String[] args) { System.exit(run(args, System.in, System.out)); }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to classify the manifests named in the arguments
+     *
+     * @param args the command line arguments
+     * @param in where manifests named - are read from
+     * @param out where the results are written to if there is no --output
+     * @return the exit code
+     */
+    static int run(String[] args, InputStream in, PrintStream out) {
+        String format = null, output = null;
+        LocalDate date = LocalDate.now();
+        int threads = Main.getInt("batchThreads"), maxPending = Main.getInt("batchMaxPending");
+        List<String> files = new ArrayList<>();
+
+        try {
+            for(int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if(!arg.startsWith("--")) files.add(arg);
+                else if("--help".equals(arg)) {
+                    out.println(Main.getString("batchUsage"));
+                    return SUCCESS;
+                } else {
+                    if(i + 1 >= args.length) throw new InvalidParameterException(arg + " needs a value");
+                    String value = args[++i];
+
+                    switch(arg) {
+                        case "--format":
+                            if(!ManifestReader.CSV.equalsIgnoreCase(value) && !ManifestReader.JSON.equalsIgnoreCase(value))
+                                throw new InvalidParameterException("Unknown manifest format: " + value);
+                            format = value;
+                            break;
+                        case "--date": date = LocalDate.parse(value); break;
+                        case "--reference": System.setProperty("referenceDataSource", value); break;
+                        case "--output": output = value; break;
+                        case "--threads": threads = Integer.parseInt(value); break;
+                        case "--pending": maxPending = Integer.parseInt(value); break;
+                        default: throw new InvalidParameterException("Unknown option " + arg);
+                    }
+                }
+            }
+            if(threads < 0) throw new InvalidParameterException("Threads cannot be negative");
+            if(maxPending < 1) throw new InvalidParameterException("Pending shipment limit must be at least 1");
+        } catch(InvalidParameterException | DateTimeParseException | NumberFormatException e) {
+            logr.severe(e.getMessage());
+            out.println(Main.getString("batchUsage"));
+            return USAGE_ERROR;
+        }
+        if(files.isEmpty()) files.add(STDIN);
+
+        if(!Main.setupReferenceDataSource()) return USAGE_ERROR;
+
+        PrintStream results = out;
+        try {
+            if(output != null) results = new PrintStream(new FileOutputStream(output), false, StandardCharsets.UTF_8.name());
+        } catch(IOException e) {
+            logr.log(Level.SEVERE, "Failed to open " + output + ". Error: ", e);
+            return USAGE_ERROR;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool((threads == 0)? Runtime.getRuntime().availableProcessors() : threads);
+        BatchClassifier classifier = new BatchClassifier(Main.getReferenceDataSource(), date, pool, maxPending);
+        PrintStream sink = results;
+        AtomicInteger count = new AtomicInteger();
+        int ret = SUCCESS, failed = 0;
+        long start = System.nanoTime();
+        try {
+            results.println(Main.getString("batchHeader"));
+
+            for(String file : files) {
+                // the shipments are read as they are classified so memory does not grow with the size of the file
+                try(Reader reader = new InputStreamReader(STDIN.equals(file)? nonClosing(in) : new FileInputStream(file), StandardCharsets.UTF_8)) {
+                    String fileFormat = (format != null)? format : STDIN.equals(file)? ManifestReader.CSV : ManifestReader.formatOf(file);
+                    failed += classifier.classify(ManifestReader.iterate(reader, fileFormat), row -> {
+                        sink.println(csvRow(row));
+                        count.incrementAndGet();
+                    });
+                } catch(IOException | UncheckedIOException e) {
+                    logr.log(Level.SEVERE, "Failed to read " + file + ". Error: ", e);
+                    ret = USAGE_ERROR;
+                }
+            }
+        } finally {
+            pool.shutdown();
+            if(results != out) results.close();
+            else results.flush();
+        }
+
+        logr.info(Main.replaceBundleString("batchDone", String.valueOf(count.get()), String.valueOf(failed),
+                String.valueOf(pool.getParallelism()), String.valueOf((System.nanoTime() - start) / 1000000)));
+        if(ret == SUCCESS && failed > 0) ret = SHIPMENT_FAILED;
+        return ret;
+    }
+
+    /**
+     * Helper function to join values into a CSV row, quoting the values that need it
+     *
+     * @param values the values (null values are left empty)
+     * @return the CSV row
+     */
+    static String csvRow(String... values) {
+        StringBuilder ret = new StringBuilder();
+        for(int i = 0; i < values.length; i++) {
+            if(i > 0) ret.append(',');
+            String value = (values[i] == null)? "" : values[i];
+            if(value.contains(",") || value.contains("\"") || value.contains("\n")) value = "\"" + value.replace("\"", "\"\"") + "\"";
+            ret.append(value);
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Helper function to stop a reader from closing the given stream (stdin stays open for the next manifest)
+     *
+     * @param in the stream
+     * @return a stream that reads from the given stream but does not close it
+     */
+    private static InputStream nonClosing(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {}
+        };
+    }
+}
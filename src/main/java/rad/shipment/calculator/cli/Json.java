@@ -0,0 +1,237 @@
+package rad.shipment.calculator.cli;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader for the parts of JSON a shipment manifest uses
+ * Objects become LinkedHashMaps (keeping the order of the keys), arrays become ArrayLists, numbers become Doubles,
+ * true/false become Booleans and null stays null
+ */
+final class Json {
+    // Declaring variables
+    private final Reader reader;
+    private int next;           // the next character or -1 at the end of the input
+    private int line = 1;       // the line of the next character (for error messages)
+
+    /*///////////////////////////////////////////////////// JSON /////////////////////////////////////////////////////*/
+
+    /**
+     * Constructs a Json object reading from the given reader
+     *
+     * @param reader where the JSON is read from
+     */
+    private Json(Reader reader) throws IOException {
+        this.reader = reader;
+        next = reader.read();
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to read one JSON value from a reader
+     *
+     * @param reader where the JSON is read from
+     * @return the value that was read
+     * @throws IOException if the reader fails or the input is not valid JSON
+     */
+    static Object parse(Reader reader) throws IOException {
+        Json json = new Json(reader);
+        Object ret = json.value();
+
+        json.skipWhitespace();
+        if(json.next != -1) throw json.error("Unexpected '" + (char)json.next + "' after the end of the JSON");
+        return ret;
+    }
+
+    /**
+     * Helper function to read the next value
+     *
+     * @return the value that was read
+     */
+    private Object value() throws IOException {
+        skipWhitespace();
+
+        switch(next) {
+            case '{': return object();
+            case '[': return array();
+            case '"': return string();
+            case 't': literal("true"); return Boolean.TRUE;
+            case 'f': literal("false"); return Boolean.FALSE;
+            case 'n': literal("null"); return null;
+            case -1: throw error("Unexpected end of the JSON");
+            default:
+                if(next == '-' || Character.isDigit(next)) return number();
+                throw error("Unexpected '" + (char)next + "'");
+        }
+    }
+
+    /**
+     * Helper function to read an object
+     *
+     * @return the keys and values of the object in the order they were read
+     */
+    private Map<String, Object> object() throws IOException {
+        Map<String, Object> ret = new LinkedHashMap<>();
+        read();
+
+        skipWhitespace();
+        if(next == '}') {
+            read();
+            return ret;
+        }
+
+        while(true) {
+            skipWhitespace();
+            if(next != '"') throw error("Expected a key");
+            String key = string();
+
+            skipWhitespace();
+            expect(':');
+            ret.put(key, value());
+
+            skipWhitespace();
+            if(next == '}') {
+                read();
+                return ret;
+            }
+            expect(',');
+        }
+    }
+
+    /**
+     * Helper function to read an array
+     *
+     * @return the values of the array
+     */
+    private List<Object> array() throws IOException {
+        List<Object> ret = new ArrayList<>();
+        read();
+
+        skipWhitespace();
+        if(next == ']') {
+            read();
+            return ret;
+        }
+
+        while(true) {
+            ret.add(value());
+
+            skipWhitespace();
+            if(next == ']') {
+                read();
+                return ret;
+            }
+            expect(',');
+        }
+    }
+
+    /**
+     * Helper function to read a string
+     *
+     * @return the string without its quotes and with its escapes replaced
+     */
+    private String string() throws IOException {
+        StringBuilder ret = new StringBuilder();
+        read();
+
+        while(next != '"') {
+            if(next == -1 || next == '\n') throw error("Unterminated string");
+            if(next == '\\') {
+                read();
+                switch(next) {
+                    case '"': case '\\': case '/': ret.append((char)next); break;
+                    case 'b': ret.append('\b'); break;
+                    case 'f': ret.append('\f'); break;
+                    case 'n': ret.append('\n'); break;
+                    case 'r': ret.append('\r'); break;
+                    case 't': ret.append('\t'); break;
+                    case 'u':
+                        int code = 0;
+                        for(int i = 0; i < 4; i++) {
+                            read();
+                            int digit = Character.digit(next, 16);
+                            if(digit < 0) throw error("Invalid unicode escape");
+                            code = code * 16 + digit;
+                        }
+                        ret.append((char)code);
+                        break;
+                    default: throw error("Invalid escape");
+                }
+            } else ret.append((char)next);
+            read();
+        }
+        read();
+
+        return ret.toString();
+    }
+
+    /**
+     * Helper function to read a number
+     *
+     * @return the number
+     */
+    private Double number() throws IOException {
+        StringBuilder ret = new StringBuilder();
+
+        while(next == '-' || next == '+' || next == '.' || next == 'e' || next == 'E' || Character.isDigit(next)) {
+            ret.append((char)next);
+            read();
+        }
+
+        try {
+            return Double.valueOf(ret.toString());
+        } catch(NumberFormatException e) {
+            throw error("Invalid number " + ret);
+        }
+    }
+
+    /**
+     * Helper function to read a literal (true, false, null)
+     *
+     * @param literal the literal that is expected
+     */
+    private void literal(String literal) throws IOException {
+        for(int i = 0; i < literal.length(); i++) {
+            if(next != literal.charAt(i)) throw error("Expected " + literal);
+            read();
+        }
+    }
+
+    /**
+     * Helper function to read a character that has to be next
+     *
+     * @param expected the character that is expected
+     */
+    private void expect(char expected) throws IOException {
+        if(next != expected) throw error("Expected '" + expected + "'");
+        read();
+    }
+
+    /**
+     * Helper function to skip spaces, tabs and new lines
+     */
+    private void skipWhitespace() throws IOException {
+        while(next == ' ' || next == '\t' || next == '\n' || next == '\r') read();
+    }
+
+    /**
+     * Helper function to move on to the next character
+     */
+    private void read() throws IOException {
+        if(next == '\n') line++;
+        next = reader.read();
+    }
+
+    /**
+     * Helper function to make an exception saying where the JSON is invalid
+     *
+     * @param message what is wrong with the JSON
+     * @return the exception to throw
+     */
+    private IOException error(String message) { return new IOException("Line " + line + ": " + message); }
+}
@@ -0,0 +1,129 @@
+package rad.shipment.calculator.cli;
+
+import rad.shipment.calculator.helpers.ManifestEntry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One shipment read from a manifest file, the details of the shipment and the isotopes in it
+ * A manifest with an error could not be read and is reported instead of being classified
+ */
+public final class Manifest {
+    // Declaring variables
+    private final String id;                    // the name of the shipment in the manifest
+    private final float mass;                   // the mass of the shipment (grams or liters)
+    private final String massUnit;              // grams or liters
+    private final String nature;                // regular, instrument, article
+    private final String state;                 // solid, liquid, gas
+    private final String form;                  // special, normal
+    private final LocalDate refDate;            // the reference date of the shipment
+    private final List<ManifestEntry> isotopes = new ArrayList<>();
+    private String error;                       // why the shipment could not be read (null if it was)
+
+    /*/////////////////////////////////////////////////// MANIFEST ///////////////////////////////////////////////////*/
+
+    /**
+     * Constructs a Manifest object without any isotopes
+     *
+     * @param id the name of the shipment in the manifest
+     * @param mass the mass of the shipment
+     * @param massUnit the mass unit of the shipment
+     * @param nature the nature of the shipment
+     * @param state the state of the shipment
+     * @param form the form of the shipment
+     * @param refDate the reference date of the shipment
+     */
+    Manifest(String id, float mass, String massUnit, String nature, String state, String form, LocalDate refDate) {
+        this.id = id;
+        this.mass = mass;
+        this.massUnit = massUnit;
+        this.nature = nature;
+        this.state = state;
+        this.form = form;
+        this.refDate = refDate;
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to add an isotope to the shipment
+     *
+     * @param entry the isotope
+     */
+    void add(ManifestEntry entry) { isotopes.add(entry); }
+
+    /**
+     * Helper function to mark the shipment as unreadable (only the first error is kept)
+     *
+     * @param error why the shipment could not be read
+     */
+    void fail(String error) { if(this.error == null) this.error = error; }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the name of the shipment in the manifest
+     *
+     * @return the name of the shipment in the manifest
+     */
+    public String getId() { return id; }
+
+    /**
+     * Getter function to get the mass of the shipment
+     *
+     * @return the mass of the shipment
+     */
+    public float getMass() { return mass; }
+
+    /**
+     * Getter function to get the mass unit of the shipment
+     *
+     * @return the mass unit of the shipment
+     */
+    public String getMassUnit() { return massUnit; }
+
+    /**
+     * Getter function to get the nature of the shipment
+     *
+     * @return the nature of the shipment
+     */
+    public String getNature() { return nature; }
+
+    /**
+     * Getter function to get the state of the shipment
+     *
+     * @return the state of the shipment
+     */
+    public String getState() { return state; }
+
+    /**
+     * Getter function to get the form of the shipment
+     *
+     * @return the form of the shipment
+     */
+    public String getForm() { return form; }
+
+    /**
+     * Getter function to get the reference date of the shipment
+     *
+     * @return the reference date of the shipment
+     */
+    public LocalDate getRefDate() { return refDate; }
+
+    /**
+     * Getter function to get the isotopes in the shipment
+     *
+     * @return the isotopes in the shipment
+     */
+    public List<ManifestEntry> getIsotopes() { return Collections.unmodifiableList(isotopes); }
+
+    /**
+     * Getter function to get why the shipment could not be read
+     *
+     * @return the error or null if the shipment was read
+     */
+    public String getError() { return error; }
+}
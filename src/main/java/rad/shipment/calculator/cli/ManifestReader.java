@@ -0,0 +1,510 @@
+package rad.shipment.calculator.cli;
+
+import rad.shipment.calculator.gui.Main;
+import rad.shipment.calculator.helpers.Conversions;
+import rad.shipment.calculator.helpers.ManifestEntry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Reads shipment manifests from CSV or JSON
+ *
+ * CSV manifests have one isotope per row and a header naming the columns (in any order, any case):
+ *     Shipment, Isotope, A0 are required
+ *     Mass, MassUnit, Nature, State, Form, RefDate (yyyy-MM-dd) are optional
+ * rows with the same Shipment are one shipment, the shipment values are taken from its first row
+ * (when the shipments are iterated the rows of a shipment have to be next to each other)
+ *
+ * JSON manifests are an array of shipments (or an object with a "shipments" array), each shipment has
+ * "id", "mass", "massUnit", "nature", "state", "form", "refDate" and an "isotopes" array of
+ * {"name", "A0", "mass", "massUnit", "refDate"}
+ *
+ * Values with commas, quotes or line breaks in them are quoted the RFC 4180 way ("a, ""b""")
+ *
+ * Missing values get the same defaults the GUI starts with, a shipment with a bad value is marked with an error so the
+ * rest of the manifest can still be classified
+ */
+public final class ManifestReader {
+    // Declaring variables
+    public static final String CSV = "csv";
+    public static final String JSON = "json";
+    private static final String SHIPMENT = "shipment";
+    private static final String ID = "id";
+    private static final String ISOTOPE = "isotope";
+    private static final String NAME = "name";
+    private static final String A0 = "a0";
+    private static final String MASS = "mass";
+    private static final String MASS_UNIT = "massunit";
+    private static final String NATURE = "nature";
+    private static final String STATE = "state";
+    private static final String FORM = "form";
+    private static final String REF_DATE = "refdate";
+    private static final String ISOTOPES = "isotopes";
+    private static final String SHIPMENTS = "shipments";
+
+    /**
+     * Reads the records of a CSV manifest one at a time, following RFC 4180 quoting
+     * (a quoted value can have commas, line breaks and doubled quotes in it)
+     */
+    private static final class CsvRecords {
+        private final BufferedReader lines;
+        private int read = 0;                       // the number of lines read so far
+        private int lineNumber = 0;                 // the line the last record started on
+
+        /**
+         * Constructs a CsvRecords object
+         *
+         * @param reader where the records are read from
+         */
+        CsvRecords(Reader reader) { lines = (reader instanceof BufferedReader)? (BufferedReader)reader : new BufferedReader(reader); }
+
+        /**
+         * Helper function to read the values of the next record, skipping empty lines and # comments
+         *
+         * @return the values of the record or null if there are no more records
+         * @throws IOException if the reader fails or a quoted value is never closed
+         */
+        String[] next() throws IOException {
+            String line;
+            do {
+                line = lines.readLine();
+                if(line == null) return null;
+                lineNumber = ++read;
+            } while(line.trim().isEmpty() || line.startsWith("#"));
+
+            List<String> ret = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for(int i = 0; ; i++) {
+                if(i == line.length()) {
+                    if(!quoted) break;
+
+                    // the quoted value goes on to the next line
+                    line = lines.readLine();
+                    if(line == null) throw new IOException("Line " + lineNumber + ": Quoted value is missing its closing quote");
+                    read++;
+                    value.append('\n');
+                    i = -1;
+                    continue;
+                }
+
+                char c = line.charAt(i);
+                if(quoted) {
+                    if(c != '"') value.append(c);
+                    else if(i + 1 < line.length() && line.charAt(i + 1) == '"') value.append(line.charAt(++i));
+                    else quoted = false;
+                } else if(c == ',') {
+                    ret.add(value.toString());
+                    value.setLength(0);
+                } else if(c == '"' && value.toString().trim().isEmpty()) {
+                    value.setLength(0);
+                    quoted = true;
+                } else value.append(c);
+            }
+            ret.add(value.toString());
+            return ret.toArray(new String[0]);
+        }
+
+        /**
+         * Getter function to get the line the last record started on
+         *
+         * @return the line number of the last record
+         */
+        int getLineNumber() { return lineNumber; }
+    }
+
+    /**
+     * Reads the shipments of a CSV manifest one at a time, as they are asked for
+     * The rows of a shipment have to be next to each other, only the ids of the finished shipments are kept
+     */
+    private static final class CsvManifests implements Iterator<Manifest> {
+        private final CsvRecords records;
+        private final Map<String, Integer> columns;
+        private final Set<String> finished = new HashSet<>();   // the ids of the shipments already handed out
+        private Map<String, Object> row;                        // the next row that has not been added to a shipment
+        private String id;                                      // the shipment of the next row
+        private int lineNumber;                                 // the line of the next row
+
+        /**
+         * Constructs a CsvManifests object, reading the header and the first row
+         *
+         * @param reader where the manifest is read from
+         * @throws IOException if the reader fails or the header is missing a required column
+         */
+        CsvManifests(Reader reader) throws IOException {
+            records = new CsvRecords(reader);
+            String[] values = records.next();
+            columns = (values == null)? null : header(values, records.getLineNumber());
+            advance();
+        }
+
+        /**
+         * Helper function to read the next row
+         *
+         * @throws IOException if the reader fails or a quoted value is never closed
+         */
+        private void advance() throws IOException {
+            String[] values = (columns == null)? null : records.next();
+            if(values == null) {
+                row = null;
+                return;
+            }
+
+            lineNumber = records.getLineNumber();
+            row = row(columns, values);
+            id = text(row, SHIPMENT);
+            if(id == null) id = "Line " + lineNumber;
+        }
+
+        @Override public boolean hasNext() { return row != null; }
+
+        @Override public Manifest next() {
+            if(row == null) throw new NoSuchElementException();
+
+            String shipment = id;
+            Manifest ret = shipment(shipment, row, "Line " + lineNumber + ": ");
+            if(!finished.add(shipment)) ret.fail("Line " + lineNumber + ": Rows of shipment " + shipment + " are not next to each other");
+            try {
+                do {
+                    entry(ret, row, ISOTOPE, "Line " + lineNumber + ": ");
+                    advance();
+                } while(row != null && shipment.equals(id));
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return ret;
+        }
+    }
+
+    /*/////////////////////////////////////////////// MANIFEST READER ////////////////////////////////////////////////*/
+
+    private ManifestReader() {}
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to read the shipments in a manifest
+     *
+     * @param reader where the manifest is read from
+     * @param format the format of the manifest (csv or json)
+     * @return the shipments in the manifest in the order they first appear
+     * @throws IOException if the reader fails or the manifest cannot be read at all
+     */
+    public static List<Manifest> read(Reader reader, String format) throws IOException, InvalidParameterException {
+        if(reader == null) throw new InvalidParameterException("Reader cannot be null");
+        if(CSV.equalsIgnoreCase(format)) return readCsv(reader);
+        if(JSON.equalsIgnoreCase(format)) return readJson(reader);
+        throw new InvalidParameterException("Unknown manifest format: " + format);
+    }
+
+    /**
+     * Helper function to read the shipments in a manifest as they are asked for, so only one shipment is held at a time
+     * CSV shipments are read lazily (their rows have to be next to each other), JSON manifests are read whole
+     *
+     * @param reader where the manifest is read from, it has to stay open until the shipments are read
+     * @param format the format of the manifest (csv or json)
+     * @return the shipments in the manifest in the order they appear, throwing UncheckedIOException if the reader fails
+     * @throws IOException if the reader fails or the start of the manifest cannot be read
+     */
+    public static Iterator<Manifest> iterate(Reader reader, String format) throws IOException, InvalidParameterException {
+        if(reader == null) throw new InvalidParameterException("Reader cannot be null");
+        if(CSV.equalsIgnoreCase(format)) return new CsvManifests(reader);
+        if(JSON.equalsIgnoreCase(format)) return readJson(reader).iterator();
+        throw new InvalidParameterException("Unknown manifest format: " + format);
+    }
+
+    /**
+     * Helper function to guess the format of a manifest from its file name
+     *
+     * @param fileName the name of the manifest file
+     * @return json if the file ends with .json, otherwise csv
+     */
+    public static String formatOf(String fileName) {
+        return (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith("." + JSON))? JSON : CSV;
+    }
+
+    /**
+     * Helper function to read the shipments in a CSV manifest
+     *
+     * @param reader where the manifest is read from
+     * @return the shipments in the manifest in the order they first appear
+     * @throws IOException if the reader fails or the header is missing a required column
+     */
+    public static List<Manifest> readCsv(Reader reader) throws IOException {
+        CsvRecords records = new CsvRecords(reader);
+        Map<String, Manifest> shipments = new LinkedHashMap<>();
+        Map<String, Integer> columns = null;
+        String[] values;
+
+        while((values = records.next()) != null) {
+            int lineNumber = records.getLineNumber();
+            if(columns == null) {
+                columns = header(values, lineNumber);
+                continue;
+            }
+
+            Map<String, Object> row = row(columns, values);
+            String id = text(row, SHIPMENT);
+            if(id == null) id = "Line " + lineNumber;
+            Manifest manifest = shipments.get(id);
+            if(manifest == null) {
+                manifest = shipment(id, row, "Line " + lineNumber + ": ");
+                shipments.put(id, manifest);
+            }
+            entry(manifest, row, ISOTOPE, "Line " + lineNumber + ": ");
+        }
+
+        return new ArrayList<>(shipments.values());
+    }
+
+    /**
+     * Helper function to read the shipments in a JSON manifest
+     *
+     * @param reader where the manifest is read from
+     * @return the shipments in the manifest in the order they appear
+     * @throws IOException if the reader fails or the manifest is not valid JSON
+     */
+    public static List<Manifest> readJson(Reader reader) throws IOException {
+        Object root = Json.parse(reader);
+        if(root instanceof Map) root = lowerCase(root).get(SHIPMENTS);
+        if(!(root instanceof List)) throw new IOException("Expected an array of shipments");
+
+        List<Manifest> ret = new ArrayList<>();
+        List<?> shipments = (List<?>)root;
+        for(int i = 0; i < shipments.size(); i++) {
+            String where = "Shipment " + (i + 1) + ": ";
+            if(!(shipments.get(i) instanceof Map)) {
+                Manifest manifest = new Manifest("Shipment " + (i + 1), defaultVal(), null, null, null, null, null);
+                manifest.fail(where + "Expected an object");
+                ret.add(manifest);
+                continue;
+            }
+
+            Map<String, Object> values = lowerCase(shipments.get(i));
+            String id = text(values, ID);
+            Manifest manifest = shipment((id == null)? "Shipment " + (i + 1) : id, values, where);
+            ret.add(manifest);
+
+            Object isotopes = values.get(ISOTOPES);
+            if(!(isotopes instanceof List)) {
+                manifest.fail(where + "Expected an array of isotopes");
+                continue;
+            }
+            for(Object isotope : (List<?>)isotopes) {
+                if(isotope instanceof Map) entry(manifest, lowerCase(isotope), NAME, where);
+                else manifest.fail(where + "Expected an isotope object");
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Helper function to find the position of every column in a CSV header
+     *
+     * @param values the names in the header
+     * @param lineNumber the line of the header
+     * @return the position of every column by its lower case name
+     * @throws IOException if a required column is missing
+     */
+    private static Map<String, Integer> header(String[] values, int lineNumber) throws IOException {
+        Map<String, Integer> ret = new HashMap<>();
+        for(int i = 0; i < values.length; i++) ret.put(values[i].trim().toLowerCase(Locale.ROOT), i);
+
+        for(String required : new String[] {SHIPMENT, ISOTOPE, A0}) {
+            if(!ret.containsKey(required)) throw new IOException("Line " + lineNumber + ": Header is missing the " + required + " column");
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to name the values of a CSV row by their column
+     *
+     * @param columns the position of every column by its lower case name
+     * @param values the values in the row
+     * @return the values of the row by their lower case name
+     */
+    private static Map<String, Object> row(Map<String, Integer> columns, String[] values) {
+        Map<String, Object> ret = new HashMap<>();
+        for(Map.Entry<String, Integer> column : columns.entrySet()) {
+            if(column.getValue() < values.length) ret.put(column.getKey(), values[column.getValue()].trim());
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to make a shipment from its values, filling in the defaults for the missing ones
+     * If a value is bad the shipment gets the defaults and is marked with an error
+     *
+     * @param id the name of the shipment
+     * @param values the values of the shipment by their lower case name
+     * @param where where the values are in the manifest (for error messages)
+     * @return the shipment without any isotopes
+     */
+    private static Manifest shipment(String id, Map<String, Object> values, String where) {
+        String nature = choice(text(values, NATURE), Main.getNatures(), Main.DEFAULT_NATURE_INDEX);
+        String state = choice(text(values, STATE), Main.getStates(), Main.DEFAULT_STATE_INDEX);
+        String form = choice(text(values, FORM), Main.getForms(), Main.DEFAULT_FORM_INDEX);
+
+        try {
+            String massUnit = text(values, MASS_UNIT);
+            if(massUnit == null) massUnit = defaultMassUnit(state);
+
+            if(!Main.getNatures().contains(nature)) throw new InvalidParameterException("Unknown nature: " + nature);
+            if(!Main.getStates().contains(state)) throw new InvalidParameterException("Unknown state: " + state);
+            if(!Main.getForms().contains(form)) throw new InvalidParameterException("Unknown form: " + form);
+
+            return new Manifest(id, number(values, MASS, defaultVal()), massUnit, nature, state, form,
+                    date(values, REF_DATE, LocalDate.now()));
+        } catch(InvalidParameterException e) {
+            Manifest ret = new Manifest(id, defaultVal(), defaultMassUnit(Main.getStates().get(Main.DEFAULT_STATE_INDEX)),
+                    Main.getNatures().get(Main.DEFAULT_NATURE_INDEX), Main.getStates().get(Main.DEFAULT_STATE_INDEX),
+                    Main.getForms().get(Main.DEFAULT_FORM_INDEX), LocalDate.now());
+            ret.fail(where + e.getMessage());
+            return ret;
+        }
+    }
+
+    /**
+     * Helper function to add an isotope to a shipment, the missing values are taken from the shipment
+     * If a value is bad the shipment is marked with an error instead
+     *
+     * @param manifest the shipment the isotope is in
+     * @param values the values of the isotope by their lower case name
+     * @param nameKey the key of the isotope's name
+     * @param where where the values are in the manifest (for error messages)
+     */
+    private static void entry(Manifest manifest, Map<String, Object> values, String nameKey, String where) {
+        try {
+            String name = text(values, nameKey);
+            if(name == null) throw new InvalidParameterException("Isotope name is missing");
+
+            float A0 = number(values, ManifestReader.A0, Float.NaN);
+            if(Float.isNaN(A0)) throw new InvalidParameterException("A0 of " + name + " is missing");
+
+            String massUnit = text(values, MASS_UNIT);
+            manifest.add(new ManifestEntry(name, A0, number(values, MASS, manifest.getMass()),
+                    (massUnit == null)? manifest.getMassUnit() : massUnit, date(values, REF_DATE, manifest.getRefDate())));
+        } catch(InvalidParameterException e) {
+            manifest.fail(where + e.getMessage());
+        }
+    }
+
+    /**
+     * Helper function to match a value to one of the GUI's choices ignoring case
+     *
+     * @param value the value
+     * @param choices the choices
+     * @param defaultIndex the choice to use if the value is missing
+     * @return the matching choice, the value itself if nothing matches
+     */
+    private static String choice(String value, List<String> choices, int defaultIndex) {
+        if(value == null) return choices.get(defaultIndex);
+        for(String choice : choices) {
+            if(choice.equalsIgnoreCase(value)) return choice;
+        }
+        return value;
+    }
+
+    /**
+     * Helper function to get the mass unit the GUI uses for a state
+     *
+     * @param state the state of the shipment
+     * @return liters for liquids, grams otherwise
+     */
+    private static String defaultMassUnit(String state) {
+        return Conversions.getMassUnits().get("Liquid".equals(state)? 1 : 0);
+    }
+
+    /**
+     * Helper function to make a copy of an object with lower case keys
+     *
+     * @param object the object read from JSON
+     * @return the keys and values of the object, keys in lower case
+     */
+    private static Map<String, Object> lowerCase(Object object) {
+        Map<String, Object> ret = new HashMap<>();
+        for(Map.Entry<?, ?> entry : ((Map<?, ?>)object).entrySet()) ret.put(entry.getKey().toString().toLowerCase(Locale.ROOT), entry.getValue());
+        return ret;
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the default value of a missing number
+     *
+     * @return the default value
+     */
+    private static float defaultVal() { return (float)Main.getInt("defaultInt"); }
+
+    /**
+     * Getter function to get a text value
+     *
+     * @param values the values by their lower case name
+     * @param key the lower case name of the value
+     * @return the value or null if it is missing or empty
+     */
+    private static String text(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        if(value == null) return null;
+
+        String ret = (value instanceof Double && (Double)value == Math.rint((Double)value))?
+                String.valueOf(((Double)value).longValue()) : value.toString().trim();
+        return ret.isEmpty()? null : ret;
+    }
+
+    /**
+     * Getter function to get a number value
+     *
+     * @param values the values by their lower case name
+     * @param key the lower case name of the value
+     * @param defaultValue the value to use if it is missing
+     * @return the value
+     */
+    private static float number(Map<String, Object> values, String key, float defaultValue) throws InvalidParameterException {
+        Object value = values.get(key);
+        if(value instanceof Number) return ((Number)value).floatValue();
+
+        String text = text(values, key);
+        if(text == null) return defaultValue;
+        try {
+            return Float.parseFloat(text);
+        } catch(NumberFormatException e) {
+            throw new InvalidParameterException(key + " is not a number: " + text);
+        }
+    }
+
+    /**
+     * Getter function to get a date value (yyyy-MM-dd)
+     *
+     * @param values the values by their lower case name
+     * @param key the lower case name of the value
+     * @param defaultValue the value to use if it is missing
+     * @return the value
+     */
+    private static LocalDate date(Map<String, Object> values, String key, LocalDate defaultValue) throws InvalidParameterException {
+        String text = text(values, key);
+        if(text == null) return defaultValue;
+        try {
+            return LocalDate.parse(text);
+        } catch(DateTimeParseException e) {
+            throw new InvalidParameterException(key + " is not a date (yyyy-MM-dd): " + text);
+        }
+    }
+}
@@ -11,10 +11,8 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Modality;
@@ -29,6 +27,7 @@ import rad.shipment.calculator.view.FXMLView;
 
 import java.io.IOException;
 import java.security.InvalidParameterException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -41,11 +40,11 @@ public class HomePaneController {
     @FXML private Button btnEdit;
     @FXML private Button btnRemove;
     @FXML private TableView<Isotope> tableView;
-    @FXML private PTableColumn<Isotope, Label> tableColIsotope;
-    @FXML private PTableColumn<Isotope, Label> tableColHalfLife;
-    @FXML private PTableColumn<Isotope, Label> tableColActivity;
-    @FXML private PTableColumn<Isotope, Label> tableColRefDate;
-    @FXML private PTableColumn<Isotope, Label> tableColMass;
+    @FXML private PTableColumn<Isotope, String> tableColIsotope;
+    @FXML private PTableColumn<Isotope, String> tableColHalfLife;
+    @FXML private PTableColumn<Isotope, String> tableColActivity;
+    @FXML private PTableColumn<Isotope, String> tableColRefDate;
+    @FXML private PTableColumn<Isotope, String> tableColMass;
     @FXML private Button btnCalculate;
 
     // Declaring variables
@@ -54,6 +53,7 @@ public class HomePaneController {
     private static final IntegerProperty selectedTableRows = new SimpleIntegerProperty();
     private static int repeatIndex = Integer.parseInt(Main.getString("defaultInt"));  // variable to keep track of where the duplicate device is located
     private static Shipment shipment = new Shipment();
+    private static ListChangeListener<Isotope> tableListener;  // the listener keeping the shipment in step with the table (one at a time)
     private final TableEditor tableEditor = new TableEditor(this);  // creating object to make any changes to the table
     private MainController mainController;
 
@@ -92,6 +92,9 @@ public class HomePaneController {
 
         // disabling the calculate button if there are no rows in the table
         btnCalculate.disableProperty().bind(Bindings.size(TableEditor.getIsotopes()).isEqualTo(0));
+
+        // keeping the shipment in step with the table, a calculated shipment only recalculates the isotopes that changed
+        listenToTable(this::tableChanged);
     }
 
     /**
@@ -106,13 +109,13 @@ public class HomePaneController {
      * Helper function to initialize table columns to display their respective info correctly
      */
     protected void initTable(){
-        // Setting the tableView cell value properties to the variables from the Isotope Class
-        // NOTE: the names are the same as the variables names in the DeviceInfo class
-        tableColIsotope.setCellValueFactory(new PropertyValueFactory<>("_Name"));
-        tableColHalfLife.setCellValueFactory(new PropertyValueFactory<>("_HalfLife"));
-        tableColActivity.setCellValueFactory(new PropertyValueFactory<>("_AToday"));
-        tableColRefDate.setCellValueFactory(new PropertyValueFactory<>("_RefDate"));
-        tableColMass.setCellValueFactory(new PropertyValueFactory<>("_Mass"));
+        // Binding each column straight to the isotope's property (no reflection when a cell is shown)
+        // the properties hold the text of the cell and are only changed when the isotope or the day changes
+        tableColIsotope.setCellValueFactory(cell -> cell.getValue()._NameProperty());
+        tableColHalfLife.setCellValueFactory(cell -> cell.getValue()._HalfLifeProperty());
+        tableColActivity.setCellValueFactory(cell -> cell.getValue()._ATodayProperty());
+        tableColRefDate.setCellValueFactory(cell -> cell.getValue()._RefDateProperty());
+        tableColMass.setCellValueFactory(cell -> cell.getValue()._MassProperty());
 
         // allowing the user to select more than one row in the table
         tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
@@ -216,9 +219,7 @@ public class HomePaneController {
 
         tableView.getSelectionModel().clearSelection();  // clearing the selection
 
-        TableEditor.getIsotopes().removeAll(toDelete);  // removing the selected isotopes from the tableEditor
-
-        tableView.setItems(TableEditor.getIsotopes());  // updating GUI with edited list of isotopes
+        tableEditor.removeRows(toDelete);  // removing the selected isotopes from the tableEditor as one change
     }
 
     /**
@@ -226,6 +227,66 @@ public class HomePaneController {
      */
     protected void calculateBtnHandler(){
         logr.info(Main.replaceBundleString("userBtnClick", btnCalculate.getText()));
+
+        try {
+            calculateShipment();
+            setupStage(FXMLView.SUMMARY).show();
+        } catch (Exception e) {
+            logr.log(Level.SEVERE, "Failed to calculate the shipment. Error: ", e);
+        }
+    }
+
+    /**
+     * Helper function to calculate the isotopes in the table as one shipment
+     * and show the calculated values in the table
+     */
+    protected void calculateShipment() throws RuntimeException {
+        long start = System.nanoTime();
+        Shipment current = getShipment();
+        int shipmentClass = current.calculate(LocalDate.now());
+
+        tableView.refresh();
+        logr.info(Main.replaceBundleString("shipmentCalculated", String.valueOf(current.getIsotopes().size()),
+                Main.getString("isotopeClass" + shipmentClass), String.valueOf((System.nanoTime() - start) / 1000000)));
+    }
+
+    /**
+     * Helper function to pass the table changes on to the shipment through the given listener
+     * The listener of a home pane that was loaded before is removed so every change reaches the shipment once
+     *
+     * @param listener the listener of the home pane that is showing the table
+     */
+    private static synchronized void listenToTable(ListChangeListener<Isotope> listener) {
+        if(tableListener != null) TableEditor.getIsotopes().removeListener(tableListener);
+        tableListener = listener;
+        TableEditor.getIsotopes().addListener(tableListener);
+    }
+
+    /**
+     * Helper function to make the change that was made to the table to the shipment as well
+     * Each added, replaced or removed isotope is passed on one at a time so a calculated shipment
+     * only recalculates the isotopes that changed instead of the whole shipment
+     *
+     * @param change the change made to the table
+     */
+    private void tableChanged(ListChangeListener.Change<? extends Isotope> change) {
+        Shipment current = getShipment();
+
+        while(change.next()) {
+            if(change.wasPermutated() || change.wasUpdated()) {
+                // a new order changes every position so the shipment is calculated again from the table
+                boolean wasCalculated = current.isCalculated();
+                current.replaceIsotopes(TableEditor.getIsotopes());
+                if(wasCalculated) current.calculate(LocalDate.now());
+            } else if(change.wasReplaced() && change.getRemovedSize() == change.getAddedSize()) {
+                for(int i = change.getFrom(); i < change.getTo(); i++) current.setIsotope(i, change.getList().get(i));
+            } else {
+                for(int i = 0; i < change.getRemovedSize(); i++) current.removeIsotope(change.getFrom());
+                for(int i = change.getFrom(); i < change.getTo(); i++) current.addIsotope(i, change.getList().get(i));
+            }
+        }
+
+        if(current.isCalculated()) tableView.refresh();
     }
 
         /**
@@ -278,6 +339,9 @@ public class HomePaneController {
         } else if (view == FXMLView.SHIPMENT_DETAILS) {
             ShipmentDetailsController controller = fxmlLoader.getController();
             controller.injectHomePaneController(this);
+        } else if (view == FXMLView.SUMMARY) {
+            SummaryPaneController controller = fxmlLoader.getController();
+            controller.showSummary(getShipment());
         }
 
         return stage;
@@ -364,10 +428,13 @@ public class HomePaneController {
 
     /**
      * Setter function to set the shipment instance
+     * The shipment is given the isotopes in the table so table changes can be passed on to it one at a time
      *
      * @param shipment the new shipment instance
      */
-    public static synchronized void setShipment(Shipment shipment) {
+    public static synchronized void setShipment(Shipment shipment) throws InvalidParameterException {
+        if(shipment == null) throw new InvalidParameterException("shipment cannot be null");
+        shipment.replaceIsotopes(TableEditor.getIsotopes());
         HomePaneController.shipment = shipment;
     }
 }
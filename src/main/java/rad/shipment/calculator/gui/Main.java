@@ -6,8 +6,11 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.stage.Stage;
 import org.apache.commons.validator.UrlValidator;
+import rad.shipment.calculator.helpers.AsyncDatabaseEditor;
 import rad.shipment.calculator.helpers.CommandExecutor;
+import rad.shipment.calculator.helpers.CsvReferenceData;
 import rad.shipment.calculator.helpers.DatabaseEditor;
+import rad.shipment.calculator.helpers.ReferenceDataSource;
 import rad.shipment.calculator.view.FXMLView;
 import rad.shipment.calculator.view.StageManager;
 
@@ -37,6 +40,8 @@ public class Main extends Application {
                                                                 getString("h2DB_Settings"),
                                                                 getString("DB_User"),
                                                                 getString("DB_Pass"));
+    private static volatile ReferenceDataSource referenceDataSource;  // where the isotope constants are read from
+    private static AsyncDatabaseEditor asyncDataSource;  // runs lookups on the reference data source off the GUI thread
     public static final int DEFAULT_NATURE_INDEX = 0;
     public static final int DEFAULT_STATE_INDEX = 0;
     public static final int DEFAULT_FORM_INDEX = 1;
@@ -54,11 +59,9 @@ public class Main extends Application {
      * Function to run at the start of application
      */
     @Override public void start(Stage primaryStage) {
-        // checking if successfully connected to the database
-        if(H2DBEditor.startConnection()) {
+        // checking if successfully loaded the reference data
+        if(setupReferenceDataSource()) {
             try {
-                H2DBEditor.setupEmbeddedDB();
-
                 setUpDefaultDirectory(); // Setting up default Directory in documents folder
 
                 setUpDataFolder(findCurrentOS());  // Setting up data folder
@@ -72,14 +75,17 @@ public class Main extends Application {
                 informationWindow.display("An Error Occurred", "Failed to start application. Error: " + e);
                 Platform.exit();  // closing application
             }
-        } else Platform.exit();  // terminating application if database connection failed
+        } else Platform.exit();  // terminating application if the reference data could not be loaded
     }
 
     /**
      * Function to run before application closes
      */
     @Override public void stop() {
-        H2DBEditor.closeConnection(); // Closing main database connection
+        synchronized (Main.class) {
+            if(asyncDataSource != null) asyncDataSource.close();  // no more lookups once the connection is closed
+        }
+        if(referenceDataSource == H2DBEditor) H2DBEditor.closeConnection(); // Closing main database connection
         logr.info("Closing application.");  // logging that application is closing
     }
 
@@ -144,6 +150,39 @@ public class Main extends Application {
         dataFolder = dirLoc;
     }
 
+    /**
+     * Helper function to load the reference data source chosen by referenceDataSource in the bundle
+     * (can be overridden with the referenceDataSource system property)
+     *     h2: connects to and sets up the embedded database
+     *     csv: reads the csv files straight into memory, the embedded database is never started
+     *
+     * @return true if the reference data was loaded
+     */
+    public static synchronized boolean setupReferenceDataSource() {
+        if(referenceDataSource != null) return true;
+
+        String source = System.getProperty("referenceDataSource", getString("referenceDataSource")).trim();
+
+        try {
+            if(getString("csvReferenceDataSource").equalsIgnoreCase(source)) referenceDataSource = CsvReferenceData.load();
+            else {
+                if(!H2DBEditor.startConnection()) return false;
+                H2DBEditor.setupEmbeddedDB();
+                referenceDataSource = H2DBEditor;
+            }
+        } catch (IOException | RuntimeException e) {
+            logr.log(Level.SEVERE, "Failed to load the " + source + " reference data. Error: ", e);
+            return false;
+        }
+
+        // lookups that were started before the data was loaded used the default source
+        if(asyncDataSource != null) {
+            asyncDataSource.close();
+            asyncDataSource = null;
+        }
+        return true;
+    }
+
     // TODO: figure out a better logging system
 
     /*///////////////////////////////////////////////// CONVENIENCE //////////////////////////////////////////////////*/
@@ -363,6 +402,27 @@ public class Main extends Application {
      */
     public static DatabaseEditor getDBEditor(){ return H2DBEditor; }
 
+    /**
+     * Getter function to get the source of the isotope reference data
+     * Falls back to the embedded database editor if setupReferenceDataSource has not been called
+     *
+     * @return the source of the isotope reference data
+     */
+    public static ReferenceDataSource getReferenceDataSource(){
+        ReferenceDataSource ret = referenceDataSource;
+        return (ret == null)? H2DBEditor : ret;
+    }
+
+    /**
+     * Getter function to get the asynchronous editor for the reference data source
+     *
+     * @return the asynchronous editor for the reference data source
+     */
+    public static synchronized AsyncDatabaseEditor getAsyncDBEditor(){
+        if(asyncDataSource == null) asyncDataSource = new AsyncDatabaseEditor(getReferenceDataSource(), getInt("dbPoolSize"));
+        return asyncDataSource;
+    }
+
     /**
      * Getter function to get the main folder where logging data resides
      *
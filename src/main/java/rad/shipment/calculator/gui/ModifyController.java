@@ -1,10 +1,12 @@
 package rad.shipment.calculator.gui;
 
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.HBox;
@@ -14,13 +16,21 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import org.jetbrains.annotations.Contract;
+import rad.shipment.calculator.helpers.AdditionalInfo;
+import rad.shipment.calculator.helpers.AsyncDatabaseEditor;
 import rad.shipment.calculator.helpers.Conversions;
 import rad.shipment.calculator.helpers.DatePickerConverter;
 import rad.shipment.calculator.helpers.Isotope;
+import rad.shipment.calculator.helpers.IsotopeNameResolver;
 import rad.shipment.calculator.view.FXMLView;
 
 import java.security.InvalidParameterException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ModifyController {
@@ -66,6 +76,9 @@ public class ModifyController {
     private boolean isFirstPage;
     private Isotope isotope;  // the isotope to be edited
     private boolean isAddPage;
+    private final ContextMenu isoNameSuggestions = new ContextMenu();  // the isotopes that start with the typed name
+    private IsotopeNameResolver resolver;  // the in memory index of the isotope names (null until it is loaded)
+    private AdditionalInfo additionalInfo;  // what each isotope needs on top of its name (null until it is loaded)
 
     /*///////////////////////////////////////////////// START/SETUP //////////////////////////////////////////////////*/
 
@@ -129,30 +142,49 @@ public class ModifyController {
 
         validName.set(!isAddPage);
 
+        // loading the isotope names and what they need off the FX thread, names are checked in memory after that
+        AsyncDatabaseEditor asyncDBEditor = Main.getAsyncDBEditor();
+        CompletableFuture<IsotopeNameResolver> isotopeNames = asyncDBEditor.getResolver();
+        isotopeNames.thenCombine(asyncDBEditor.getAdditionalInfo(), (names, info) -> info)
+                .whenComplete((info, e) -> Platform.runLater(() -> {
+                    if(e != null) logr.log(Level.SEVERE, "Failed to load the isotope names. Error: ", e);
+                    else {
+                        resolver = isotopeNames.join();
+                        additionalInfo = info;
+                        suggestIsoNames(txtFieldIsoName.getText());
+                    }
+                }));
+
+        // hiding the suggestions once the user leaves the isotope name field
+        txtFieldIsoName.focusedProperty().addListener((observable, oldValue, newValue) -> {
+            if(!newValue) isoNameSuggestions.hide();
+        });
+
         // Adding a listener to the Isotope textfield to check when any changes are made
         txtFieldIsoName.textProperty().addListener((observable, oldValue, newValue) -> {
-            // checking if isotope is in te valid isotopes table and updating boolean property
-            if(!"".equals(newValue)) validName.setValue(!"".equals(Main.getDBEditor().getAbbr(newValue)));  // checking if text in the Isotope field is valid on every keystroke
-            else validName.setValue(false);
-
-            needAdditionalInfo(newValue);  // checking to see if the additional info section needs to be enabled
-
-            if(!vBoxShortLong.isVisible() && !vBoxLungAbs.isVisible() && !"".equals(txtFieldA0.getText())) start.set(false);  // If the Initial Activity field contains a value, no longer starting form.
-            else if((vBoxShortLong.isVisible() ||  vBoxLungAbs.isVisible()) &&
-                    (toggleGrpShortLong.getSelectedToggle() == null || toggleGrpLungAbs.getSelectedToggle() == null)) {
-                start.set(true);
-                if(validName.get()) {
-                    setValidRegion(txtFieldIsoName, true);
-                    hideModifyError();
-                } else {
-                    setValidRegion(txtFieldIsoName, false);
-                    showModifyError("Isotope name is invalid or cannot calculate classification for given isotope");
-                }
+            suggestIsoNames(newValue);  // updating the suggestions for what the user typed
+
+            if(newValue == null || "".equals(newValue)) {
+                isoNameChecked(newValue, "", AdditionalInfo.NONE);
+                return;
             }
 
-            /* if the user has already focused on the isotope name and initial activity (the user has clicked on both fields at least once)
-             * check the form and highlight fields as necessary */
-            if(!start.get())  checkForm(txtFieldA0.getText(), false);  // check form and highlight as needed but don't move to next page
+            // checking if isotope is in the valid isotopes table in memory once the isotope names are loaded
+            if(resolver != null && additionalInfo != null) {
+                isoNameChecked(newValue, resolver.getAbbr(newValue), additionalInfo.get(newValue));
+                return;
+            }
+
+            // until then checking off the FX thread so typing never waits on the database
+            AsyncDatabaseEditor dbEditor = Main.getAsyncDBEditor();
+            CompletableFuture<String> abbr = dbEditor.getAbbr(newValue);
+            abbr.thenCombine(dbEditor.getAdditionalInfo(), (abbrName, info) -> info.get(abbrName))
+                    .whenComplete((info, e) -> Platform.runLater(() -> {
+                        if(e != null) {
+                            logr.log(Level.SEVERE, "Failed to look up isotope " + newValue + ". Error: ", e);
+                            isoNameChecked(newValue, "", AdditionalInfo.NONE);
+                        } else isoNameChecked(newValue, abbr.join(), info);
+                    }));
         });
 
         // Allowing the user to press enter while focused on the isotope name field to move to the password field
@@ -344,15 +376,32 @@ public class ModifyController {
         // converting the mass to either grams or liters
         float mass = Conversions.convertToBase(Float.parseFloat(txtFieldMass.getText()), choiceBoxMassUnit.getSelectionModel().getSelectedIndex());
 
-        Isotope isotope = new Isotope(txtFieldIsoName.getText(),
-                mass,
-                choiceBoxMassName.getValue(),
-                convertToMicroCuries(Float.parseFloat(txtFieldA0.getText())),
-                choiceBoxNature.getValue(),
-                choiceBoxState.getValue(),
-                choiceBoxForm.getValue(),
-                datePicker.getValue());  // creating a new isotope
+        // reading the form on the FX thread before the isotope is built in the background
+        String name = txtFieldIsoName.getText();
+        String massUnit = choiceBoxMassName.getValue();
+        float A0 = convertToMicroCuries(Float.parseFloat(txtFieldA0.getText()));
+        String nature = choiceBoxNature.getValue();
+        String state = choiceBoxState.getValue();
+        String form = choiceBoxForm.getValue();
+        LocalDate refDate = datePicker.getValue();
+
+        btnFinish.setDisable(true);  // stopping the user from adding the isotope twice while it is being built
+        Main.getAsyncDBEditor().supply(() -> new Isotope(name, mass, massUnit, A0, nature, state, form, refDate))  // creating a new isotope
+                .whenComplete((isotope, e) -> Platform.runLater(() -> {
+                    btnFinish.setDisable(false);
+                    if(e != null) {
+                        logr.log(Level.SEVERE, "Failed to create isotope " + name + ". Error: ", e);
+                        showModifyError("Failed to create isotope " + name);
+                    } else addIsotope(isotope);
+                }));
+    }
 
+    /**
+     * Helper function to add the newly built isotope to the shipment or replace the edited isotope with it
+     *
+     * @param isotope the isotope that was built from the form
+     */
+    private void addIsotope(Isotope isotope) {
         if(isAddPage) {
             // checking for short/long or lung absorption
             if(vBoxShortLong.isVisible())  isotope.set_ShortLong(toggleGrpShortLong.getSelectedToggle().toString());  // adding short/long
@@ -549,27 +598,82 @@ public class ModifyController {
     }
 
     /**
-     * Helper function to show or hide the additional info radio buttons based
-     * on the given isotope name
+     * Helper function to show the isotopes that start with the given name under the isotope name field
+     * The suggestions come from the in memory name index so nothing waits on the database while the user types
      *
-     * @param isoName the name of the isotope
+     * @param isoName what the user has typed in the isotope name field
      */
-    private void needAdditionalInfo(String isoName) {
-        if(isoName == null || "".equals(isoName)) {
-            // making sure additional info section is invisible
-            showShortLong(false);
-            showLungAbs(false);
+    private void suggestIsoNames(String isoName) {
+        List<Integer> ids = (resolver == null || isoName == null || isoName.trim().isEmpty())? List.of() :
+                resolver.suggest(isoName, Main.getInt("isoNameSuggestions"));
+
+        // nothing to suggest if the field is not being typed in or the only suggestion is what was typed
+        if(!txtFieldIsoName.isFocused() || ids.isEmpty() ||
+                (ids.size() == 1 && resolver.getAbbr(ids.get(0)).equalsIgnoreCase(isoName.trim()))) {
+            isoNameSuggestions.hide();
+            return;
+        }
 
-            // unselecting all the radio buttons
-            if(toggleGrpShortLong.getSelectedToggle() != null) toggleGrpShortLong.getSelectedToggle().setSelected(false);
-            if(toggleGrpLungAbs.getSelectedToggle() != null) toggleGrpLungAbs.getSelectedToggle().setSelected(false);
+        List<MenuItem> items = new ArrayList<>();
+        for(int id : ids) {
+            String abbr = resolver.getAbbr(id);
+            MenuItem item = new MenuItem(resolver.getFullName(id) + " (" + abbr + ")");
+
+            // filling in the abbreviation of the isotope the user picked
+            item.setOnAction(event -> {
+                txtFieldIsoName.setText(abbr);
+                txtFieldIsoName.positionCaret(abbr.length());
+                isoNameSuggestions.hide();
+            });
+            items.add(item);
+        }
 
-            return;
+        isoNameSuggestions.getItems().setAll(items);
+        if(!isoNameSuggestions.isShowing()) isoNameSuggestions.show(txtFieldIsoName, Side.BOTTOM, 0, 0);
+    }
+
+    /**
+     * Helper function to update the form once the isotope name has been looked up
+     *
+     * @param isoName the isotope name that was looked up
+     * @param abbr the abbreviation of the isotope (empty string if the isotope is invalid)
+     * @param info the AdditionalInfo flags of the isotope
+     */
+    private void isoNameChecked(String isoName, String abbr, int info) {
+        // ignoring lookups that finished after the user kept typing
+        if(!Objects.equals(isoName, txtFieldIsoName.getText())) return;
+
+        validName.setValue(!"".equals(abbr));  // updating boolean property
+
+        needAdditionalInfo(abbr, info);  // checking to see if the additional info section needs to be enabled
+
+        if(!vBoxShortLong.isVisible() && !vBoxLungAbs.isVisible() && !"".equals(txtFieldA0.getText())) start.set(false);  // If the Initial Activity field contains a value, no longer starting form.
+        else if((vBoxShortLong.isVisible() ||  vBoxLungAbs.isVisible()) &&
+                (toggleGrpShortLong.getSelectedToggle() == null || toggleGrpLungAbs.getSelectedToggle() == null)) {
+            start.set(true);
+            if(validName.get()) {
+                setValidRegion(txtFieldIsoName, true);
+                hideModifyError();
+            } else {
+                setValidRegion(txtFieldIsoName, false);
+                showModifyError("Isotope name is invalid or cannot calculate classification for given isotope");
+            }
         }
 
-        String abbr = Main.getDBEditor().getAbbr(isoName);
+        /* if the user has already focused on the isotope name and initial activity (the user has clicked on both fields at least once)
+         * check the form and highlight fields as necessary */
+        if(!start.get())  checkForm(txtFieldA0.getText(), false);  // check form and highlight as needed but don't move to next page
+    }
 
-        if("".equals(abbr)) {
+    /**
+     * Helper function to show or hide the additional info radio buttons based
+     * on the given isotope abbreviation
+     *
+     * @param abbr the abbreviation of the isotope (empty string if the isotope is invalid)
+     * @param info the AdditionalInfo flags of the isotope
+     */
+    private void needAdditionalInfo(String abbr, int info) {
+        if(abbr == null || "".equals(abbr)) {
             // making sure additional info section is invisible
             showShortLong(false);
             showLungAbs(false);
@@ -582,12 +686,10 @@ public class ModifyController {
         }
 
         // checking if short/long lived needs to be enabled
-        if(Main.getDBEditor().getShortLong().contains(abbr)) showShortLong(true);
-        else showShortLong(false);
+        showShortLong((info & AdditionalInfo.SHORT_LONG) != 0);
 
         // checking if lung absorption needs to be enabled
-        if(abbr.contains("U-23")) showLungAbs(true);
-        else showLungAbs(false);
+        showLungAbs((info & AdditionalInfo.LUNG_ABSORPTION) != 0);
 
     }
 
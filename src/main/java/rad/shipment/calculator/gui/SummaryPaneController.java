@@ -2,12 +2,24 @@ package rad.shipment.calculator.gui;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextArea;
+import rad.shipment.calculator.helpers.Shipment;
+import rad.shipment.calculator.helpers.ShipmentCalculator;
+import rad.shipment.calculator.helpers.ShipmentProjection;
+
+import java.security.InvalidParameterException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 public class SummaryPaneController {
     @FXML private TextArea txtAreaSummary;
+    @FXML private LineChart<Number, Number> chartProjection;
     @FXML private Button btnSummarySave;
 
     // Declaring variables
@@ -32,6 +44,47 @@ public class SummaryPaneController {
         logr.info(Main.replaceBundleString("usrBtnClick", btnSummarySave.getText()));
     }
 
+    /**
+     * Helper function to show the results of the last calculation of the given shipment
+     * and how its activity decays over the following days
+     *
+     * @param shipment the calculated shipment
+     */
+    void showSummary(Shipment shipment) throws InvalidParameterException {
+        if(shipment == null) throw new InvalidParameterException("shipment cannot be null");
+
+        int days = Main.getInt("projectionDays");
+        ShipmentProjection projection = shipment.project(days);
+        int exempt = projection.getFirstPoint(ShipmentCalculator.EXEMPT);
+
+        txtAreaSummary.setText(Main.replaceBundleString("shipmentSummary",
+                Main.getString("isotopeClass" + shipment.getShipmentClass()),
+                String.valueOf(shipment.isReportableQuan()),
+                String.valueOf(shipment.getCalculator().getSumLimitFraction()),
+                String.valueOf(shipment.getCalculator().getTotalAToday())) +
+                ((exempt < 0)? Main.replaceBundleString("projectionNotExempt", String.valueOf(days)) :
+                        Main.replaceBundleString("projectionExempt",
+                                projection.getDate(exempt).format(DateTimeFormatter.ofPattern(Main.getString("datePattern"))))));
+        showProjection(projection);
+    }
+
+    /**
+     * Helper function to chart the total activity of a projection
+     * The points are all added at once so the chart only lays itself out one time
+     *
+     * @param projection the projection to chart
+     */
+    private void showProjection(ShipmentProjection projection) {
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>(projection.getPoints());
+        for(int t = 0; t < projection.getPoints(); t++)
+            points.add(new XYChart.Data<>(t * projection.getStep(), projection.getTotalActivity(t)));
+
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setName(Main.getString("projectionSeries"));
+        series.getData().setAll(points);
+        chartProjection.getData().setAll(Collections.singletonList(series));
+    }
+
     /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
     /**
      * Getter function to get the text area on the summary page
@@ -39,4 +92,11 @@ public class SummaryPaneController {
      * @return the text area on the summary page
      */
     public TextArea getTxtAreaSummary() { return txtAreaSummary; }
+
+    /**
+     * Getter function to get the projection chart on the summary page
+     *
+     * @return the projection chart on the summary page
+     */
+    public LineChart<Number, Number> getChartProjection() { return chartProjection; }
 }
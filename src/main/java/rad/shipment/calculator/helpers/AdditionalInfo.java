@@ -0,0 +1,83 @@
+package rad.shipment.calculator.helpers;
+
+import java.security.InvalidParameterException;
+import java.util.Collection;
+
+/**
+ * Read only flags for the information the user has to give on top of an isotope's name
+ * Worked out once for every isotope when the reference data is loaded so checking a name is one resolve and an array read
+ */
+public final class AdditionalInfo {
+
+    // Declaring variables
+    public static final int NONE = 0;             // the name is all that is needed
+    public static final int SHORT_LONG = 1;       // the isotope has short and long lived versions (ShortLong table)
+    public static final int LUNG_ABSORPTION = 2;  // the isotope has slow, medium and fast lung absorption (Lung_Absorption table)
+    private final IsotopeNameResolver resolver;   // any way of writing an isotope -> isotope id
+    private final byte[] flags;                   // isotope id -> flags
+
+    /*/////////////////////////////////////////////// ADDITIONAL INFO ////////////////////////////////////////////////*/
+
+    /**
+     * Constructs the flags for the isotopes the given resolver knows
+     * Names in the tables that the resolver does not know are ignored
+     *
+     * @param resolver the resolver for the names in the Isotopes table
+     * @param shortLong the names in the ShortLong table
+     * @param lungAbsorption the names in the Lung_Absorption table
+     */
+    public AdditionalInfo(IsotopeNameResolver resolver, Collection<String> shortLong, Collection<String> lungAbsorption)
+            throws InvalidParameterException {
+        if(resolver == null) throw new InvalidParameterException("Isotope name resolver cannot be null");
+        if(shortLong == null || lungAbsorption == null) throw new InvalidParameterException("Additional info tables cannot be null");
+
+        this.resolver = resolver;
+        flags = new byte[resolver.size()];
+        set(shortLong, SHORT_LONG);
+        set(lungAbsorption, LUNG_ABSORPTION);
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to set a flag for every isotope in a table
+     *
+     * @param names the names in the table
+     * @param flag the flag to set
+     */
+    private void set(Collection<String> names, int flag) {
+        for(String name : names) {
+            int id = resolver.resolve(name);
+            if(id >= 0) flags[id] |= flag;
+        }
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the additional info the given isotope needs
+     *
+     * @param name the full name, abbreviation or a variant of either
+     * @return the flags of the isotope (NONE if the isotope is unknown)
+     */
+    public int get(String name) {
+        int id = resolver.resolve(name);
+        return (id < 0)? NONE : flags[id];
+    }
+
+    /**
+     * Getter function to figure out if the given isotope has short and long lived versions
+     *
+     * @param name the full name, abbreviation or a variant of either
+     * @return true if the user has to pick short or long lived, false otherwise
+     */
+    public boolean isShortLong(String name) { return (get(name) & SHORT_LONG) != 0; }
+
+    /**
+     * Getter function to figure out if the given isotope has different lung absorption versions
+     *
+     * @param name the full name, abbreviation or a variant of either
+     * @return true if the user has to pick the lung absorption, false otherwise
+     */
+    public boolean isLungAbsorption(String name) { return (get(name) & LUNG_ABSORPTION) != 0; }
+}
@@ -0,0 +1,232 @@
+package rad.shipment.calculator.helpers;
+
+import java.security.InvalidParameterException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous facade over a ReferenceDataSource (the embedded database or the csv files)
+ * Every lookup runs on a dedicated executor so the JavaFX application thread never waits on the database,
+ * callers get the result back with a CompletableFuture (use Platform.runLater to touch the GUI with it)
+ */
+public class AsyncDatabaseEditor implements AutoCloseable {
+
+    // Declaring variables
+    private static final Logger logr = Logger.getLogger(AsyncDatabaseEditor.class.getName());  // getting logger
+    private final ReferenceDataSource dbEditor;  // the reference data source that does the actual lookups
+    private final ExecutorService executor;  // the threads the lookups run on
+
+    /*//////////////////////////////////////////// ASYNC DATABASE EDITOR /////////////////////////////////////////////*/
+
+    /**
+     * Constructs an asynchronous database editor that runs its lookups on the given number of threads
+     *
+     * @param dbEditor the reference data source that does the actual lookups
+     * @param threads the number of lookups that can run at the same time
+     */
+    public AsyncDatabaseEditor(ReferenceDataSource dbEditor, int threads) throws InvalidParameterException {
+        if(dbEditor == null) throw new InvalidParameterException("Reference data source cannot be null");
+        if(threads <= 0) throw new InvalidParameterException("Number of threads must be greater than 0");
+
+        this.dbEditor = dbEditor;
+
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "db-lookup-" + count.incrementAndGet());
+            thread.setDaemon(true);  // lookups should never keep the application from closing
+            return thread;
+        });
+    }
+
+    /**
+     * Function to stop accepting new lookups
+     * Lookups that were already submitted still finish
+     */
+    @Override public void close() {
+        executor.shutdown();
+        logr.info("Shut down database lookup executor");
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to run any lookup on the database executor
+     *
+     * @param lookup the lookup to run
+     * @param <T> the type of the result of the lookup
+     * @return a future that completes with the result of the lookup
+     *          or completes exceptionally if the lookup threw an exception
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, executor);
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the abbreviated name of the given isotope name
+     *
+     * @param name the name of the isotope
+     * @return a future of the abbreviated name of the isotope
+     */
+    public CompletableFuture<String> getAbbr(String name) { return supply(() -> dbEditor.getAbbr(name)); }
+
+    /**
+     * Getter function to get the full name of the given isotope name
+     *
+     * @param name the name of the isotope
+     * @return a future of the full name of the isotope
+     */
+    public CompletableFuture<String> getFullName(String name) { return supply(() -> dbEditor.getFullName(name)); }
+
+    /**
+     * Getter function to get the resolver for the isotope names
+     * Building the resolver can read the Isotopes table, once it is built every lookup on it is done in memory
+     *
+     * @return a future of the isotope name resolver
+     */
+    public CompletableFuture<IsotopeNameResolver> getResolver() { return supply(dbEditor::getResolver); }
+
+    /**
+     * Getter function to get the information the user has to give on top of the name of each isotope
+     *
+     * @return a future of the additional info flags of every isotope
+     */
+    public CompletableFuture<AdditionalInfo> getAdditionalInfo() { return supply(dbEditor::getAdditionalInfo); }
+
+    /**
+     * Getter function to get the list of isotopes that have different values for their short and long lived versions
+     *
+     * @return a future of the list of the isotopes from the shortLong table
+     */
+    public CompletableFuture<List<String>> getShortLong() { return supply(dbEditor::getShortLong); }
+
+    /**
+     * Getter function to get every constant of the given isotope
+     *
+     * @param name the name of the isotope
+     * @return a future of the profile of the isotope
+     */
+    public CompletableFuture<IsotopeProfile> getIsotopeProfile(String name) { return supply(() -> dbEditor.getIsotopeProfile(name)); }
+
+    /**
+     * Getter function to get every constant of all the given isotopes
+     *
+     * @param names the names of the isotopes
+     * @return a future of the map of each given name to the profile of that isotope
+     */
+    public CompletableFuture<Map<String, IsotopeProfile>> getIsotopeProfiles(Collection<String> names) {
+        return supply(() -> dbEditor.getIsotopeProfiles(names));
+    }
+
+    /**
+     * Getter function to get the given isotope's A1 value
+     *
+     * @param name the name of the isotope
+     * @return a future of the A1 value of that isotope
+     */
+    public CompletableFuture<Float> getA1(String name) { return supply(() -> dbEditor.getA1(name)); }
+
+    /**
+     * Getter function to get the given isotope's A2 value
+     *
+     * @param name the name of the isotope
+     * @return a future of the A2 value of that isotope
+     */
+    public CompletableFuture<Float> getA2(String name) { return supply(() -> dbEditor.getA2(name)); }
+
+    /**
+     * Getter function to get the given isotope's Decay Constant value
+     *
+     * @param name the name of the isotope
+     * @return a future of the Decay Constant value of that isotope
+     */
+    public CompletableFuture<Float> getDecayConstant(String name) { return supply(() -> dbEditor.getDecayConstant(name)); }
+
+    /**
+     * Getter function to get the given isotope's Exempt Concentration value
+     *
+     * @param name the name of the isotope
+     * @return a future of the Exempt Concentration value of that isotope
+     */
+    public CompletableFuture<Float> getExemptConcentration(String name) { return supply(() -> dbEditor.getExemptConcentration(name)); }
+
+    /**
+     * Getter function to get the given isotope's Exempt Limit value
+     *
+     * @param name the name of the isotope
+     * @return a future of the Exempt Limit value of that isotope
+     */
+    public CompletableFuture<Float> getExemptLimit(String name) { return supply(() -> dbEditor.getExemptLimit(name)); }
+
+    /**
+     * Getter function to get the given isotope's Half Life value
+     *
+     * @param name the name of the isotope
+     * @return a future of the Half Life value of that isotope
+     */
+    public CompletableFuture<Float> getHalfLife(String name) { return supply(() -> dbEditor.getHalfLife(name)); }
+
+    /**
+     * Getter function to get the Instruments/Articles Limited Multiplier value for the given state and form
+     *
+     * @param state the state of the instrument/article
+     * @param form the form of the instrument/article
+     * @return a future of the Instruments/Articles Limited Multiplier value
+     */
+    public CompletableFuture<Float> getIALimitedMultiplier(String state, String form) {
+        return supply(() -> dbEditor.getIALimitedMultiplier(state, form));
+    }
+
+    /**
+     * Getter function to get the Instruments/Articles Package Limit value for the given state and form
+     *
+     * @param state the state of the instrument/article
+     * @param form the form of the instrument/article
+     * @return a future of the Instruments/Articles Package Limit value
+     */
+    public CompletableFuture<Float> getIAPackageLimit(String state, String form) {
+        return supply(() -> dbEditor.getIAPackageLimit(state, form));
+    }
+
+    /**
+     * Getter function to get the given isotope's License Limit value
+     *
+     * @param name the name of the isotope
+     * @return a future of the License Limit value of that isotope
+     */
+    public CompletableFuture<Float> getLicenseLimit(String name) { return supply(() -> dbEditor.getLicenseLimit(name)); }
+
+    /**
+     * Getter function to get the Limited Limit value for the given state and form
+     *
+     * @param state the state of the limited isotope
+     * @param form the form of the limited isotope
+     * @return a future of the Limited Limit value
+     */
+    public CompletableFuture<Float> getLimitedLimit(String state, String form) {
+        return supply(() -> dbEditor.getLimitedLimit(state, form));
+    }
+
+    /**
+     * Getter function to get the given isotope's Reportable Quantity value
+     *
+     * @param name the name of the isotope
+     * @return a future of the Reportable Quantity value of that isotope
+     */
+    public CompletableFuture<Float> getReportableQuantity(String name) { return supply(() -> dbEditor.getReportableQuantity(name)); }
+
+    /**
+     * Getter function to get the reference data source that does the actual lookups
+     *
+     * @return the wrapped reference data source
+     */
+    public ReferenceDataSource getDBEditor() { return dbEditor; }
+}
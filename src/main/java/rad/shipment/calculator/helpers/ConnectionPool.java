@@ -0,0 +1,184 @@
+package rad.shipment.calculator.helpers;
+
+import java.security.InvalidParameterException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Small fixed size pool of database connections that can be shared between threads
+ * Connections are opened the first time they are needed and reused after they are released
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    // Declaring variables
+    private static final Logger logr = Logger.getLogger(ConnectionPool.class.getName());  // getting logger
+    private final String URL;  // the url of the database (including any settings)
+    private final String USER;  // username for database
+    private final String PASS;  // password for database
+    private final int SIZE;  // the maximum number of open connections
+    private final long TIMEOUT;  // how long (milliseconds) to wait for a free connection
+    private final Semaphore permits;  // one permit for every connection that is not leased out
+    private final ConcurrentLinkedQueue<PooledConnection> idle = new ConcurrentLinkedQueue<>();  // open connections that are not leased out
+    private final List<PooledConnection> opened = new ArrayList<>();  // every connection the pool has opened
+    private volatile boolean closed = false;  // true once the pool has been closed
+
+    /*/////////////////////////////////////////////// CONNECTION POOL ////////////////////////////////////////////////*/
+
+    /**
+     * Constructs a connection pool for the given database
+     *
+     * @param url the url of the database (including any settings)
+     * @param user the username of the database (empty string if the database has no user)
+     * @param pass the password of the database
+     * @param size the maximum number of connections that can be open at once
+     * @param timeout how long (milliseconds) acquire waits for a free connection
+     */
+    public ConnectionPool(String url, String user, String pass, int size, long timeout) throws InvalidParameterException {
+        if(url == null || "".equals(url)) throw new InvalidParameterException("Database url cannot be null or empty string");
+        if(size <= 0) throw new InvalidParameterException("Pool size must be greater than 0");
+        if(timeout < 0) throw new InvalidParameterException("Pool timeout cannot be negative");
+
+        URL = url;
+        USER = (user == null)? "" : user;
+        PASS = (pass == null)? "" : pass;
+        SIZE = size;
+        TIMEOUT = timeout;
+        permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Function to lease a connection from the pool
+     * The connection must be closed to give it back to the pool (use try with resources)
+     *
+     * @return a connection that only the calling thread is using
+     * @throws SQLException if the pool is closed, no connection became free before the timeout
+     *                      or a new connection could not be opened
+     */
+    public PooledConnection acquire() throws SQLException {
+        if(closed) throw new SQLException("Cannot lease a connection, the pool is closed");
+
+        try {
+            if(!permits.tryAcquire(TIMEOUT, TimeUnit.MILLISECONDS))
+                throw new SQLException("Timed out after " + TIMEOUT + "ms waiting for a database connection");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection ret = idle.poll();
+            if(ret == null) ret = open();
+            ret.lease();
+            return ret;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();  // giving the permit back since no connection was leased
+            throw e;
+        }
+    }
+
+    /**
+     * Function to close every connection in the pool
+     * Connections that are leased out are closed when they are released
+     */
+    @Override public void close() {
+        closed = true;
+
+        PooledConnection connection;
+        while((connection = idle.poll()) != null) {
+            connection.closePhysical();
+            synchronized (opened) { opened.remove(connection); }
+        }
+        logr.info("Closed database connection pool");
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to open a new connection to the database
+     *
+     * @return the newly opened connection
+     */
+    private PooledConnection open() throws SQLException {
+        Connection con;
+        if("".equals(USER)) con = DriverManager.getConnection(URL);
+        else con = DriverManager.getConnection(URL, USER, PASS);
+
+        PooledConnection ret = new PooledConnection(this, con);
+        synchronized (opened) { opened.add(ret); }
+        return ret;
+    }
+
+    /**
+     * Helper function to give a leased connection back to the pool
+     *
+     * @param connection the connection that is no longer being used
+     */
+    void release(PooledConnection connection) {
+        try {
+            // broken connections are dropped so the next acquire opens a fresh one
+            if(closed || connection.getConnection().isClosed()) {
+                connection.closePhysical();
+                synchronized (opened) { opened.remove(connection); }
+            } else {
+                idle.offer(connection);
+
+                // the pool may have been closed while the connection was being given back
+                if(closed && idle.remove(connection)) {
+                    connection.closePhysical();
+                    synchronized (opened) { opened.remove(connection); }
+                }
+            }
+        } catch (SQLException e) {
+            logr.log(Level.WARNING, "Failed to check database connection. Error: ", e);
+            connection.closePhysical();
+            synchronized (opened) { opened.remove(connection); }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the maximum number of connections in the pool
+     *
+     * @return the maximum number of connections in the pool
+     */
+    public int getSize() { return SIZE; }
+
+    /**
+     * Getter function to get how long acquire waits for a free connection
+     *
+     * @return the acquisition timeout in milliseconds
+     */
+    public long getTimeout() { return TIMEOUT; }
+
+    /**
+     * Getter function to get the number of connections the pool currently has open
+     *
+     * @return the number of open connections
+     */
+    public int getOpenCount() { synchronized (opened) { return opened.size(); } }
+
+    /**
+     * Getter function to get the number of connections that can be leased right now
+     *
+     * @return the number of connections that are not leased out
+     */
+    public int getAvailableCount() { return permits.availablePermits(); }
+
+    /**
+     * Getter function to figure out if the pool has been closed
+     *
+     * @return true if the pool is closed
+     */
+    public boolean isClosed() { return closed; }
+}
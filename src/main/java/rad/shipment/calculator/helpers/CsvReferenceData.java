@@ -0,0 +1,320 @@
+package rad.shipment.calculator.helpers;
+
+import rad.shipment.calculator.gui.Main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Reference data source that reads the csv files straight into memory without a database
+ * Every isotope in the ValidIsotopes file gets an integer id from an IsotopeNameResolver, the constants of each
+ * table are kept in a float array indexed by that id so a lookup is one hash lookup of the name followed by array reads
+ */
+public final class CsvReferenceData implements ReferenceDataSource {
+
+    // Declaring variables
+    private static final Logger logr = Logger.getLogger(CsvReferenceData.class.getName());  // getting logger
+    private final float defaultVal = (float) Main.getInt("defaultInt");  // default float value for missing entries
+    private final IsotopeNameResolver resolver;  // any way of writing an isotope -> isotope id
+    private final List<String> shortLong;  // abbreviations in the ShortLong file
+    private final AdditionalInfo additionalInfo;  // isotope -> ShortLong and LungAbsorption flags
+    private final float[] A1;  // isotope id -> value (same for the arrays below)
+    private final float[] A2;
+    private final float[] decayConstant;
+    private final float[] exemptConcentration;
+    private final float[] exemptLimit;
+    private final float[] halfLife;
+    private final float[] licenseLimit;
+    private final float[] reportableQuantity;
+    private final Map<String, Integer> stateFormIds = new HashMap<>();  // normalized state,form key -> state/form id
+    private final float[] IALimitedMultiplier;  // state/form id -> value (same for the arrays below)
+    private final float[] IAPackageLimit;
+    private final float[] limitedLimit;
+
+    /*////////////////////////////////////////////// CSV REFERENCE DATA //////////////////////////////////////////////*/
+
+    /**
+     * Constructs a CsvReferenceData object by reading every reference csv file on the classpath
+     *
+     * @throws IOException if any of the files could not be read
+     */
+    private CsvReferenceData() throws IOException {
+        List<String> nameList = new ArrayList<>();
+        List<String> abbrList = new ArrayList<>();
+        for(String[] row : readCsv(FileHandler.getValidIsotopesCSVPath())) {
+            nameList.add(row[0]);
+            abbrList.add(row[1]);
+        }
+        resolver = new IsotopeNameResolver(nameList, abbrList);
+
+        List<String> shortLongList = new ArrayList<>();
+        for(String[] row : readCsv(FileHandler.getShortLongCSVPath())) shortLongList.add(row[1]);
+        shortLong = Collections.unmodifiableList(shortLongList);
+
+        List<String> lungAbsList = new ArrayList<>();
+        for(String[] row : readCsv(FileHandler.getLungAbsCSVPath())) lungAbsList.add(row[1]);
+        additionalInfo = new AdditionalInfo(resolver, shortLongList, lungAbsList);
+
+        A1 = readAbbrCsv(FileHandler.getA1CSVPath());
+        A2 = readAbbrCsv(FileHandler.getA2CSVPath());
+        decayConstant = readAbbrCsv(FileHandler.getDecayConstCSVPath());
+        exemptConcentration = readAbbrCsv(FileHandler.getExemptConCSVPath());
+        exemptLimit = readAbbrCsv(FileHandler.getExemptLimCSVPath());
+        halfLife = readAbbrCsv(FileHandler.getHalfLifeCSVPath());
+        licenseLimit = readAbbrCsv(FileHandler.getLicLimCSVPath());
+        reportableQuantity = readAbbrCsv(FileHandler.getReportQCSVPath());
+
+        List<String[]> IALimLim = readCsv(FileHandler.getIALimLimCSVPath());
+        List<String[]> IAPackageLim = readCsv(FileHandler.getIAPackageLimCSVPath());
+        List<String[]> limLim = readCsv(FileHandler.getLimLimCSVPath());
+        for(List<String[]> rows : Arrays.asList(IALimLim, IAPackageLim, limLim)) {
+            for(String[] row : rows) stateFormIds.putIfAbsent(stateFormKey(row[0], row[1]), stateFormIds.size());
+        }
+        IALimitedMultiplier = readStateFormCsv(IALimLim);
+        IAPackageLimit = readStateFormCsv(IAPackageLim);
+        limitedLimit = readStateFormCsv(limLim);
+    }
+
+    /**
+     * Function to load all the reference csv files
+     *
+     * @return the newly loaded reference data
+     * @throws IOException if any of the files could not be read
+     */
+    public static CsvReferenceData load() throws IOException {
+        long start = System.nanoTime();
+        CsvReferenceData ret = new CsvReferenceData();
+
+        logr.info("Loaded " + ret.resolver.size() + " isotopes from the csv files in " + (System.nanoTime() - start) / 1000000 + "ms");
+        return ret;
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to read the rows of a csv file without its header row
+     *
+     * @param path the classpath path of the csv file
+     * @return every row of the file split on commas with each value trimmed
+     */
+    static List<String[]> readCsv(String path) throws IOException {
+        List<String[]> ret = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(FileHandler.openResource(path), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();  // skipping the header row
+            while((line = reader.readLine()) != null) {
+                if("".equals(line.trim())) continue;
+
+                String[] row = line.split(",", -1);
+                for(int i = 0; i < row.length; i++) row[i] = row[i].trim();
+                ret.add(row);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to build the key for the files that are keyed by state and form
+     *
+     * @param state the state of the shipment
+     * @param form the form of the shipment
+     * @return the key for the given state and form
+     */
+    private static String stateFormKey(String state, String form) {
+        return ReferenceData.normalize(state) + "," + ReferenceData.normalize(form);
+    }
+
+    /**
+     * Helper function to read a csv file with an Abbr and Value column into an array indexed by isotope id
+     * Rows for isotopes that are not in the ValidIsotopes file are skipped since they can never be looked up
+     *
+     * @param path the classpath path of the csv file
+     * @return the values of every isotope (default value if the isotope is not in the file)
+     */
+    private float[] readAbbrCsv(String path) throws IOException {
+        float[] ret = new float[resolver.size()];
+        boolean[] set = new boolean[resolver.size()];
+        Arrays.fill(ret, defaultVal);
+
+        // only exact abbreviations count, the database joins these tables on the abbreviation as well
+        for(String[] row : readCsv(path)) {
+            int id = resolver.resolve(row[0]);
+            if(id < 0 || set[id] || !ReferenceData.normalize(resolver.getAbbr(id)).equals(ReferenceData.normalize(row[0]))) continue;
+
+            ret[id] = parseValue(row[1], path);
+            set[id] = true;
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to read the rows of a csv file with a State, Form and Value column into an array indexed by state/form id
+     *
+     * @param rows the rows of the csv file
+     * @return the values of every state and form (default value if the state and form are not in the file)
+     */
+    private float[] readStateFormCsv(List<String[]> rows) {
+        float[] ret = new float[stateFormIds.size()];
+        boolean[] set = new boolean[stateFormIds.size()];
+        Arrays.fill(ret, defaultVal);
+
+        for(String[] row : rows) {
+            int id = stateFormIds.get(stateFormKey(row[0], row[1]));
+            if(set[id]) continue;
+
+            ret[id] = parseValue(row[2], row[0] + "," + row[1]);
+            set[id] = true;
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to parse a value from one of the csv files
+     *
+     * @param value the text of the value
+     * @param source where the value came from (for the error message)
+     * @return the parsed value
+     */
+    private static float parseValue(String value, String source) {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid value '" + value + "' in " + source, e);
+        }
+    }
+
+    /**
+     * Helper function to look up the value of the given isotope in one of the value arrays
+     *
+     * @param values the values to search
+     * @param name the full name or abbreviation of the isotope
+     * @return the value for the isotope or the default value if the isotope is unknown
+     */
+    private float lookup(float[] values, String name) {
+        int id = resolver.resolve(name);
+        return (id < 0)? defaultVal : values[id];
+    }
+
+    /**
+     * Helper function to look up the value of the given state and form in one of the value arrays
+     *
+     * @param values the values to search
+     * @param state the state of the shipment
+     * @param form the form of the shipment
+     * @return the value for the state and form or the default value if they are not in the file
+     */
+    private float lookup(float[] values, String state, String form) {
+        if(state == null || "".equals(state)) throw new InvalidParameterException("state cannot be null or empty string");
+        if(form == null || "".equals(form)) throw new InvalidParameterException("form cannot be null or empty string");
+
+        Integer id = stateFormIds.get(stateFormKey(state, form));
+        return (id == null)? defaultVal : values[id];
+    }
+
+    /**
+     * Helper function to build the profile of the isotope with the given id
+     *
+     * @param id the id of the isotope (-1 if the isotope is unknown)
+     * @return the profile of the isotope
+     */
+    private IsotopeProfile profile(int id) {
+        if(id < 0) return IsotopeProfile.unknown(defaultVal);
+
+        return new IsotopeProfile(resolver.getFullName(id), resolver.getAbbr(id), A1[id], A2[id], decayConstant[id], exemptConcentration[id],
+                exemptLimit[id], halfLife[id], licenseLimit[id], reportableQuantity[id]);
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    @Override
+    public String getAbbr(String name) throws RuntimeException {
+        if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        return resolver.getAbbr(name);
+    }
+
+    @Override
+    public String getFullName(String name) throws RuntimeException {
+        if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        return resolver.getFullName(name);
+    }
+
+    @Override
+    public AdditionalInfo getAdditionalInfo() { return additionalInfo; }
+
+    @Override
+    public List<String> getShortLong() { return new ArrayList<>(shortLong); }
+
+    @Override
+    public IsotopeProfile getIsotopeProfile(String name) throws RuntimeException {
+        if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        return profile(resolver.resolve(name));
+    }
+
+    @Override
+    public Map<String, IsotopeProfile> getIsotopeProfiles(Collection<String> names) throws RuntimeException {
+        if(names == null) throw new InvalidParameterException("Isotope names cannot be null");
+        for(String name : names) {
+            if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        }
+
+        Map<String, IsotopeProfile> ret = new LinkedHashMap<>();
+        for(String name : names) {
+            if(!ret.containsKey(name)) ret.put(name, profile(resolver.resolve(name)));
+        }
+        return ret;
+    }
+
+    @Override
+    public float getA1(String name) { return lookup(A1, name); }
+
+    @Override
+    public float getA2(String name) { return lookup(A2, name); }
+
+    @Override
+    public float getDecayConstant(String name) { return lookup(decayConstant, name); }
+
+    @Override
+    public float getExemptConcentration(String name) { return lookup(exemptConcentration, name); }
+
+    @Override
+    public float getExemptLimit(String name) { return lookup(exemptLimit, name); }
+
+    @Override
+    public float getHalfLife(String name) { return lookup(halfLife, name); }
+
+    @Override
+    public float getIALimitedMultiplier(String state, String form) throws RuntimeException {
+        return lookup(IALimitedMultiplier, state, form);
+    }
+
+    @Override
+    public float getIAPackageLimit(String state, String form) throws RuntimeException {
+        return lookup(IAPackageLimit, state, form);
+    }
+
+    @Override
+    public float getLicenseLimit(String name) { return lookup(licenseLimit, name); }
+
+    @Override
+    public float getLimitedLimit(String state, String form) throws RuntimeException {
+        return lookup(limitedLimit, state, form);
+    }
+
+    @Override
+    public float getReportableQuantity(String name) { return lookup(reportableQuantity, name); }
+
+    /**
+     * Getter function to get the number of isotopes that were loaded
+     *
+     * @return the number of isotopes in the ValidIsotopes file
+     */
+    public int getIsotopeCount() { return resolver.size(); }
+
+    @Override
+    public IsotopeNameResolver getResolver() { return resolver; }
+}
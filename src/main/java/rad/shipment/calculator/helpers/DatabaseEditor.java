@@ -3,19 +3,19 @@ package rad.shipment.calculator.helpers;
 import rad.shipment.calculator.gui.InformationWindow;
 import rad.shipment.calculator.gui.Main;
 
+import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static rad.shipment.calculator.gui.Main.getString;
 import static rad.shipment.calculator.gui.Main.replaceBundleString;
 
-public class DatabaseEditor {
+public class DatabaseEditor implements ReferenceDataSource {
 
     // Declaring variables
     private static final Logger logr = Logger.getLogger(DatabaseEditor.class.getName());  // getting logger
@@ -25,7 +25,10 @@ public class DatabaseEditor {
     private final String USER;  // username for database
     private final String PASS;  // password for database
     private final String DATETIME;  // the date and time in the filename of the database if the user did not provide a valid path
-    protected static Connection con;  // Connection to the database to be edited
+    private volatile ConnectionPool pool;  // pool of connections to the database to be edited (null until connected)
+    private volatile ReferenceData referenceData;  // snapshot of the reference tables (null until the database is set up)
+    private volatile IsotopeNameResolver resolver;  // resolves isotope names without a query (null until first used)
+    private volatile AdditionalInfo additionalInfo;  // flags for the isotopes that need more than a name (null until first used)
 
     /*/////////////////////////////////////////////// DATABASE EDITOR ////////////////////////////////////////////////*/
 
@@ -73,9 +76,11 @@ public class DatabaseEditor {
             if ("".equals(getSettings())) conURL = PATH;
             else conURL = PATH + SETTINGS;
 
-            if ("".equals(getUser()))
-                con = DriverManager.getConnection(conURL);
-            else con = DriverManager.getConnection(conURL, USER, PASS);
+            ConnectionPool newPool = new ConnectionPool(conURL, USER, PASS, Main.getInt("dbPoolSize"), Main.getInt("dbPoolTimeout"));
+            newPool.acquire().close();  // making sure the database can be reached before the pool is used
+
+            if (pool != null) pool.close();
+            pool = newPool;
 
             logr.info("Successfully connected to the database");
             return true;
@@ -91,43 +96,82 @@ public class DatabaseEditor {
      */
     public void closeConnection() {
         try {
-            if(con != null) {
-                con.close();
+            if(pool != null) {
+                pool.close();
+                pool = null;
                 logr.info("closed database connection");
             } else {
                 logr.warning("Failed to close db connection: connection is null");
             }
-        } catch (SQLException | RuntimeException e) {
+        } catch (RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to close database connection. Error: ", e);
         }
     }
 
     /**
-     * Function to populate the data in the database with the proper information if there is no data
+     * Function to populate the data in the database with the proper information
+     * Tables whose csv file has not changed since the database was last set up are reused as they are,
+     * only the tables whose csv file changed (or all of them if dbRebuildOnStartup is true) are rebuilt
      */
     public void setupEmbeddedDB() throws RuntimeException {
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            // creating tables
-            db.executeUpdate(replaceBundleString("createIsotopesTableCSV", FileHandler.getValidIsotopesCSVPath()));
-            db.executeUpdate(replaceBundleString("createShortLongTableCSV", FileHandler.getShortLongCSVPath()));
-            db.executeUpdate(replaceBundleString("createA1TableCSV", FileHandler.getA1CSVPath()));
-            db.executeUpdate(replaceBundleString("createA2TableCSV", FileHandler.getA2CSVPath()));
-            db.executeUpdate(replaceBundleString("createDecayConstTableCSV", FileHandler.getDecayConstCSVPath()));
-            db.executeUpdate(replaceBundleString("createExemptConTableCSV", FileHandler.getExemptConCSVPath()));
-            db.executeUpdate(replaceBundleString("createExemptLimTableCSV", FileHandler.getExemptLimCSVPath()));
-            db.executeUpdate(replaceBundleString("createHalfLifeTableCSV", FileHandler.getHalfLifeCSVPath()));
-            db.executeUpdate(replaceBundleString("createInstrArtLimLimTableCSV", FileHandler.getIALimLimCSVPath()));
-            db.executeUpdate(replaceBundleString("createInstrArtPackageLimTableCSV", FileHandler.getIAPackageLimCSVPath()));
-            db.executeUpdate(replaceBundleString("createLicLimTableCSV", FileHandler.getLicLimCSVPath()));
-            db.executeUpdate(replaceBundleString("createLimLimitTableCSV", FileHandler.getLimLimCSVPath()));
-            db.executeUpdate(replaceBundleString("createReportQTableCSV", FileHandler.getReportQCSVPath()));
+        // bundle key of the table name, bundle key of the create statement, csv file the table is created from
+        String[][] tables = {
+                {"isotopesTableName", "createIsotopesTableCSV", FileHandler.getValidIsotopesCSVPath()},
+                {"shortLongTableName", "createShortLongTableCSV", FileHandler.getShortLongCSVPath()},
+                {"lungAbsTableName", "createLungAbsTableCSV", FileHandler.getLungAbsCSVPath()},
+                {"A1TableName", "createA1TableCSV", FileHandler.getA1CSVPath()},
+                {"A2TableName", "createA2TableCSV", FileHandler.getA2CSVPath()},
+                {"decayConstTableName", "createDecayConstTableCSV", FileHandler.getDecayConstCSVPath()},
+                {"exemptConTableName", "createExemptConTableCSV", FileHandler.getExemptConCSVPath()},
+                {"exemptLimTableName", "createExemptLimTableCSV", FileHandler.getExemptLimCSVPath()},
+                {"halfLifeTableName", "createHalfLifeTableCSV", FileHandler.getHalfLifeCSVPath()},
+                {"instrArtLimLimTableName", "createInstrArtLimLimTableCSV", FileHandler.getIALimLimCSVPath()},
+                {"instrArtPackageLimTableName", "createInstrArtPackageLimTableCSV", FileHandler.getIAPackageLimCSVPath()},
+                {"licLimTableName", "createLicLimTableCSV", FileHandler.getLicLimCSVPath()},
+                {"limLimitTableName", "createLimLimitTableCSV", FileHandler.getLimLimCSVPath()},
+                {"reportQTableName", "createReportQTableCSV", FileHandler.getReportQCSVPath()}
+        };
+        boolean rebuildAll = Boolean.parseBoolean(getString("dbRebuildOnStartup"));
+        int rebuilt = 0;
+
+        try (PooledConnection connection = acquireConnection()) {
+            Statement db = connection.getConnection().createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+
+            // getting the hashes of the csv files and create statements the existing tables were built from
+            db.executeUpdate(getString("createSnapshotInfoTable"));
+            Map<String, String> builtHashes = new HashMap<>();
+            try (ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString("snapshotInfoTableName")))) {
+                while (result.next()) builtHashes.put(result.getString(getString("tableNameCol")), result.getString(getString("hashCol")));
+            }
+
+            // creating the tables that are missing or out of date
+            PreparedStatement updateHash = connection.prepare(getString("updateSnapshotInfo"));
+            for (String[] table : tables) {
+                String tableName = getString(table[0]);
+                String create = replaceBundleString(table[1], table[2]);
+                String hash = FileHandler.getContentHash(table[2], create);
+
+                if (!rebuildAll && hash.equals(builtHashes.get(tableName))) continue;
+
+                db.executeUpdate(replaceBundleString("dropTable", tableName));
+                db.executeUpdate(create);
+
+                // only recording the hash once the table was created so a failed import is retried on the next start
+                updateHash.setString(1, tableName);
+                updateHash.setString(2, hash);
+                updateHash.executeUpdate();
+                rebuilt++;
+            }
 
             db.close();
-        } catch (SQLException | RuntimeException e) {
+            logr.info("Rebuilt " + rebuilt + " of " + tables.length + " database tables");
+
+            // loading the reference tables into memory so lookups don't have to query the database
+            referenceData = ReferenceData.load(connection.getConnection());
+            resolver = referenceData.getResolver();
+            additionalInfo = referenceData.getAdditionalInfo();
+            logr.info("Loaded reference data snapshot");
+        } catch (IOException | SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to create tables in database. Error: ", e);  // logging any errors
         }
     }
@@ -155,57 +199,143 @@ public class DatabaseEditor {
     }
 
     /**
-     * Helper function to get the abbreviated name of the given isotope name
+     * Helper function to lease a connection from the connection pool
+     * The connection must be closed to give it back to the pool (use try with resources)
      *
-     * @param name the name of the isotope to get the abbreviation of
-     * @return the abbreviated name of the isotope or an empty string if an error occurred
+     * @return a connection that only the calling thread is using
      */
-    public String getAbbr(String name) throws RuntimeException {
-        if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+    protected PooledConnection acquireConnection() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) throw new RuntimeException("Cannot connect to database, connection is null");
+        return current.acquire();
+    }
 
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
+    /**
+     * Helper function to get the prepared statement for the given bundle query
+     * The statement is prepared the first time it is requested on the connection and reused after that
+     *
+     * @param connection the leased connection to run the query on
+     * @param queryKey the bundle key of the query
+     * @param replacements the values to replace the braced values in the query with (use ? for parameters)
+     * @return the prepared statement for the query
+     */
+    protected PreparedStatement getPreparedStatement(PooledConnection connection, String queryKey, String... replacements) throws SQLException {
+        return connection.prepare(replaceBundleString(queryKey, replacements));
+    }
+
+    /**
+     * Getter function to get the resolver for the names in the Isotopes table
+     * The resolver comes from the reference data snapshot, or if there is no snapshot it is built from one read
+     * of the Isotopes table the first time it is needed
+     *
+     * @return the isotope name resolver (a resolver that knows no isotopes if the Isotopes table could not be read)
+     */
+    @Override
+    public IsotopeNameResolver getResolver() {
+        IsotopeNameResolver current = resolver;
+        if(current != null) return current;
+
+        List<String> names = new ArrayList<>();
+        List<String> abbrs = new ArrayList<>();
+
+        try (PooledConnection connection = acquireConnection();
+             Statement db = connection.getConnection().createStatement();
+             ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString("isotopesTableName")))) {
+            while(result.next()) {
+                names.add(result.getString(getString("nameCol")));
+                abbrs.add(result.getString(getString("abbrCol")));
+            }
+        }  catch (SQLException | RuntimeException e) {
+            logr.log(Level.SEVERE, "Failed to read the isotope names from the database. Error: ", e);  // logging any errors
+            return new IsotopeNameResolver(Collections.emptyList(), Collections.emptyList());  // not saved so the next call tries again
+        }
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+        current = new IsotopeNameResolver(names, abbrs);
+        resolver = current;
+        return current;
+    }
 
-            ResultSet result = db.executeQuery(replaceBundleString("isotopesTableQuery",
-                    getString("abbrCol"),
-                    "Upper(" + getString("abbrCol") + ") = Upper('" + name + "') or Upper(" + getString("nameCol") + ") = Upper('" + name + "')")
-            );
+    /**
+     * Getter function to get the information the user has to give on top of the name of each isotope
+     * The flags come from the reference data snapshot, or if there is no snapshot they are worked out from one read
+     * of the ShortLong and Lung_Absorption tables the first time they are needed
+     *
+     * @return the additional info flags of every isotope (no isotope has any flags if the tables could not be read)
+     */
+    @Override
+    public AdditionalInfo getAdditionalInfo() {
+        AdditionalInfo current = additionalInfo;
+        if(current != null) return current;
 
-            if(result.next()) return result.getString(getString("abbrCol"));
-            else return "";
+        List<String> lungAbs = new ArrayList<>();
+
+        try (PooledConnection connection = acquireConnection();
+             Statement db = connection.getConnection().createStatement();
+             ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString("lungAbsTableName")))) {
+            while(result.next()) lungAbs.add(result.getString(getString("abbrCol")).trim());
         }  catch (SQLException | RuntimeException e) {
-            logr.log(Level.SEVERE, "Failed to query the database for " + name + ". Error: ", e);  // logging any errors
+            logr.log(Level.SEVERE, "Failed to read the additional isotope info from the database. Error: ", e);  // logging any errors
+            return new AdditionalInfo(getResolver(), Collections.emptyList(), Collections.emptyList());  // not saved so the next call tries again
         }
-        return "";
+
+        current = new AdditionalInfo(getResolver(), getShortLong(), lungAbs);
+        additionalInfo = current;
+        return current;
+    }
+
+    /**
+     * Helper function to build an isotope profile from the current row of an isotopeProfileQuery result
+     *
+     * @param result the result set positioned on the row to read
+     * @return the profile stored in the current row
+     */
+    private static IsotopeProfile readIsotopeProfile(ResultSet result) throws SQLException {
+        return new IsotopeProfile(result.getString(getString("nameCol")).trim(),
+                result.getString(getString("abbrCol")).trim(),
+                getFloatOrDefault(result, "A1"),
+                getFloatOrDefault(result, "A2"),
+                getFloatOrDefault(result, "DecayConstant"),
+                getFloatOrDefault(result, "ExemptConcentration"),
+                getFloatOrDefault(result, "ExemptLimit"),
+                getFloatOrDefault(result, "HalfLife"),
+                getFloatOrDefault(result, "LicenseLimit"),
+                getFloatOrDefault(result, "ReportableQuantity"));
+    }
+
+    /**
+     * Helper function to read a float column that may be null because of an outer join
+     *
+     * @param result the result set positioned on the row to read
+     * @param column the label of the column to read
+     * @return the value of the column or the default value if the column is null
+     */
+    private static float getFloatOrDefault(ResultSet result, String column) throws SQLException {
+        float ret = result.getFloat(column);
+        return result.wasNull()? (float)Main.getInt("defaultInt") : ret;
+    }
+
+    /**
+     * Helper function to get the abbreviated name of the given isotope name
+     * The name is resolved in memory (see getResolver) so common variants like Co60 or cobalt 60 are understood too
+     *
+     * @param name the name of the isotope to get the abbreviation of
+     * @return the abbreviated name of the isotope or an empty string if an error occurred
+     */
+    public String getAbbr(String name) throws RuntimeException {
+        if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        return getResolver().getAbbr(name);
     }
 
     /**
      * Helper function to get the full name of the given isotope name
+     * The name is resolved in memory (see getResolver) so common variants like Co60 or cobalt 60 are understood too
      *
      * @param name the name of the isotope to get the abbreviation of
      * @return the full name of the isotope or an empty string if an error occurred
      */
     public String getFullName(String name) throws RuntimeException {
         if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
-
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("isotopesTableQuery",
-                    getString("nameCol"),
-                    "Upper(" + getString("abbrCol") + ") = Upper('" + name + "') or Upper(" + getString("nameCol") + ") = Upper('" + name + "')")
-            );
-
-            if(result.next()) return result.getString(getString("nameCol"));
-            else return "";
-        }  catch (SQLException | RuntimeException e) {
-            logr.log(Level.SEVERE, "Failed to query the database for " + name + ". Error: ", e);  // logging any errors
-        }
-        return "";
+        return getResolver().getFullName(name);
     }
 
     /*/////////////////////////////////////////////////// SETTERS ////////////////////////////////////////////////////*/
@@ -516,48 +646,142 @@ public class DatabaseEditor {
      * @return a list of the isotopes from the shortLong table
      */
     public List<String> getShortLong() throws RuntimeException {
+        if(referenceData != null) return new ArrayList<>(referenceData.getShortLong());
+
         List<String> ret = new ArrayList<>();
 
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
+        try (PooledConnection connection = acquireConnection()) {
+            PreparedStatement query = getPreparedStatement(connection, "shortLongTableQuery", getString("abbrCol"));
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+            try (ResultSet result = query.executeQuery()) {
+                while(result.next()) ret.add(result.getString(getString("abbrCol")));
+            }
+        }  catch (SQLException | RuntimeException e) {
+            logr.log(Level.SEVERE, "Failed to query the database. Error: ", e);  // logging any errors
+        }
+        return ret;
+    }
+
+    /**
+     * Getter function to get every constant of the given isotope
+     * from a single query that joins all the isotope tables in the database
+     *
+     * @param name the name of the isotope
+     * @return the profile of that isotope or an unknown profile if the isotope was not found
+     */
+    public IsotopeProfile getIsotopeProfile(String name) throws RuntimeException {
+        if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        if(referenceData != null) return referenceData.getIsotopeProfile(name);
 
-            ResultSet result = db.executeQuery(replaceBundleString("shortLongTableQuery", getString("abbrCol")));
+        String abbr = getAbbr(name);  // resolving before leasing a connection since it may need one itself
+        if("".equals(abbr)) return IsotopeProfile.unknown((float)Main.getInt("defaultInt"));
 
-            while(result.next()) ret.add(result.getString(getString("abbrCol")));
+        try (PooledConnection connection = acquireConnection()) {
+            PreparedStatement query = getPreparedStatement(connection, "isotopeProfileQuery",
+                    "Upper(i." + getString("abbrCol") + ") = Upper(?) or Upper(i." + getString("nameCol") + ") = Upper(?)");
+            query.setString(1, abbr);
+            query.setString(2, abbr);
+
+            try (ResultSet result = query.executeQuery()) {
+                if(result.next()) return readIsotopeProfile(result);
+            }
         }  catch (SQLException | RuntimeException e) {
-            logr.log(Level.SEVERE, "Failed to query the database. Error: ", e);  // logging any errors
+            logr.log(Level.SEVERE, "Failed to query the database for the profile of " + name + ". Error: ", e);  // logging any errors
+        }
+        return IsotopeProfile.unknown((float)Main.getInt("defaultInt"));
+    }
+
+    /**
+     * Getter function to get every constant of all the given isotopes
+     * The names are looked up in batches of isotopeProfileBatchSize so the number of queries
+     * only grows with the number of batches, not with the number of isotopes
+     *
+     * @param names the names of the isotopes
+     * @return a map of each given name to the profile of that isotope (unknown profile if the isotope was not found)
+     *          in the same order as the given names
+     */
+    public Map<String, IsotopeProfile> getIsotopeProfiles(Collection<String> names) throws RuntimeException {
+        if(names == null) throw new InvalidParameterException("Isotope names cannot be null");
+        for(String name : names) {
+            if(name == null || "".equals(name)) throw new InvalidParameterException("Isotope name cannot be null or empty string");
+        }
+
+        Map<String, IsotopeProfile> ret = new LinkedHashMap<>();
+
+        if(referenceData != null) {
+            for(String name : names) ret.putIfAbsent(name, referenceData.getIsotopeProfile(name));
+            return ret;
+        }
+
+        // resolving every name to its abbreviation before leasing a connection since the resolver may need one itself
+        IsotopeNameResolver nameResolver = getResolver();
+        Set<String> uniqueKeys = new LinkedHashSet<>();
+        for(String name : names) {
+            String abbr = nameResolver.getAbbr(name);
+            if(!"".equals(abbr)) uniqueKeys.add(ReferenceData.normalize(abbr));
+        }
+        List<String> keys = new ArrayList<>(uniqueKeys);
+        Map<String, IsotopeProfile> found = new HashMap<>();  // normalized abbreviation -> profile of every isotope that was found
+        int batchSize = Math.max(1, Main.getInt("isotopeProfileBatchSize"));
+
+        try (PooledConnection connection = acquireConnection()) {
+            // every batch uses the same number of parameters so they all share one prepared statement
+            String params = String.join(", ", Collections.nCopies(batchSize, "?"));
+            PreparedStatement query = getPreparedStatement(connection, "isotopeProfileQuery",
+                    "Upper(i." + getString("abbrCol") + ") in (" + params + ") or Upper(i." + getString("nameCol") + ") in (" + params + ")");
+
+            for(int start = 0; start < keys.size(); start += batchSize) {
+                for(int i = 0; i < batchSize; i++) {
+                    // unused parameters are set to null which never matches anything
+                    String key = (start + i < keys.size())? keys.get(start + i) : null;
+                    query.setString(i + 1, key);
+                    query.setString(batchSize + i + 1, key);
+                }
+
+                try (ResultSet result = query.executeQuery()) {
+                    while(result.next()) {
+                        IsotopeProfile profile = readIsotopeProfile(result);
+                        found.putIfAbsent(ReferenceData.normalize(profile.getAbbr()), profile);
+                    }
+                }
+            }
+        }  catch (SQLException | RuntimeException e) {
+            logr.log(Level.SEVERE, "Failed to query the database for the profiles of " + names + ". Error: ", e);  // logging any errors
+        }
+
+        IsotopeProfile unknown = IsotopeProfile.unknown((float)Main.getInt("defaultInt"));
+        for(String name : names) {
+            String abbr = nameResolver.getAbbr(name);
+            ret.putIfAbsent(name, "".equals(abbr)? unknown : found.getOrDefault(ReferenceData.normalize(abbr), unknown));
         }
         return ret;
     }
 
     /**
-     * Getter function to get the given isotope's A1 value 
+     * Getter function to get the given isotope's A1 value
      * from the A1 table in the database
      * 
      * @param name the name of the isotope
      * @return the A1 value of that isotope
      */
     public float getA1(String name) {
+        if(referenceData != null) return referenceData.getA1(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "A1TableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            ResultSet result = db.executeQuery(replaceBundleString("A1TableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
-
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
-
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the A1 value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -572,24 +796,23 @@ public class DatabaseEditor {
      * @return the A2 value of that isotope
      */
     public float getA2(String name) {
+        if(referenceData != null) return referenceData.getA2(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("A2TableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
-
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "A2TableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the A2 value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -604,24 +827,23 @@ public class DatabaseEditor {
      * @return the Decay Constant value of that isotope
      */
     public float getDecayConstant(String name) {
+        if(referenceData != null) return referenceData.getDecayConstant(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("decayConstTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "decayConstTableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
-
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the decay constant value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -636,24 +858,23 @@ public class DatabaseEditor {
      * @return the Exempt Concentration value of that isotope
      */
     public float getExemptConcentration(String name) {
+        if(referenceData != null) return referenceData.getExemptConcentration(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("exemptConTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
-
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "exemptConTableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the exempt concentration value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -668,24 +889,23 @@ public class DatabaseEditor {
      * @return the Exempt Limit value of that isotope
      */
     public float getExemptLimit(String name) {
+        if(referenceData != null) return referenceData.getExemptLimit(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("exemptLimTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "exemptLimTableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
-
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the exempt limit value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -700,24 +920,23 @@ public class DatabaseEditor {
      * @return the Half Life value of that isotope
      */
     public float getHalfLife(String name) {
+        if(referenceData != null) return referenceData.getHalfLife(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "halfLifeTableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            ResultSet result = db.executeQuery(replaceBundleString("halfLifeTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
-
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
-
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the half life value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -735,21 +954,19 @@ public class DatabaseEditor {
     public float getIALimitedMultiplier(String state, String form) throws RuntimeException {
         if(state == null || "".equals(state)) throw new InvalidParameterException("state cannot be null or empty string");
         if(form == null || "".equals(form)) throw new InvalidParameterException("form cannot be null or empty string");
-        float ret = (float)Main.getInt("defaultInt");
+        if(referenceData != null) return referenceData.getIALimitedMultiplier(state, form);
 
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("instrArtLimLimTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("stateCol") + ") = upper('" + state + "') and upper(" + getString("formCol") + ") = upper('" + form + "')")
-            );
+        float ret = (float)Main.getInt("defaultInt");
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
+        try (PooledConnection connection = acquireConnection()) {
+            PreparedStatement query = getPreparedStatement(connection, "instrArtLimLimTableQuery", getString("valueCol"),
+                    "upper(" + getString("stateCol") + ") = upper(?) and upper(" + getString("formCol") + ") = upper(?)");
+            query.setString(1, state);
+            query.setString(2, form);
 
-            db.close();
+            try (ResultSet result = query.executeQuery()) {
+                if(result.next()) ret = result.getFloat(getString("valueCol"));
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the instrument/article limited limit multiplier value of state:" + state + " and form:" + form + ". Error: ", e);  // logging any errors
         }
@@ -767,21 +984,19 @@ public class DatabaseEditor {
     public float getIAPackageLimit(String state, String form) throws RuntimeException {
         if(state == null || "".equals(state)) throw new InvalidParameterException("state cannot be null or empty string");
         if(form == null || "".equals(form)) throw new InvalidParameterException("form cannot be null or empty string");
-        float ret = (float)Main.getInt("defaultInt");
-
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
+        if(referenceData != null) return referenceData.getIAPackageLimit(state, form);
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("instrArtPackageLimTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("stateCol") + ") = upper('" + state + "') and upper(" + getString("formCol") + ") = upper('" + form + "')")
-            );
+        float ret = (float)Main.getInt("defaultInt");
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
+        try (PooledConnection connection = acquireConnection()) {
+            PreparedStatement query = getPreparedStatement(connection, "instrArtPackageLimTableQuery", getString("valueCol"),
+                    "upper(" + getString("stateCol") + ") = upper(?) and upper(" + getString("formCol") + ") = upper(?)");
+            query.setString(1, state);
+            query.setString(2, form);
 
-            db.close();
+            try (ResultSet result = query.executeQuery()) {
+                if(result.next()) ret = result.getFloat(getString("valueCol"));
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the instrument/article package limit value of state:" + state + " and form:" + form + ". Error: ", e);  // logging any errors
         }
@@ -796,24 +1011,23 @@ public class DatabaseEditor {
      * @return the License Limit value of that isotope
      */
     public float getLicenseLimit(String name) {
+        if(referenceData != null) return referenceData.getLicenseLimit(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("licLimTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "licLimTableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
-
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the license limit value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -831,21 +1045,19 @@ public class DatabaseEditor {
     public float getLimitedLimit(String state, String form) throws RuntimeException {
         if(state == null || "".equals(state)) throw new InvalidParameterException("state cannot be null or empty string");
         if(form == null || "".equals(form)) throw new InvalidParameterException("form cannot be null or empty string");
-        float ret = (float)Main.getInt("defaultInt");
-
-        try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+        if(referenceData != null) return referenceData.getLimitedLimit(state, form);
 
-            ResultSet result = db.executeQuery(replaceBundleString("limLimitTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("stateCol") + ") = upper('" + state + "') and upper(" + getString("formCol") + ") = upper('" + form + "')")
-            );
+        float ret = (float)Main.getInt("defaultInt");
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
+        try (PooledConnection connection = acquireConnection()) {
+            PreparedStatement query = getPreparedStatement(connection, "limLimitTableQuery", getString("valueCol"),
+                    "upper(" + getString("stateCol") + ") = upper(?) and upper(" + getString("formCol") + ") = upper(?)");
+            query.setString(1, state);
+            query.setString(2, form);
 
-            db.close();
+            try (ResultSet result = query.executeQuery()) {
+                if(result.next()) ret = result.getFloat(getString("valueCol"));
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the limited limit value of state:" + state + " and form:" + form + ". Error: ", e);  // logging any errors
         }
@@ -860,24 +1072,23 @@ public class DatabaseEditor {
      * @return the Reportable Quantity value of that isotope
      */
     public float getReportableQuantity(String name) throws RuntimeException {
+        if(referenceData != null) return referenceData.getReportableQuantity(name);
+
         float ret = (float)Main.getInt("defaultInt");
 
         try {
-            if (con == null) throw new RuntimeException("Cannot connect to database, connection is null");
-
             name = getAbbr(name);
             if("".equals(name)) throw new RuntimeException("name is invalid");
 
-            Statement db = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
-
-            ResultSet result = db.executeQuery(replaceBundleString("reportQTableQuery",
-                    getString("valueCol"),
-                    "upper(" + getString("abbrCol") + ") = upper('" + name + "')")
-            );
+            try (PooledConnection connection = acquireConnection()) {
+                PreparedStatement query = getPreparedStatement(connection, "reportQTableQuery", getString("valueCol"),
+                        "upper(" + getString("abbrCol") + ") = upper(?)");
+                query.setString(1, name);
 
-            if(result.next()) ret = result.getFloat(getString("valueCol"));
-
-            db.close();
+                try (ResultSet result = query.executeQuery()) {
+                    if(result.next()) ret = result.getFloat(getString("valueCol"));
+                }
+            }
         }  catch (SQLException | RuntimeException e) {
             logr.log(Level.SEVERE, "Failed to query the database for the reportable quantity value of " + name + ". Error: ", e);  // logging any errors
         }
@@ -925,4 +1136,11 @@ public class DatabaseEditor {
      * @return the password for the database
      */
     public String getDateTime() { return DATETIME; }
+
+    /**
+     *  Getter function to get the snapshot of the reference tables
+     *
+     * @return the snapshot of the reference tables or null if the database has not been set up
+     */
+    public ReferenceData getReferenceData() { return referenceData; }
 }
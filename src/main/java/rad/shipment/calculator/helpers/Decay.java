@@ -0,0 +1,127 @@
+package rad.shipment.calculator.helpers;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Decay calculations done on days since 1970-01-01 (epoch days) instead of date objects
+ *
+ * The class keeps today's epoch day and the instant the next day starts, so asking for today does not create any date
+ * objects until midnight has passed
+ * An instance is one cached decay factor exp(-decay constant * days) for a decay constant, reference day and evaluation
+ * day, an isotope keeps the last one it calculated and only calculates a new one when one of the three changes
+ * (which happens for every isotope once the day changes at midnight)
+ */
+public final class Decay {
+    // Declaring variables
+    private static Clock clock = Clock.systemDefaultZone();  // the clock today is read from
+    private static volatile Day day;                         // today and the instants it starts and ends
+    private final double decayConstant;                      // 1/days
+    private final long refEpochDay;                          // the reference day of the activity
+    private final long epochDay;                             // the day the activity is decayed to
+    private final double factor;                             // exp(-decayConstant * (epochDay - refEpochDay))
+
+    /**
+     * Today's epoch day and the instants (milliseconds since 1970-01-01) it starts and ends in the clock's time zone
+     */
+    private static final class Day {
+        private final long epochDay;
+        private final long start;
+        private final long end;
+
+        private Day(long epochDay, long start, long end) {
+            this.epochDay = epochDay;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /*//////////////////////////////////////////////////// DECAY /////////////////////////////////////////////////////*/
+
+    /**
+     * Constructs the decay factor of a decay constant between two days
+     *
+     * @param decayConstant the decay constant (1/days)
+     * @param refEpochDay the reference day of the activity
+     * @param epochDay the day the activity is decayed to
+     */
+    Decay(double decayConstant, long refEpochDay, long epochDay) {
+        this.decayConstant = decayConstant;
+        this.refEpochDay = refEpochDay;
+        this.epochDay = epochDay;
+        this.factor = factor(decayConstant, epochDay - refEpochDay);
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to get today as days since 1970-01-01
+     * Only reads the date from the clock again once the current day is over
+     *
+     * @return today's epoch day
+     */
+    public static long today() {
+        Day current = day;
+        long now = clock.millis();
+
+        if(current == null || now < current.start || now >= current.end) current = nextDay(now);
+        return current.epochDay;
+    }
+
+    /**
+     * Helper function to work out the day an instant falls on
+     *
+     * @param now the instant (milliseconds since 1970-01-01)
+     * @return the day the instant falls on
+     */
+    private static synchronized Day nextDay(long now) {
+        Day current = day;
+        if(current != null && now >= current.start && now < current.end) return current;
+
+        LocalDate date = LocalDate.now(clock);
+        current = new Day(date.toEpochDay(), date.atStartOfDay(clock.getZone()).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
+        day = current;
+        return current;
+    }
+
+    /**
+     * Helper function to change the clock today is read from
+     *
+     * @param newClock the new clock
+     */
+    static synchronized void setClock(Clock newClock) {
+        clock = newClock;
+        day = null;
+    }
+
+    /**
+     * Helper function to get the fraction of an activity left after a number of days
+     *
+     * @param decayConstant the decay constant (1/days)
+     * @param days the number of days the activity has decayed for
+     * @return exp(-decayConstant * days)
+     */
+    public static double factor(double decayConstant, long days) { return Math.exp(-decayConstant * days); }
+
+    /**
+     * Helper function to check if this factor was calculated for the given values
+     *
+     * @param decayConstant the decay constant (1/days)
+     * @param refEpochDay the reference day of the activity
+     * @param epochDay the day the activity is decayed to
+     * @return true if the factor can be reused for the values
+     */
+    boolean matches(double decayConstant, long refEpochDay, long epochDay) {
+        return this.epochDay == epochDay && this.refEpochDay == refEpochDay && Double.compare(this.decayConstant, decayConstant) == 0;
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the fraction of the activity left on the evaluation day
+     *
+     * @return exp(-decay constant * days between the reference day and evaluation day)
+     */
+    public double getFactor() { return factor; }
+}
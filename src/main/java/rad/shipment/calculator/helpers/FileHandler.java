@@ -1,8 +1,17 @@
 package rad.shipment.calculator.helpers;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 public class FileHandler {
     public static String getValidIsotopesCSVPath() { return "classpath:csv/ValidIsotopes.csv"; }
     public static String getShortLongCSVPath() { return "classpath:csv/ShortLong.csv"; }
+    public static String getLungAbsCSVPath() { return "classpath:csv/LungAbsorption.csv"; }
     public static String getA1CSVPath() { return "classpath:csv/A1(TBq).csv"; }
     public static String getA2CSVPath() { return "classpath:csv/A2(TBq).csv"; }
     public static String getDecayConstCSVPath() { return "classpath:csv/Decay_Constant.csv"; }
@@ -14,4 +23,55 @@ public class FileHandler {
     public static String getLicLimCSVPath() { return "classpath:csv/Licensing_Limit(microCi).csv"; }
     public static String getLimLimCSVPath() { return "classpath:csv/Limited_limit.csv"; }
     public static String getReportQCSVPath() { return "classpath:csv/Reportable_Quantity(TBq).csv"; }
+
+    /**
+     * Function to open one of the classpath files above for reading
+     *
+     * @param path the classpath path of the file (with or without the classpath: prefix)
+     * @return a stream of the file contents (the caller has to close it)
+     * @throws IOException if the file does not exist
+     */
+    public static InputStream openResource(String path) throws IOException {
+        if(path == null || "".equals(path)) throw new InvalidParameterException("path cannot be null or empty string");
+
+        String resource = "/" + path.replaceFirst("^classpath:", "").replaceFirst("^/", "");
+        InputStream ret = FileHandler.class.getResourceAsStream(resource);
+
+        if(ret == null) throw new FileNotFoundException("Could not find " + path + " on the classpath");
+        return ret;
+    }
+
+    /**
+     * Function to get the SHA-256 hash of the contents of one of the classpath files above
+     *
+     * @param path the classpath path of the file (with or without the classpath: prefix)
+     * @return the hex encoded hash of the file contents
+     * @throws IOException if the file does not exist or could not be read
+     */
+    public static String getContentHash(String path) throws IOException { return getContentHash(path, ""); }
+
+    /**
+     * Function to get the SHA-256 hash of the contents of one of the classpath files above followed by some text
+     * (the statement a table is created with, so the hash changes if either the file or the statement changes)
+     *
+     * @param path the classpath path of the file (with or without the classpath: prefix)
+     * @param text the text hashed after the file contents
+     * @return the hex encoded hash of the file contents and the text
+     * @throws IOException if the file does not exist or could not be read
+     */
+    public static String getContentHash(String path, String text) throws IOException {
+        if(text == null) throw new InvalidParameterException("text cannot be null");
+
+        try (InputStream in = openResource(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while((read = in.read(buffer)) != -1) digest.update(buffer, 0, read);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+
+            return Encryption.encodeByteArrayToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available", e);
+        }
+    }
 }
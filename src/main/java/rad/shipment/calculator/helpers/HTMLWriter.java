@@ -8,7 +8,7 @@ import rad.shipment.calculator.gui.Main;
 
 import java.io.*;
 import java.security.InvalidParameterException;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -64,7 +64,7 @@ public class HTMLWriter {
      *
      * @return the string representation of the time stamp of the report
      */
-    private String getTimeStamp(){ return "Generated on " + normalForm.format(LocalDate.now()); }
+    private String getTimeStamp(){ return "Generated on " + normalForm.format(LocalDateTime.now()); }
 
     /**
      * Helper function to get the correct data from the given isotope and column header
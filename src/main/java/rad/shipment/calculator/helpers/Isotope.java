@@ -1,16 +1,14 @@
 package rad.shipment.calculator.helpers;
 
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleFloatProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import org.jetbrains.annotations.Contract;
-import org.joda.time.Interval;
-import org.joda.time.LocalDate;
-import org.joda.time.Period;
 import rad.shipment.calculator.gui.Main;
 
 import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,45 +17,41 @@ public class Isotope {
     private static final Logger logr = Logger.getLogger(Isotope.class.getName());  // getting logger
     private final float defaultVal = (float)Main.getInt("defaultInt");  // default float value for uninitialized variables
     private final float DPM = (float)2.22e+6;
-    private final DatabaseEditor dbEditor = Main.getDBEditor();  // getting the database editor from the main class
-    private LocalDate _RefDate;                  // the reference date of the isotope
-    private final SimpleStringProperty _Name;                    // The name of the isotope
-    private final SimpleStringProperty _DBName;                 // The database search name of the isotope (including short/long or lung absorption)
-    private final SimpleFloatProperty _A0;                      // Initial Activity (microCi) of isotope
-    private final SimpleFloatProperty _AToday;                      // Today's Activity (microCi) of isotope
-    private final SimpleFloatProperty _ConcentrationToday;      // Today's concentration (microCi/gram or microCi/liter) of isotope
-    private final SimpleFloatProperty _DecaysPerMinute;         // Decays per minute of isotope
-    private final SimpleFloatProperty _ActivityConcentration;   // Activity Concentration (Bq) of isotope (Activity of isotope / sum of entire package concentration)
-    private final SimpleFloatProperty _ActivityFraction;        // Activity Fraction (Bq) of isotope (Activity fraction of isotope / sum of entire package activity)
-    private final SimpleFloatProperty _LimitedQuanMultiplier;   // Limited Quantities limit multiplier  (see 173.425_Table 4)
-    private final SimpleFloatProperty _ReportableQuanFraction;  // Fraction of Reportable Quantity of isotope (Activity Today (microCi) / Reportable Quantity (microCuries))
-    private final SimpleFloatProperty _LimitPercentage;         // Activity Percentage of isotope limit (activity of isotope / activity limit of isotope)
-    private final SimpleFloatProperty _ConcentrationPercentage;  // Activity concentration of isotope (activity concentration of isotope / activity concentration limit of isotope)
-    private final SimpleFloatProperty _LicensePercentage;       // Percentage of licensing limit (activity of isotope / license_limit from Info table in database)
-    private final SimpleFloatProperty _ALimit;                  // A1 value (TBq) of isotope if Special form, A2 value (TBq) of isotope if Normal Form
-    private final SimpleFloatProperty _HRCQLimit;               // Highway Route Control Limit (either 1000 * TBq or 3000 * A1/A2 whichever is the lowest number)
-    private final SimpleBooleanProperty _IsFissile;              // true if isotope is fissile
-    private final SimpleBooleanProperty _IsReportableQuan;      // true if isotope is a reportable quantity
-    private final SimpleStringProperty _ShortLong;              // for isotopes with different half lives
-    private final SimpleStringProperty _LungAbs;                // the lung absorption speed if the isotope is Uranium (f = fast, m = medium, s = slow)
-    private final SimpleIntegerProperty _IsotopeClass;          // Classification of isotope as an integer
-    private final SimpleFloatProperty _Mass;                    // the mass of the isotope (grams for solids or liters for liquids)
-    private final SimpleStringProperty _MassUnit;               // the mass unit for the isotope (grams or liters)
-    private final SimpleStringProperty _Nature;                  // the nature of the isotope (regular,  instrument, article)
-    private final SimpleStringProperty _State;                  // the state of the isotope (solid, liquid, gas)
-    private final SimpleStringProperty _Form;                   // the form of the isotope (normal, special, tritium)
-                                                                // (0 = Exempt, 1 = Excepted, 2 = Type A, 4 = Type B, 8 = Type B: Highway Route Control)
-    // Constant values from database
-    private final SimpleFloatProperty _A1;                  // A1 (TBq) of isotope (from Info table in database)
-    private final SimpleFloatProperty _A2;                  // A2 (TBq) of isotope (from Info table in database)
-    private final SimpleFloatProperty _DecayConstant;       // Decay Constant (1 / halflife(days)) of isotope (from Info table in database)
-    private final SimpleFloatProperty _ExemptConcentration; // Exempt Concentration (Bq/gram) of isotope (from Info table in database)
-    private final SimpleFloatProperty _ExemptLimit;         // Exempt Limit (Bq)of isotope (from Info table in database)
-    private final SimpleFloatProperty _HalfLife;            // Halflife (days) of isotope (from Info table in database)
-    private final SimpleFloatProperty _IALimitedMultiplier; // Instruments/Articles multiplier (see 173.425_Table 4) of isotope (from Info table in database)
-    private final SimpleFloatProperty _LicenseLimit;        // Licensing Limit (microCi) of isotope (from Info table in database)
-    private final SimpleFloatProperty _LimitedLimit;        // limited Limit (TBq) of isotope (from Info table in database)
-    private final SimpleFloatProperty _ReportableQuan;      // Reportable Quantity (Ci) of isotope (from Info table in database)
+    private final ReferenceDataSource dbEditor;  // the reference data source the isotope's names are resolved with
+    private IsotopeData core;                    // the identity, entered values and constants the calculations use
+    private Decay decay;                         // the last decay factor calculated (reused until the day or reference date changes)
+    private String _DisplayName;                 // full and abbreviated name shown in the table
+    private int hash;                            // cached hashCode (0 until computed, reset when a hashed value changes)
+
+    // Calculated values (plain fields, the calculations set them for every isotope in the shipment)
+    private float _ConcentrationToday;          // Today's concentration (microCi/gram or microCi/liter) of isotope
+    private float _DecaysPerMinute;             // Decays per minute of isotope
+    private float _ActivityConcentration;       // Activity Concentration (Bq) of isotope (Activity of isotope / sum of entire package concentration)
+    private float _ActivityFraction;            // Activity Fraction (Bq) of isotope (Activity fraction of isotope / sum of entire package activity)
+    private double _Activity;                   // Activity (TBq) of isotope on the calculated day
+    private ShipmentCalculator _ActivityOf;     // the calculator the activity fraction is worked out from (null if the fraction was set)
+    private float _LimitedQuanMultiplier;       // Limited Quantities limit multiplier  (see 173.425_Table 4)
+    private float _ReportableQuanFraction;      // Fraction of Reportable Quantity of isotope (Activity Today (microCi) / Reportable Quantity (microCuries))
+    private float _LimitPercentage;             // Activity Percentage of isotope limit (activity of isotope / activity limit of isotope)
+    private float _ConcentrationPercentage;     // Activity concentration of isotope (activity concentration of isotope / activity concentration limit of isotope)
+    private float _LicensePercentage;           // Percentage of licensing limit (activity of isotope / license_limit from Info table in database)
+    private float _ALimit;                      // A1 value (TBq) of isotope if Special form, A2 value (TBq) of isotope if Normal Form
+    private float _HRCQLimit;                   // Highway Route Control Limit (either 1000 * TBq or 3000 * A1/A2 whichever is the lowest number)
+    private boolean _IsFissile;                 // true if isotope is fissile
+    private boolean _IsReportableQuan;          // true if isotope is a reportable quantity
+    private String _ShortLong;                  // for isotopes with different half lives
+    private String _LungAbs;                    // the lung absorption speed if the isotope is Uranium (f = fast, m = medium, s = slow)
+    private int _IsotopeClass;                  // Classification of isotope as an integer
+                                                // (0 = Exempt, 1 = Excepted, 2 = Type A, 4 = Type B, 8 = Type B: Highway Route Control)
+
+    // Table cell values (created the first time a table column binds them, null until then)
+    private ReadOnlyStringWrapper _NameProperty;
+    private ReadOnlyStringWrapper _HalfLifeProperty;
+    private ReadOnlyStringWrapper _ATodayProperty;
+    private IsotopeData _ATodayCore;             // the values today's activity property was last set from
+    private long _ATodayEpochDay;                // the day today's activity property was last set for
+    private ReadOnlyStringWrapper _RefDateProperty;
+    private ReadOnlyStringWrapper _MassProperty;
 
     /*/////////////////////////////////////////////////// ISOTOPE ////////////////////////////////////////////////////*/
 
@@ -67,57 +61,41 @@ public class Isotope {
      * @param name the name of the isotope
      * @param referenceDate the reference date of the isotope
      */
-    public Isotope(String name, java.time.LocalDate referenceDate) throws RuntimeException {
-        try {
-            // getting the values from the database
-            _A1 = new SimpleFloatProperty(dbEditor.getA1(name));
-            _A2 = new SimpleFloatProperty(dbEditor.getA2(name));
-            _DecayConstant = new SimpleFloatProperty(dbEditor.getDecayConstant(name));
-            _ExemptConcentration = new SimpleFloatProperty(dbEditor.getExemptConcentration(name));
-            _ExemptLimit = new SimpleFloatProperty(dbEditor.getExemptLimit(name));
-            _HalfLife = new SimpleFloatProperty(dbEditor.getHalfLife(name));
-            _LicenseLimit = new SimpleFloatProperty(dbEditor.getLicenseLimit(name));
-            _ReportableQuan = new SimpleFloatProperty(dbEditor.getReportableQuantity(name));
-        } catch (InvalidParameterException e) {
-            logr.log(Level.SEVERE, "Failed to create isotope named " + name + ". Error: ", e);
-            throw new RuntimeException("Failed to create isotope named " + name);
-        }
+    public Isotope(String name, LocalDate referenceDate) throws RuntimeException {
+        this(name, getProfile(name), referenceDate);
+    }
 
-        // saving isotope name
-        _Name = new SimpleStringProperty(dbEditor.getAbbr(name));
+    /**
+     * Constructs an Isotope object from an already fetched isotope profile
+     *
+     * @param name the name of the isotope
+     * @param profile the constants of the isotope from the database
+     * @param referenceDate the reference date of the isotope
+     */
+    public Isotope(String name, IsotopeProfile profile, LocalDate referenceDate) throws RuntimeException {
+        this(Main.getReferenceDataSource(), name, profile, referenceDate);
+    }
 
-        // saving isotope database name
-        _DBName = new SimpleStringProperty(dbEditor.getAbbr(name));
+    /**
+     * Constructs an Isotope object from an already fetched isotope profile
+     * that resolves its names with the given reference data source
+     *
+     * @param dbEditor the reference data source to resolve names with
+     * @param name the name of the isotope
+     * @param profile the constants of the isotope from the database
+     * @param referenceDate the reference date of the isotope
+     */
+    Isotope(ReferenceDataSource dbEditor, String name, IsotopeProfile profile, LocalDate referenceDate) throws RuntimeException {
+        if(dbEditor == null) throw new InvalidParameterException("Reference data source cannot be null");
+        if(profile == null) throw new InvalidParameterException("Isotope profile cannot be null");
+        this.dbEditor = dbEditor;
 
-        // saving isotope reference date
-        _RefDate = new LocalDate(referenceDate.getYear(), referenceDate.getMonthValue(), referenceDate.getDayOfMonth());
+        // saving the values from the profile, the values that are entered later are the default value
+        core = new IsotopeData(-1, profile, defaultVal, defaultVal, defaultVal, defaultVal, null, null, null, null, referenceDate);
+        cacheNames(profile);
 
         // making other values the default value
-        _A0 = new SimpleFloatProperty(defaultVal);
-        _AToday = new SimpleFloatProperty(calculateAToday());
-        _Mass = new SimpleFloatProperty(defaultVal);
-        _MassUnit = new SimpleStringProperty();
-        _Nature = new SimpleStringProperty();
-        _State = new SimpleStringProperty();
-        _Form = new SimpleStringProperty();
-        _ConcentrationToday = new SimpleFloatProperty(defaultVal);
-        _DecaysPerMinute = new SimpleFloatProperty(defaultVal);
-        _ActivityConcentration = new SimpleFloatProperty(defaultVal);
-        _ActivityFraction = new SimpleFloatProperty(defaultVal);
-        _LimitedQuanMultiplier = new SimpleFloatProperty(defaultVal);
-        _ReportableQuanFraction = new SimpleFloatProperty(defaultVal);
-        _LimitPercentage = new SimpleFloatProperty(defaultVal);
-        _ConcentrationPercentage = new SimpleFloatProperty(defaultVal);
-        _LicensePercentage = new SimpleFloatProperty(defaultVal);
-        _ALimit = new SimpleFloatProperty(defaultVal);
-        _HRCQLimit = new SimpleFloatProperty(defaultVal);
-        _IALimitedMultiplier = new SimpleFloatProperty(defaultVal);
-        _LimitedLimit = new SimpleFloatProperty(defaultVal);
-        _IsFissile = new SimpleBooleanProperty(false);
-        _IsReportableQuan = new SimpleBooleanProperty(false);
-        _LungAbs = new SimpleStringProperty();
-        _ShortLong = new SimpleStringProperty();
-        _IsotopeClass = new SimpleIntegerProperty((int)defaultVal);
+        clearCalculatedValues();
     }
 
     /**
@@ -131,69 +109,60 @@ public class Isotope {
      * @param form the form (special, normal) of the isotope
      * @param referenceDate the reference date of the isotope
      */
-    public Isotope(String name, float mass, String massUnit, float A0, String nature, String state, String form, java.time.LocalDate referenceDate) throws RuntimeException {
-        try {
-            // getting the values from the database
-            _A1 = new SimpleFloatProperty(dbEditor.getA1(name));
-            _A2 = new SimpleFloatProperty(dbEditor.getA2(name));
-            _DecayConstant = new SimpleFloatProperty(dbEditor.getDecayConstant(name));
-            _ExemptConcentration = new SimpleFloatProperty(dbEditor.getExemptConcentration(name));
-            _ExemptLimit = new SimpleFloatProperty(dbEditor.getExemptLimit(name));
-            _HalfLife = new SimpleFloatProperty(dbEditor.getHalfLife(name));
-            _IALimitedMultiplier = new SimpleFloatProperty(dbEditor.getIALimitedMultiplier(state, form));
-            _LicenseLimit = new SimpleFloatProperty(dbEditor.getLicenseLimit(name));
-            _LimitedLimit = new SimpleFloatProperty(dbEditor.getLimitedLimit(state, form));
-            _ReportableQuan = new SimpleFloatProperty(dbEditor.getReportableQuantity(name));
-        } catch (InvalidParameterException e) {
-            logr.log(Level.SEVERE, "Failed to create isotope named " + name + ". Error: ", e);
-            throw new RuntimeException("Failed to create isotope named " + name);
-        }
-
-        // saving isotope name
-        _Name = new SimpleStringProperty(dbEditor.getAbbr(name));
-
-        // saving isotope database name
-        _DBName = new SimpleStringProperty(dbEditor.getAbbr(name));
-
-        // saving isotope reference date
-        _RefDate = new LocalDate(referenceDate.getYear(), referenceDate.getMonthValue(), referenceDate.getDayOfMonth());
-
-        // saving isotope mass
-        _Mass = new SimpleFloatProperty(mass);
-
-        // saving isotope mass unit
-        _MassUnit = new SimpleStringProperty(massUnit);
+    public Isotope(String name, float mass, String massUnit, float A0, String nature, String state, String form, LocalDate referenceDate) throws RuntimeException {
+        this(name, getProfile(name), mass, massUnit, A0, nature, state, form, referenceDate);
+    }
 
-        // saving isotope nature
-        _Nature = new SimpleStringProperty(nature);
-        
-        // saving isotope state
-        _State = new SimpleStringProperty(state);
+    /**
+     * Constructs an Isotope object from an already fetched isotope profile
+     *
+     * @param name the name of the isotope
+     * @param profile the constants of the isotope from the database
+     * @param mass the mass of the isotope
+     * @param A0 the initial activity (microCi) of the isotope
+     * @param nature the state (regular, instrument or article) of the isotope
+     * @param state the state (solid, liquid, gas) of the isotope
+     * @param form the form (special, normal) of the isotope
+     * @param referenceDate the reference date of the isotope
+     */
+    public Isotope(String name, IsotopeProfile profile, float mass, String massUnit, float A0, String nature, String state, String form, LocalDate referenceDate) throws RuntimeException {
+        this(Main.getReferenceDataSource(), name, profile, mass, massUnit, A0, nature, state, form, referenceDate);
+    }
 
-        // saving isotope form
-        _Form = new SimpleStringProperty(form);
+    /**
+     * Constructs an Isotope object from an already fetched isotope profile
+     * that looks up its values with the given reference data source
+     *
+     * @param dbEditor the reference data source to look up values with
+     * @param name the name of the isotope
+     * @param profile the constants of the isotope from the database
+     * @param mass the mass of the isotope
+     * @param A0 the initial activity (microCi) of the isotope
+     * @param nature the state (regular, instrument or article) of the isotope
+     * @param state the state (solid, liquid, gas) of the isotope
+     * @param form the form (special, normal) of the isotope
+     * @param referenceDate the reference date of the isotope
+     */
+    public Isotope(ReferenceDataSource dbEditor, String name, IsotopeProfile profile, float mass, String massUnit, float A0, String nature, String state, String form, LocalDate referenceDate) throws RuntimeException {
+        if(dbEditor == null) throw new InvalidParameterException("Reference data source cannot be null");
+        if(profile == null) throw new InvalidParameterException("Isotope profile cannot be null");
+        this.dbEditor = dbEditor;
 
         // making sure initial activity is valid
         if(A0 <= 0) throw new InvalidParameterException("Initial Activity of isotope cannot be less than or equal to 0");
 
-        _A0 = new SimpleFloatProperty(A0);
-        _AToday = new SimpleFloatProperty(calculateAToday());
-        _ConcentrationToday = new SimpleFloatProperty(defaultVal);
-        _DecaysPerMinute = new SimpleFloatProperty(defaultVal);
-        _ActivityConcentration = new SimpleFloatProperty(defaultVal);
-        _ActivityFraction = new SimpleFloatProperty(defaultVal);
-        _LimitedQuanMultiplier = new SimpleFloatProperty(defaultVal);
-        _ReportableQuanFraction = new SimpleFloatProperty(defaultVal);
-        _LimitPercentage = new SimpleFloatProperty(defaultVal);
-        _ConcentrationPercentage = new SimpleFloatProperty(defaultVal);
-        _LicensePercentage = new SimpleFloatProperty(defaultVal);
-        _ALimit = new SimpleFloatProperty(defaultVal);
-        _HRCQLimit = new SimpleFloatProperty(defaultVal);
-        _IsFissile = new SimpleBooleanProperty(false);
-        _IsReportableQuan = new SimpleBooleanProperty(false);
-        _LungAbs = new SimpleStringProperty();
-        _ShortLong = new SimpleStringProperty();
-        _IsotopeClass = new SimpleIntegerProperty((int)defaultVal);
+        try {
+            // getting the values that depend on the state and form from the database
+            core = new IsotopeData(-1, profile, dbEditor.getIALimitedMultiplier(state, form), dbEditor.getLimitedLimit(state, form),
+                    A0, mass, massUnit, nature, state, form, referenceDate);
+        } catch (InvalidParameterException e) {
+            logr.log(Level.SEVERE, "Failed to create isotope named " + name + ". Error: ", e);
+            throw new RuntimeException("Failed to create isotope named " + name);
+        }
+        cacheNames(profile);
+
+        // making other values the default value
+        clearCalculatedValues();
     }
 
     /**
@@ -226,14 +195,16 @@ public class Isotope {
 
         Isotope other = (Isotope) obj;
 
-        return other.get_Name().equals(this.get_Name()) &&
-                other.get_DBName().equals(this.get_DBName()) &&
+        // the mass unit, nature, state and form are null for isotopes made without them
+        return other.getIsotopeId() == this.getIsotopeId() &&
+                other.get_Name().equals(this.get_Name()) &&
+                Objects.equals(other.get_DBName(), this.get_DBName()) &&
                 other.get_A0() == this.get_A0() &&
                 other.getMassValue() == this.getMassValue() &&
-                other.get_MassUnit().equals(this.get_MassUnit()) &&
-                other.get_Nature().equals(this.get_Nature()) &&
-                other.get_State().equals(this.get_State()) &&
-                other.get_Form().equals(this.get_Form());
+                Objects.equals(other.get_MassUnit(), this.get_MassUnit()) &&
+                Objects.equals(other.get_Nature(), this.get_Nature()) &&
+                Objects.equals(other.get_State(), this.get_State()) &&
+                Objects.equals(other.get_Form(), this.get_Form());
     }
 
     /**
@@ -241,9 +212,13 @@ public class Isotope {
      * hashCode value is determined by turning the abbreviated device name into an integer
      * and adding the values of the halfLife, initial Activity, and Mass
      *
+     * The value is cached until one of the values it is computed from changes
+     *
      * @return the hasCode value for this object
      */
     @Override public int hashCode() {
+        if(hash != 0) return hash;
+
         final int prime = 31;
         int result = 1;
 
@@ -254,38 +229,129 @@ public class Isotope {
                 ((get_State() == null) ? 0 : get_State().hashCode()) +
                 ((get_Form() == null) ? 0 : get_Form().hashCode()) +
                 ((int)get_A0()) + ((int)getMassValue());
-        return result;    }
+        hash = result;
+        return result;
+    }
 
     /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
     /**
-     * Helper function to get this isotope's decay date
+     * Helper function to fetch every database constant of the given isotope with one lookup
      *
-     * @return the decay date of this isotope
+     * @param name the name of the isotope
+     * @return the profile of the isotope
      */
-    public LocalDate getDecayDate() {
-        float multiplier = DPM / 500;
+    private static IsotopeProfile getProfile(String name) throws RuntimeException {
+        try {
+            return Main.getReferenceDataSource().getIsotopeProfile(name);
+        } catch (InvalidParameterException e) {
+            logr.log(Level.SEVERE, "Failed to create isotope named " + name + ". Error: ", e);
+            throw new RuntimeException("Failed to create isotope named " + name);
+        }
+    }
+
+    /**
+     * Helper function to save the names of the isotope in the given profile so they never have to be looked up again
+     *
+     * @param profile the profile of the isotope
+     */
+    private void cacheNames(IsotopeProfile profile) {
+        int id = profile.isValid()? dbEditor.getResolver().resolve(profile.getAbbr()) : -1;
+
+        core = core.withName(id, profile.getAbbr(), profile.getName());
+        _DisplayName = profile.getName() + " (" + profile.getAbbr() + ")";
+        hash = 0;
+        if(_NameProperty != null) _NameProperty.set(_DisplayName);
+    }
 
-        return getLocalDateRefDate().plusDays((int) (Math.log(get_A0() * multiplier) / get_DecayConstant()));
+    /**
+     * Helper function to resolve the given name in memory and save the names of the isotope it belongs to
+     *
+     * @param name the full name, abbreviation or a variant of either
+     */
+    private void cacheNames(String name) {
+        IsotopeNameResolver resolver = dbEditor.getResolver();
+        int id = resolver.resolve(name);
+
+        core = core.withName(id, resolver.getAbbr(id), resolver.getFullName(id));
+        _DisplayName = core.getFullName() + " (" + core.getAbbr() + ")";
+        hash = 0;
+        if(_NameProperty != null) _NameProperty.set(_DisplayName);
+    }
+
+    /**
+     * Helper function to set every calculated value back to the default value
+     */
+    private void clearCalculatedValues() {
+        _ConcentrationToday = defaultVal;
+        _DecaysPerMinute = defaultVal;
+        _ActivityConcentration = defaultVal;
+        _ActivityFraction = defaultVal;
+        _ActivityOf = null;
+        _LimitedQuanMultiplier = defaultVal;
+        _ReportableQuanFraction = defaultVal;
+        _LimitPercentage = defaultVal;
+        _ConcentrationPercentage = defaultVal;
+        _LicensePercentage = defaultVal;
+        _ALimit = defaultVal;
+        _HRCQLimit = defaultVal;
+        _IsFissile = false;
+        _IsReportableQuan = false;
+        _LungAbs = null;
+        _ShortLong = null;
+        _IsotopeClass = (int)defaultVal;
     }
 
+    /**
+     * Helper function to replace the constants of the isotope keeping everything else
+     *
+     * @param A1 the A1 value of the isotope
+     * @param A2 the A2 value of the isotope
+     * @param decayConstant the decay constant of the isotope
+     * @param exemptConcentration the exempt concentration of the isotope
+     * @param exemptLimit the exempt limit of the isotope
+     * @param halfLife the half life of the isotope
+     * @param IALimitedMultiplier the Instruments/Articles Limited Multiplier value for the state and form
+     * @param licenseLimit the license limit of the isotope
+     * @param limitedLimit the Limited Limit value for the state and form
+     * @param reportableQuantity the reportable quantity of the isotope
+     */
+    private void setConstants(float A1, float A2, float decayConstant, float exemptConcentration, float exemptLimit, float halfLife,
+                              float IALimitedMultiplier, float licenseLimit, float limitedLimit, float reportableQuantity) {
+        core = core.withConstants(A1, A2, decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier,
+                licenseLimit, limitedLimit, reportableQuantity);
+    }
+
+    /**
+     * Helper function to get this isotope's decay date (the first day it is at or under 500 decays per minute)
+     *
+     * @return the decay date of this isotope or null if it never decays that far
+     */
+    public LocalDate getDecayDate() { return dateAfter(ShipmentCalculator.daysUntil(get_A0() * (double)DPM / 500, getDecayConstantValue())); }
+
     /**
      * Helper function to get this isotope's current Activity in microCuries
      *
      * @return the current activity of this isotope
      */
-    public float calculateAToday() throws IllegalStateException {
-        Interval interval;
-        // getting the interval between _RefDate and LocalDate.now()
-        // making sure that _RefDate is not after LocalDate.now()
-        // -1 = first date is before second date (second date is in the future)
-        // 0  = dates are the same
-        // 1  = first date is after second date (second date is in the past)
-        if(LocalDate.now().toDate().compareTo(getLocalDateRefDate().toDate()) >= 0)
-            interval =  new Interval(getLocalDateRefDate().toDate().getTime(), LocalDate.now().toDate().getTime());
-        else throw new IllegalStateException("reference date cannot be after today's date");
-        Period duration = interval.toPeriod();
+    public float calculateAToday() throws IllegalStateException { return calculateA(Decay.today()); }
+
+    /**
+     * Helper function to get this isotope's Activity in microCuries on a given day
+     * The decay factor is kept and reused until the day, reference date or decay constant changes
+     *
+     * @param epochDay the day (days since 1970-01-01) to get the activity for
+     * @return the activity of this isotope on the given day
+     */
+    public float calculateA(long epochDay) throws IllegalStateException {
+        long refEpochDay = core.getRefEpochDay();
+        if(epochDay < refEpochDay) throw new IllegalStateException("reference date cannot be after today's date");
+
+        double decayConstant = getDecayConstantValue();
+        Decay factor = decay;
+        if(factor == null || !factor.matches(decayConstant, refEpochDay, epochDay))
+            decay = factor = new Decay(decayConstant, refEpochDay, epochDay);
 
-        return get_A0() * (float)Math.exp(-getHalfLifeValue() * duration.getDays());
+        return (float)(get_A0() * factor.getFactor());
     }
 
     /**
@@ -297,21 +363,45 @@ public class Isotope {
 
     /**
      * Helper function to get the date this isotope will be exempt from licensing
+     * (the first day its activity is at or under the license limit)
      *
-     * @return the date this isotope will be exempt from licensing
+     * @return the date this isotope will be exempt from licensing or null if it never will be
      */
-    public LocalDate calculateDateForExemptLicensing() { return getLocalDateRefDate().plusDays((int) (Math.log(get_A0() * get_LicenseLimit()) / get_DecayConstant())); }
+    public LocalDate calculateDateForExemptLicensing() {
+        return dateAfter(ShipmentCalculator.daysUntil(ShipmentCalculator.fraction(get_A0(), get_LicenseLimit()), getDecayConstantValue()));
+    }
 
     /**
      * Helper function to get the date this isotope will be exempt from shipping
+     * (the first day it is at or under its exempt limit or its exempt concentration)
      *
-     * @return the date this isotope will be exempt from shipping
+     * @return the date this isotope will be exempt from shipping or null if it never will be
      */
     public LocalDate calculateDateForExemptShipping() {
-        // TODO: finish calculateDateForExemptShipping function
-        return null;
+        double bq = get_A0() * ShipmentCalculator.MICRO_CI_TO_BQ;
+        double concentration = (getMassValue() > 0)? bq / getMassValue() : Double.POSITIVE_INFINITY;
+
+        return dateAfter(ShipmentCalculator.earliest(
+                ShipmentCalculator.daysUntil(ShipmentCalculator.fraction(bq, get_ExemptLimit()), getDecayConstantValue()),
+                ShipmentCalculator.daysUntil(ShipmentCalculator.fraction(concentration, get_ExemptConcentration()), getDecayConstantValue())));
     }
 
+    /**
+     * Helper function to get the decay constant the calculations use
+     * (worked out from the half life when the reference data only has a placeholder)
+     *
+     * @return the decay constant of this isotope (1/days)
+     */
+    private double getDecayConstantValue() { return ShipmentCalculator.decayConstant(core.getDecayConstant(), core.getHalfLife()); }
+
+    /**
+     * Helper function to get the date a number of days after this isotope's reference date
+     *
+     * @param days the number of days or -1 for never
+     * @return the date or null for never
+     */
+    private LocalDate dateAfter(long days) { return (days < 0)? null : getLocalDateRefDate().plusDays(days); }
+
     /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
 
     /**
@@ -319,49 +409,63 @@ public class Isotope {
      *
      * @return the reference date of this isotope
      */
-    public String get_RefDate() { return _RefDate.toString(Main.getString("tableDatePattern")); }
+    public String get_RefDate() { return getLocalDateRefDate().format(DateTimeFormatter.ofPattern(Main.getString("tableDatePattern"))); }
 
     /**
      * Getter function to get this isotope's reference date
      *
      * @return the reference date of this isotope
      */
-    public LocalDate getLocalDateRefDate() { return _RefDate; }
+    public LocalDate getLocalDateRefDate() { return core.getRefDate(); }
 
     /**
      * Getter function to get both the abbreviated and full name of this isotope
      *
      * @return the abbreviated and full name of this isotope
      */
-    public String get_Name() { return get_FullName() + " (" + get_AbbrName() + ")"; }
+    public String get_Name() { return _DisplayName; }
 
     /**
      * Getter function to get this isotope's database search name
      *
      * @return the database search name of this isotope
      */
-    public String get_DBName() { return _DBName.get(); }
+    public String get_DBName() { return core.getDBName(); }
 
     /**
      * Getter function to get this isotope's abbreviated name
      *
      * @return the abbreviated name of this isotope
      */
-    public String get_AbbrName() { return dbEditor.getAbbr(_Name.get()); }
+    public String get_AbbrName() { return core.getAbbr(); }
 
     /**
      * Getter function to get this isotope's full name
      *
      * @return the full name of this isotope
      */
-    public String get_FullName() { return dbEditor.getFullName(_Name.get()); }
+    public String get_FullName() { return core.getFullName(); }
+
+    /**
+     * Getter function to get this isotope's canonical id in the reference data
+     *
+     * @return the id of this isotope or -1 if the isotope is unknown
+     */
+    public int getIsotopeId() { return core.getId(); }
+
+    /**
+     * Getter function to get the values of this isotope the calculations use without any JavaFX properties
+     *
+     * @return the immutable data of this isotope
+     */
+    public IsotopeData getData() { return core; }
 
     /**
      * Getter function to get this isotope's initial activity in microCi
      * 
      * @return the initial activity of this isotope in microCi
      */
-    public float get_A0() { return _A0.get(); }
+    public float get_A0() { return core.getA0(); }
 
     /**
      * Getter function to get today's activity in microCi
@@ -376,42 +480,42 @@ public class Isotope {
      *
      * @return the mass of this isotope in grams/liters
      */
-    public float getMassValue() { return _Mass.get(); }
+    public float getMassValue() { return core.getMass(); }
 
     /**
      * Getter function to get this isotope's mass in grams/liters
      *
      * @return the mass of this isotope in grams/liters
      */
-    public String get_Mass() { return _Mass.get() + " (" + get_MassUnit() + ")"; }
+    public String get_Mass() { return core.getMass() + " (" + get_MassUnit() + ")"; }
 
     /**
      * Getter function to get this isotope's mass unit
      *
      * @return the mass unit of this isotope either grams or liters
      */
-    public String get_MassUnit() { return _MassUnit.get(); }
+    public String get_MassUnit() { return core.getMassUnit(); }
 
     /**
      * Getter function to get this isotope's nature
      *
      * @return the nature of this isotope
      */
-    public String get_Nature() { return _Nature.get(); }
+    public String get_Nature() { return core.getNature(); }
 
     /**
      * Getter function to get this isotope's state
      *
      * @return the state of this isotope
      */
-    public String get_State() { return _State.get(); }
+    public String get_State() { return core.getState(); }
 
     /**
      * Getter function to get this isotope's form
      *
      * @return the form of this isotope
      */
-    public String get_Form() { return _Form.get(); }
+    public String get_Form() { return core.getForm(); }
     
     /**
      * Getter function to get this isotope's current concentration value (as of today)
@@ -419,14 +523,14 @@ public class Isotope {
      *
      * @return the current concentration as of today of this isotope in microCi/gram or microCi/liter
      */
-    public float get_ConcentrationToday() { return _ConcentrationToday.get(); }
+    public float get_ConcentrationToday() { return _ConcentrationToday; }
 
     /**
      * Getter function to get this isotope's decays per minute
      *
      * @return the decays per minute of this isotope
      */
-    public float get_DecaysPerMinute() { return _DecaysPerMinute.get(); }
+    public float get_DecaysPerMinute() { return _DecaysPerMinute; }
 
     /**
      * Getter function to get this isotope's activity concentration in (Bq)
@@ -434,15 +538,23 @@ public class Isotope {
      *
      * @return the activity concentration of this isotope
      */
-    public float get_ActivityConcentration() { return _ActivityConcentration.get(); }
+    public float get_ActivityConcentration() { return _ActivityConcentration; }
 
     /**
      * Getter function to get this isotope's initial activity fraction in Bq
      * Activity Fraction = Activity fraction of isotope / sum of entire package activity
      *
+     * The fraction of a calculated isotope is worked out when it is asked for so it follows the package total
+     *
      * @return the activity fraction of this isotope
      */
-    public float get_ActivityFraction() { return _ActivityFraction.get(); }
+    public float get_ActivityFraction() {
+        ShipmentCalculator shipment = _ActivityOf;
+        if(shipment == null) return _ActivityFraction;
+
+        double total = shipment.getTotalActivity();
+        return (total > 0)? (float)(_Activity / total) : 0;
+    }
 
     /**
      * Getter function to get this isotope's limited quantity multiplier
@@ -450,7 +562,7 @@ public class Isotope {
      *
      * @return the limited quantity multiplier of this isotope
      */
-    public float get_LimitedQuanMultiplier() { return _LimitedQuanMultiplier.get(); }
+    public float get_LimitedQuanMultiplier() { return _LimitedQuanMultiplier; }
 
     /**
      * Getter function to get this isotope's reportable quantity fraction
@@ -458,7 +570,7 @@ public class Isotope {
      *
      * @return the reportable quantity fraction of this isotope
      */
-    public float get_ReportableQuanFraction() { return _ReportableQuanFraction.get(); }
+    public float get_ReportableQuanFraction() { return _ReportableQuanFraction; }
 
     /**
      * Getter function to get this isotope's activity percentage of the limit
@@ -466,7 +578,7 @@ public class Isotope {
      *
      * @return the activity percentage of this isotope
      */
-    public float get_LimitPercentage() { return _LimitPercentage.get(); }
+    public float get_LimitPercentage() { return _LimitPercentage; }
 
     /**
      * Getter function to get this isotope's activity concentration of the limit
@@ -474,7 +586,7 @@ public class Isotope {
      *
      * @return the activity concentration percentage of this isotope
      */
-    public float get_ConcentrationPercentage() { return _ConcentrationPercentage.get(); }
+    public float get_ConcentrationPercentage() { return _ConcentrationPercentage; }
 
     /**
      * Getter function to get this isotope's percentage of licensing limit
@@ -482,7 +594,7 @@ public class Isotope {
      *
      * @return the percentage of licensing limit of this isotope
      */
-    public float get_LicensePercentage() { return _LicensePercentage.get(); }
+    public float get_LicensePercentage() { return _LicensePercentage; }
 
     /**
      * Getter function to get this isotope's A1 or A2 value (TBq)
@@ -491,7 +603,7 @@ public class Isotope {
      *
      * @return the A1 or A2 value (TBq) of this isotope
      */
-    public float get_ALimit() { return _ALimit.get(); }
+    public float get_ALimit() { return _ALimit; }
 
     /**
      * Getter function to get this isotope's Highway Route Control Quantity Limit
@@ -502,35 +614,35 @@ public class Isotope {
      *
      * @return the Highways Route Control Quantity Limit of this isotope
      */
-    public float get_HRCQLimit() { return _HRCQLimit.get(); }
+    public float get_HRCQLimit() { return _HRCQLimit; }
 
     /**
      * Getter function to get whether this isotope is fissile or not
      *
      * @return true if isotope is fissile, else false
      */
-    public boolean get_IsFissile() { return _IsFissile.get(); }
+    public boolean get_IsFissile() { return _IsFissile; }
 
     /**
      * Getter function to get whether this isotope is a reportable quantity or not
      *
      * @return true if isotope is a reportable quantity, else false
      */
-    public boolean get_IsReportableQuan() { return _IsReportableQuan.get(); }
+    public boolean get_IsReportableQuan() { return _IsReportableQuan; }
 
     /**
      * Getter function to get if this is the isotope with the longer half life or the shorter one
      *
      * @return if this is the isotope with the longer half life or the shorter one
      */
-    public String get_ShortLong() { return _ShortLong.get(); }
+    public String get_ShortLong() { return _ShortLong; }
 
     /**
      * Getter function to get this isotope's lung absorption rate (slow/medium/fast)
      *
      * @return this isotope's lung absorption rate
      */
-    public String get_LungAbs() { return _LungAbs.get(); }
+    public String get_LungAbs() { return _LungAbs; }
 
     /**
      * Getter function to get this isotope's classification as an integer
@@ -542,85 +654,147 @@ public class Isotope {
      *
      * @return the classification of this isotope as an integer
      */
-    public int get_IsotopeClass() { return _IsotopeClass.get(); }
+    public int get_IsotopeClass() { return _IsotopeClass; }
 
     /**
      * Getter function to get this isotope's A1 value (from Info table in database)
      *
      * @return the A1 value of this isotope (from Info table in database)
      */
-    public float get_A1() { return _A1.get(); }
+    public float get_A1() { return core.getA1(); }
 
     /**
      * Getter function to get this isotope's A2 value (from Info table in database)
      *
      * @return the A2 value of this isotope (from Info table in database)
      */
-    public float get_A2() { return _A2.get(); }
+    public float get_A2() { return core.getA2(); }
 
     /**
      * Getter function to get this isotope's decay constant (from Info table in database)
      *
      * @return the decay constant of this isotope (from Info table in database)
      */
-    public float get_DecayConstant() { return _DecayConstant.get(); }
+    public float get_DecayConstant() { return core.getDecayConstant(); }
 
     /**
      * Getter function to get this isotope's exempt concentration (from Info table in database)
      *
      * @return the exempt concentration of this isotope (from Info table in database)
      */
-    public float get_ExemptConcentration() { return _ExemptConcentration.get(); }
+    public float get_ExemptConcentration() { return core.getExemptConcentration(); }
 
     /**
      * Getter function to get this isotope's exempt limit (from Info table in database)
      *
      * @return the exempt limit of this isotope (from Info table in database)
      */
-    public float get_ExemptLimit() { return _ExemptLimit.get(); }
+    public float get_ExemptLimit() { return core.getExemptLimit(); }
 
     /**
      * Getter function to get this isotope's halflife (from Info table in database)
      *
      * @return the halflife of this isotope (from Info table in database)
      */
-    public String get_HalfLife() { return _HalfLife.get() + " days"; }
+    public String get_HalfLife() { return core.getHalfLife() + " days"; }
 
     /**
      * Getter function to get this isotope's halflife (from Info table in database)
      *
      * @return the halflife of this isotope (from Info table in database)
      */
-    public float getHalfLifeValue() { return _HalfLife.get(); }
+    public float getHalfLifeValue() { return core.getHalfLife(); }
 
     /**
      * Getter function to get this isotope's instruments/articles limited limit (from Info table in database)
      *
      * @return the instruments/articles limited limit of this isotope (from Info table in database)
      */
-    public float get_IALimitedMultiplier() { return _IALimitedMultiplier.get(); }
+    public float get_IALimitedMultiplier() { return core.getIALimitedMultiplier(); }
 
     /**
      * Getter function to get this isotope's license limit (from Info table in database)
      *
      * @return the license limit of this isotope (from Info table in database)
      */
-    public float get_LicenseLimit() { return _LicenseLimit.get(); }
+    public float get_LicenseLimit() { return core.getLicenseLimit(); }
 
     /**
      * Getter function to get this isotope's limited limit (from Info table in database)
      *
      * @return the limited limit of this isotope (from Info table in database)
      */
-    public float get_LimitedLimit() { return _LimitedLimit.get(); }
+    public float get_LimitedLimit() { return core.getLimitedLimit(); }
 
     /**
      * Getter function to get this isotope's reportable quantity limit (from Info table in database)
      *
      * @return the reportable quantity limit of this isotope (from Info table in database)
      */
-    public float get_ReportableQuan() { return _ReportableQuan.get(); }
+    public float get_ReportableQuan() { return core.getReportableQuantity(); }
     
+    /*////////////////////////////////////////////////// PROPERTIES //////////////////////////////////////////////////*/
+
+    /**
+     * Property function the name column of the table binds to
+     * Only created the first time a column asks for it so isotopes that are never shown carry no property
+     *
+     * @return both the abbreviated and full name of this isotope as a read only property
+     */
+    public ReadOnlyStringProperty _NameProperty() {
+        if(_NameProperty == null) _NameProperty = new ReadOnlyStringWrapper(this, "_Name", get_Name());
+        return _NameProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Property function the half life column of the table binds to
+     *
+     * @return the halflife of this isotope as a read only property
+     */
+    public ReadOnlyStringProperty _HalfLifeProperty() {
+        if(_HalfLifeProperty == null) _HalfLifeProperty = new ReadOnlyStringWrapper(this, "_HalfLife", get_HalfLife());
+        return _HalfLifeProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Property function the today's activity column of the table binds to
+     * The text is only worked out again when the day changes or the isotope's values were changed
+     * (every setter replaces core, so a different core means a different activity)
+     *
+     * @return today's activity of this isotope as a read only property
+     */
+    public ReadOnlyStringProperty _ATodayProperty() {
+        if(_ATodayProperty == null) _ATodayProperty = new ReadOnlyStringWrapper(this, "_AToday");
+
+        long today = Decay.today();
+        if(_ATodayCore != core || _ATodayEpochDay != today) {
+            _ATodayProperty.set(get_AToday());
+            _ATodayCore = core;
+            _ATodayEpochDay = today;
+        }
+        return _ATodayProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Property function the reference date column of the table binds to
+     *
+     * @return the reference date of this isotope as a read only property
+     */
+    public ReadOnlyStringProperty _RefDateProperty() {
+        if(_RefDateProperty == null) _RefDateProperty = new ReadOnlyStringWrapper(this, "_RefDate", get_RefDate());
+        return _RefDateProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Property function the mass column of the table binds to
+     *
+     * @return the mass and mass unit of this isotope as a read only property
+     */
+    public ReadOnlyStringProperty _MassProperty() {
+        if(_MassProperty == null) _MassProperty = new ReadOnlyStringWrapper(this, "_Mass", get_Mass());
+        return _MassProperty.getReadOnlyProperty();
+    }
+
     /*/////////////////////////////////////////////////// SETTERS ////////////////////////////////////////////////////*/
 
     /**
@@ -628,35 +802,50 @@ public class Isotope {
      *
      * @param name the new name of this isotope
      */
-    public void set_Name(String name) { _Name.set(name); }
+    public void set_Name(String name) {
+        cacheNames(name);
+    }
 
     /**
      * Setter function to set this isotope's name
      *
      * @param dbName the new name of the isotope
      */
-    public void set_DBName(String dbName) { _DBName.set(dbName); }
+    public void set_DBName(String dbName) {
+        core = core.withDBName(dbName);
+        hash = 0;
+    }
 
     /**
      * Setter function to set this isotope's reference date
      *
      * @param date the new reference date of this isotope
      */
-    public void set_RefDate(java.time.LocalDate date) { _RefDate = new LocalDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth()); }
+    public void set_RefDate(LocalDate date) {
+        core = core.withRefDate(date);
+        if(_RefDateProperty != null) _RefDateProperty.set(get_RefDate());
+    }
 
     /**
      * Setter function to set this isotope's initial activity in microCi
      *
      * @param A0 the new initial activity of this isotope in microCi
      */
-    public void set_A0(float A0) { _A0.set(A0); }
+    public void set_A0(float A0) {
+        core = core.withA0(A0);
+        hash = 0;
+    }
 
     /**
      * Setter function to set this isotope's mass unit
      *
      * @param massUnit the new mass unit (grams/liters) of this isotope
      */
-    public void set_MassUnit(String massUnit) { _MassUnit.set(massUnit); }
+    public void set_MassUnit(String massUnit) {
+        core = core.withMassUnit(massUnit);
+        hash = 0;
+        if(_MassProperty != null) _MassProperty.set(get_Mass());
+    }
 
     /**
      * Setter function to set this isotope's current concentration value (as of today)
@@ -664,14 +853,14 @@ public class Isotope {
      *
      * @param CToday the NEW current concentration as of today of this isotope in microCi/gram or microCi/liter
      */
-    public void set_ConcentrationToday(float CToday) { _ConcentrationToday.set(CToday); }
+    public void set_ConcentrationToday(float CToday) { _ConcentrationToday = CToday; }
 
     /**
      * Setter function to set this isotope's decays per minute
      *
      * @param dpm the new decays per minute of this isotope
      */
-    public void set_DecaysPerMinute(float dpm) { _DecaysPerMinute.set(dpm); }
+    public void set_DecaysPerMinute(float dpm) { _DecaysPerMinute = dpm; }
 
     /**
      * Setter function to set this isotope's activity concentration in (Bq)
@@ -679,7 +868,7 @@ public class Isotope {
      *
      * @param ACon the new activity concentration of this isotope
      */
-    public void set_ActivityConcentration(float ACon) { _ActivityConcentration.set(ACon); }
+    public void set_ActivityConcentration(float ACon) { _ActivityConcentration = ACon; }
 
     /**
      * Setter function to set this isotope's initial activity fraction in Bq
@@ -687,7 +876,22 @@ public class Isotope {
      *
      * @param Afrac the new activity fraction of this isotope
      */
-    public void set_ActivityFraction(float Afrac ) { _ActivityFraction.set(Afrac); }
+    public void set_ActivityFraction(float Afrac ) {
+        _ActivityFraction = Afrac;
+        _ActivityOf = null;
+    }
+
+    /**
+     * Setter function to set this isotope's activity on the calculated day
+     * The activity fraction is then this activity / the total activity of the given calculator
+     *
+     * @param activity the activity of this isotope in TBq
+     * @param shipment the calculator that has the total activity of the package
+     */
+    void set_Activity(double activity, ShipmentCalculator shipment) {
+        _Activity = activity;
+        _ActivityOf = shipment;
+    }
 
     /**
      * Setter function to set this isotope's limited quantity multiplier
@@ -695,7 +899,7 @@ public class Isotope {
      *
      * @param LimMult the new limited quantity multiplier of this isotope
      */
-    public void set_LimitedQuanMultiplier(float LimMult) { _LimitedQuanMultiplier.set(LimMult); }
+    public void set_LimitedQuanMultiplier(float LimMult) { _LimitedQuanMultiplier = LimMult; }
 
     /**
      * Setter function to set this isotope's reportable quantity fraction
@@ -703,7 +907,7 @@ public class Isotope {
      *
      * @param RQFrac the new reportable quantity fraction of this isotope
      */
-    public void set_ReportableQuanFraction(float RQFrac) { _ReportableQuanFraction.set(RQFrac); }
+    public void set_ReportableQuanFraction(float RQFrac) { _ReportableQuanFraction = RQFrac; }
 
     /**
      * Setter function to set this isotope's activity percentage of the limit
@@ -711,7 +915,7 @@ public class Isotope {
      *
      * @param LimPer the new activity percentage of this isotope
      */
-    public void set_LimitPercentage(float LimPer) { _LimitPercentage.set(LimPer); }
+    public void set_LimitPercentage(float LimPer) { _LimitPercentage = LimPer; }
 
     /**
      * Setter function to set this isotope's activity concentration of the limit
@@ -719,7 +923,7 @@ public class Isotope {
      *
      * @param ConPer the new activity concentration percentage of this isotope
      */
-    public void set_ConcentrationPercentage(float ConPer) { _ConcentrationPercentage.set(ConPer); }
+    public void set_ConcentrationPercentage(float ConPer) { _ConcentrationPercentage = ConPer; }
 
     /**
      * Setter function to set this isotope's percentage of licensing limit
@@ -727,7 +931,7 @@ public class Isotope {
      *
      * @param LicPer the new percentage of licensing limit of this isotope
      */
-    public void set_LicensePercentage(float LicPer) { _LicensePercentage.set(LicPer); }
+    public void set_LicensePercentage(float LicPer) { _LicensePercentage = LicPer; }
 
     /**
      * Setter function to set this isotope's A1 or A2 value (TBq)
@@ -736,7 +940,7 @@ public class Isotope {
      *
      * @param ALim the new A1 or A2 value (TBq) of this isotope
      */
-    public void set_ALimit(float ALim) { _ALimit.set(ALim); }
+    public void set_ALimit(float ALim) { _ALimit = ALim; }
 
     /**
      * Setter function to set this isotope's Highway Route Control Quantity Limit
@@ -747,35 +951,35 @@ public class Isotope {
      *
      * @param HRCQLim the new Highways Route Control Quantity Limit of this isotope
      */
-    public void set_HRCQLimit(float HRCQLim) { _HRCQLimit.set(HRCQLim); }
+    public void set_HRCQLimit(float HRCQLim) { _HRCQLimit = HRCQLim; }
 
     /**
      * Setter function to set whether this isotope is fissile or not
      *
      * @param isFissile whether this isotope is fissile or not
      */
-    public void set_IsFissile(boolean isFissile) { _IsFissile.set(isFissile); }
+    public void set_IsFissile(boolean isFissile) { _IsFissile = isFissile; }
 
     /**
      * Setter function to set whether this isotope is a reportable quantity or not
      *
      * @param isRQ whether this isotope is a reportable quantity or not
      */
-    public void set_IsReportableQuan(boolean isRQ) { _IsReportableQuan.set(isRQ); }
+    public void set_IsReportableQuan(boolean isRQ) { _IsReportableQuan = isRQ; }
 
     /**
      * Setter function to set if this is the isotope with the longer half life or the shorter one
      *
      * @param shortLong if this is the isotope with the longer half life or the shorter one
      */
-    public void set_ShortLong(String shortLong) { _ShortLong.set(shortLong); }
+    public void set_ShortLong(String shortLong) { _ShortLong = shortLong; }
 
     /**
      * Setter function to set this isotope's lung absorption rate (slow/medium/fast)
      *
      * @param lungAbs the new lung absorption rate for this isotope (slow/medium/fast)
      */
-    public void set_LungAbs(String lungAbs) { _LungAbs.set(lungAbs); }
+    public void set_LungAbs(String lungAbs) { _LungAbs = lungAbs; }
 
     /**
      * Setter function to set this isotope's classification as an integer
@@ -787,75 +991,106 @@ public class Isotope {
      *
      * @param isoClass the new classification of this isotope as an integer
      */
-    public void set_IsotopeClass(int isoClass) { _IsotopeClass.set(isoClass); }
+    public void set_IsotopeClass(int isoClass) { _IsotopeClass = isoClass; }
 
     /**
      * Setter function to set this isotope's A1 value (from Info table in database)
      *
      * @param A1 the new A1 value of this isotope (from Info table in database)
      */
-    public void set_A1(float A1) { _A1.set(A1); }
+    public void set_A1(float A1) {
+        setConstants(A1, get_A2(), get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's A2 value (from Info table in database)
      *
      * @param A2 the new A2 value of this isotope (from Info table in database)
      */
-    public void set_A2(float A2) { _A2.set(A2); }
+    public void set_A2(float A2) {
+        setConstants(get_A1(), A2, get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's decay constant (from Info table in database)
      *
      * @param decayCon he new decay constant of this isotope (from Info table in database)
      */
-    public void set_DecayConstant(float decayCon) { _DecayConstant.set(decayCon); }
+    public void set_DecayConstant(float decayCon) {
+        setConstants(get_A1(), get_A2(), decayCon, get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's exempt concentration (from Info table in database)
      *
      * @param ExemptCon the new exempt concentration of this isotope (from Info table in database)
      */
-    public void set_ExemptConcentration(float ExemptCon) { _ExemptConcentration.set(ExemptCon); }
+    public void set_ExemptConcentration(float ExemptCon) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), ExemptCon, get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's exempt limit (from Info table in database)
      *
      * @param ExemptLim the new exempt limit of this isotope (from Info table in database)
      */
-    public void set_ExemptLimit(float ExemptLim) { _ExemptLimit.set(ExemptLim); }
+    public void set_ExemptLimit(float ExemptLim) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), get_ExemptConcentration(), ExemptLim,
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's halflife (from Info table in database)
      *
      * @param halfLife the new halflife of this isotope (from Info table in database)
      */
-    public void set_HalfLife(float halfLife) { _HalfLife.set(halfLife); }
+    public void set_HalfLife(float halfLife) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                halfLife, get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+        if(_HalfLifeProperty != null) _HalfLifeProperty.set(get_HalfLife());
+    }
 
     /**
      * Setter function to set this isotope's instruments/articles limited limit (from Info table in database)
      *
      * @param IAMult the new instruments/articles limited limit of this isotope (from Info table in database)
      */
-    public void set_IALimitedMultiplier(float IAMult) { _IALimitedMultiplier.set(IAMult); }
+    public void set_IALimitedMultiplier(float IAMult) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), IAMult, get_LicenseLimit(), get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's license limit (from Info table in database)
      *
      * @param LicLim the new license limit of this isotope (from Info table in database)
      */
-    public void set_LicenseLimit(float LicLim) { _LicenseLimit.set(LicLim); }
+    public void set_LicenseLimit(float LicLim) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), LicLim, get_LimitedLimit(), get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's limited limit (from Info table in database)
      *
      * @param LimLim the new limited limit of this isotope (from Info table in database)
      */
-    public void set_LimitedLimit(float LimLim) { _LimitedLimit.set(LimLim); }
+    public void set_LimitedLimit(float LimLim) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), LimLim, get_ReportableQuan());
+    }
 
     /**
      * Setter function to set this isotope's reportable quantity limit (from Info table in database)
      *
      * @param RQ the new reportable quantity limit of this isotope (from Info table in database)
      */
-    public void set_ReportableQuan(float RQ) { _ReportableQuan.set(RQ); }
+    public void set_ReportableQuan(float RQ) {
+        setConstants(get_A1(), get_A2(), get_DecayConstant(), get_ExemptConcentration(), get_ExemptLimit(),
+                getHalfLifeValue(), get_IALimitedMultiplier(), get_LicenseLimit(), get_LimitedLimit(), RQ);
+    }
 }
@@ -0,0 +1,358 @@
+package rad.shipment.calculator.helpers;
+
+import org.jetbrains.annotations.Contract;
+
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+
+/**
+ * Immutable holder for everything the calculations need to know about one isotope of a shipment
+ * (its identity, what the user entered and its constants from the reference data)
+ * It has no JavaFX properties so thousands of them can be created for calculations without a user interface,
+ * Isotope wraps one of these for the table
+ */
+public final class IsotopeData {
+
+    // Declaring variables
+    private final int id;                       // canonical id of the isotope in the reference data (-1 if unknown)
+    private final String abbr;                  // abbreviated name of the isotope
+    private final String fullName;              // full name of the isotope
+    private final String dbName;                // database search name of the isotope (including short/long or lung absorption)
+    private final long refEpochDay;             // reference date of the isotope as days since 1970-01-01
+    private final float A0;                     // Initial Activity (microCi) of isotope
+    private final float mass;                   // the mass of the isotope (grams for solids or liters for liquids)
+    private final String massUnit;              // the mass unit for the isotope (grams or liters)
+    private final String nature;                // the nature of the isotope (regular,  instrument, article)
+    private final String state;                 // the state of the isotope (solid, liquid, gas)
+    private final String form;                  // the form of the isotope (normal, special, tritium)
+    private final float A1;                     // A1 (TBq) of isotope
+    private final float A2;                     // A2 (TBq) of isotope
+    private final float decayConstant;          // Decay Constant (1 / halflife(days)) of isotope
+    private final float exemptConcentration;    // Exempt Concentration (Bq/gram) of isotope
+    private final float exemptLimit;            // Exempt Limit (Bq) of isotope
+    private final float halfLife;               // Halflife (days) of isotope
+    private final float IALimitedMultiplier;    // Instruments/Articles multiplier (see 173.425_Table 4) for the state and form
+    private final float licenseLimit;           // Licensing Limit (microCi) of isotope
+    private final float limitedLimit;           // limited Limit (TBq) for the state and form
+    private final float reportableQuantity;     // Reportable Quantity (TBq) of isotope
+
+    /*///////////////////////////////////////////////// ISOTOPE DATA /////////////////////////////////////////////////*/
+
+    /**
+     * Constructs an IsotopeData object for the isotope in the given profile
+     *
+     * @param id the canonical id of the isotope (-1 if unknown)
+     * @param profile the constants of the isotope from the reference data
+     * @param IALimitedMultiplier the Instruments/Articles Limited Multiplier value for the state and form
+     * @param limitedLimit the Limited Limit value for the state and form
+     * @param A0 the initial activity (microCi) of the isotope
+     * @param mass the mass of the isotope
+     * @param massUnit the mass unit of the isotope (grams or liters)
+     * @param nature the nature (regular, instrument or article) of the isotope
+     * @param state the state (solid, liquid, gas) of the isotope
+     * @param form the form (special, normal) of the isotope
+     * @param referenceDate the reference date of the isotope
+     */
+    public IsotopeData(int id, IsotopeProfile profile, float IALimitedMultiplier, float limitedLimit, float A0, float mass,
+                       String massUnit, String nature, String state, String form, LocalDate referenceDate) throws InvalidParameterException {
+        this(id, profile.getAbbr(), profile.getName(), profile.getAbbr(), toEpochDay(referenceDate), A0, mass, massUnit, nature,
+                state, form, profile.getA1(), profile.getA2(), profile.getDecayConstant(), profile.getExemptConcentration(),
+                profile.getExemptLimit(), profile.getHalfLife(), IALimitedMultiplier, profile.getLicenseLimit(), limitedLimit,
+                profile.getReportableQuantity());
+    }
+
+    /**
+     * Constructs an IsotopeData object with every value given
+     */
+    private IsotopeData(int id, String abbr, String fullName, String dbName, long refEpochDay, float A0, float mass,
+                        String massUnit, String nature, String state, String form, float A1, float A2, float decayConstant,
+                        float exemptConcentration, float exemptLimit, float halfLife, float IALimitedMultiplier,
+                        float licenseLimit, float limitedLimit, float reportableQuantity) {
+        this.id = id;
+        this.abbr = abbr;
+        this.fullName = fullName;
+        this.dbName = dbName;
+        this.refEpochDay = refEpochDay;
+        this.A0 = A0;
+        this.mass = mass;
+        this.massUnit = massUnit;
+        this.nature = nature;
+        this.state = state;
+        this.form = form;
+        this.A1 = A1;
+        this.A2 = A2;
+        this.decayConstant = decayConstant;
+        this.exemptConcentration = exemptConcentration;
+        this.exemptLimit = exemptLimit;
+        this.halfLife = halfLife;
+        this.IALimitedMultiplier = IALimitedMultiplier;
+        this.licenseLimit = licenseLimit;
+        this.limitedLimit = limitedLimit;
+        this.reportableQuantity = reportableQuantity;
+    }
+
+    /**
+     * Overridden Objects toString function
+     *
+     * @return the string representation of the isotope data
+     */
+    @Override public String toString() {
+        return "IsotopeData: {Name: " + fullName + " (" + abbr + "), A0: " + A0 + ", Mass: " + mass + " (" + massUnit +
+                "), Reference Date: " + getRefDate() + "}";
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to turn a reference date into days since 1970-01-01
+     *
+     * @param referenceDate the reference date
+     * @return the number of days since 1970-01-01
+     */
+    private static long toEpochDay(LocalDate referenceDate) throws InvalidParameterException {
+        if(referenceDate == null) throw new InvalidParameterException("Reference date cannot be null");
+        return referenceDate.toEpochDay();
+    }
+
+    /**
+     * Helper function to get a copy of this data with a different identity
+     *
+     * @param id the canonical id of the isotope (-1 if unknown)
+     * @param abbr the abbreviated name of the isotope
+     * @param fullName the full name of the isotope
+     * @return the changed copy
+     */
+    @Contract("_, _, _ -> new") public IsotopeData withName(int id, String abbr, String fullName) {
+        return new IsotopeData(id, abbr, fullName, dbName, refEpochDay, A0, mass, massUnit, nature, state, form, A1, A2,
+                decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier, licenseLimit, limitedLimit,
+                reportableQuantity);
+    }
+
+    /**
+     * Helper function to get a copy of this data with a different database search name
+     *
+     * @param dbName the database search name of the isotope
+     * @return the changed copy
+     */
+    @Contract("_ -> new") public IsotopeData withDBName(String dbName) {
+        return new IsotopeData(id, abbr, fullName, dbName, refEpochDay, A0, mass, massUnit, nature, state, form, A1, A2,
+                decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier, licenseLimit, limitedLimit,
+                reportableQuantity);
+    }
+
+    /**
+     * Helper function to get a copy of this data with a different reference date
+     *
+     * @param referenceDate the reference date of the isotope
+     * @return the changed copy
+     */
+    @Contract("_ -> new") public IsotopeData withRefDate(LocalDate referenceDate) {
+        return new IsotopeData(id, abbr, fullName, dbName, toEpochDay(referenceDate), A0, mass, massUnit, nature, state,
+                form, A1, A2, decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier, licenseLimit,
+                limitedLimit, reportableQuantity);
+    }
+
+    /**
+     * Helper function to get a copy of this data with a different initial activity
+     *
+     * @param A0 the initial activity (microCi) of the isotope
+     * @return the changed copy
+     */
+    @Contract("_ -> new") public IsotopeData withA0(float A0) {
+        return new IsotopeData(id, abbr, fullName, dbName, refEpochDay, A0, mass, massUnit, nature, state, form, A1, A2,
+                decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier, licenseLimit, limitedLimit,
+                reportableQuantity);
+    }
+
+    /**
+     * Helper function to get a copy of this data with a different mass unit
+     *
+     * @param massUnit the mass unit of the isotope (grams or liters)
+     * @return the changed copy
+     */
+    @Contract("_ -> new") public IsotopeData withMassUnit(String massUnit) {
+        return new IsotopeData(id, abbr, fullName, dbName, refEpochDay, A0, mass, massUnit, nature, state, form, A1, A2,
+                decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier, licenseLimit, limitedLimit,
+                reportableQuantity);
+    }
+
+    /**
+     * Helper function to get a copy of this data with different constants
+     *
+     * @param A1 the A1 value of the isotope
+     * @param A2 the A2 value of the isotope
+     * @param decayConstant the decay constant of the isotope
+     * @param exemptConcentration the exempt concentration of the isotope
+     * @param exemptLimit the exempt limit of the isotope
+     * @param halfLife the half life of the isotope
+     * @param IALimitedMultiplier the Instruments/Articles Limited Multiplier value for the state and form
+     * @param licenseLimit the license limit of the isotope
+     * @param limitedLimit the Limited Limit value for the state and form
+     * @param reportableQuantity the reportable quantity of the isotope
+     * @return the changed copy
+     */
+    @Contract("_, _, _, _, _, _, _, _, _, _ -> new")
+    public IsotopeData withConstants(float A1, float A2, float decayConstant, float exemptConcentration, float exemptLimit,
+                                     float halfLife, float IALimitedMultiplier, float licenseLimit, float limitedLimit,
+                                     float reportableQuantity) {
+        return new IsotopeData(id, abbr, fullName, dbName, refEpochDay, A0, mass, massUnit, nature, state, form, A1, A2,
+                decayConstant, exemptConcentration, exemptLimit, halfLife, IALimitedMultiplier, licenseLimit, limitedLimit,
+                reportableQuantity);
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the canonical id of the isotope in the reference data
+     *
+     * @return the id of the isotope or -1 if the isotope is unknown
+     */
+    public int getId() { return id; }
+
+    /**
+     * Getter function to get the abbreviated name of the isotope
+     *
+     * @return the abbreviated name of the isotope
+     */
+    public String getAbbr() { return abbr; }
+
+    /**
+     * Getter function to get the full name of the isotope
+     *
+     * @return the full name of the isotope
+     */
+    public String getFullName() { return fullName; }
+
+    /**
+     * Getter function to get the database search name of the isotope
+     *
+     * @return the database search name of the isotope
+     */
+    public String getDBName() { return dbName; }
+
+    /**
+     * Getter function to get the reference date of the isotope
+     *
+     * @return the reference date of the isotope
+     */
+    public LocalDate getRefDate() { return LocalDate.ofEpochDay(refEpochDay); }
+
+    /**
+     * Getter function to get the reference date of the isotope as days since 1970-01-01
+     *
+     * @return the number of days between 1970-01-01 and the reference date
+     */
+    public long getRefEpochDay() { return refEpochDay; }
+
+    /**
+     * Getter function to get the initial activity of the isotope in microCi
+     *
+     * @return the initial activity of the isotope
+     */
+    public float getA0() { return A0; }
+
+    /**
+     * Getter function to get the mass of the isotope in grams/liters
+     *
+     * @return the mass of the isotope
+     */
+    public float getMass() { return mass; }
+
+    /**
+     * Getter function to get the mass unit of the isotope
+     *
+     * @return the mass unit of the isotope either grams or liters
+     */
+    public String getMassUnit() { return massUnit; }
+
+    /**
+     * Getter function to get the nature of the isotope
+     *
+     * @return the nature of the isotope
+     */
+    public String getNature() { return nature; }
+
+    /**
+     * Getter function to get the state of the isotope
+     *
+     * @return the state of the isotope
+     */
+    public String getState() { return state; }
+
+    /**
+     * Getter function to get the form of the isotope
+     *
+     * @return the form of the isotope
+     */
+    public String getForm() { return form; }
+
+    /**
+     * Getter function to get the A1 value of the isotope
+     *
+     * @return the A1 value of the isotope
+     */
+    public float getA1() { return A1; }
+
+    /**
+     * Getter function to get the A2 value of the isotope
+     *
+     * @return the A2 value of the isotope
+     */
+    public float getA2() { return A2; }
+
+    /**
+     * Getter function to get the decay constant of the isotope
+     *
+     * @return the decay constant of the isotope
+     */
+    public float getDecayConstant() { return decayConstant; }
+
+    /**
+     * Getter function to get the exempt concentration of the isotope
+     *
+     * @return the exempt concentration of the isotope
+     */
+    public float getExemptConcentration() { return exemptConcentration; }
+
+    /**
+     * Getter function to get the exempt limit of the isotope
+     *
+     * @return the exempt limit of the isotope
+     */
+    public float getExemptLimit() { return exemptLimit; }
+
+    /**
+     * Getter function to get the half life of the isotope
+     *
+     * @return the half life of the isotope in days
+     */
+    public float getHalfLife() { return halfLife; }
+
+    /**
+     * Getter function to get the Instruments/Articles Limited Multiplier value for the isotope's state and form
+     *
+     * @return the Instruments/Articles Limited Multiplier value
+     */
+    public float getIALimitedMultiplier() { return IALimitedMultiplier; }
+
+    /**
+     * Getter function to get the license limit of the isotope
+     *
+     * @return the license limit of the isotope
+     */
+    public float getLicenseLimit() { return licenseLimit; }
+
+    /**
+     * Getter function to get the Limited Limit value for the isotope's state and form
+     *
+     * @return the Limited Limit value
+     */
+    public float getLimitedLimit() { return limitedLimit; }
+
+    /**
+     * Getter function to get the reportable quantity of the isotope
+     *
+     * @return the reportable quantity of the isotope
+     */
+    public float getReportableQuantity() { return reportableQuantity; }
+}
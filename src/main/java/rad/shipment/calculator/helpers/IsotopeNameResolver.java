@@ -0,0 +1,206 @@
+package rad.shipment.calculator.helpers;
+
+import java.security.InvalidParameterException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the different ways an isotope can be written to one canonical isotope id
+ * Built once from the rows of the Isotopes table, every full name and abbreviation is indexed case insensitively
+ * along with the common variants of them ("Co60", "cobalt 60", "60Co" all resolve to the same id as "Co-60")
+ * The canonical names are interned so resolved names can be compared by reference
+ * The indexed names are also kept sorted so the isotopes starting with what the user typed can be suggested
+ */
+public final class IsotopeNameResolver {
+
+    // Declaring variables
+    private static final Pattern SEPARATORS = Pattern.compile("[^0-9A-Z]");  // everything that is dropped from an alias
+    private static final Pattern ABBR = Pattern.compile("^([A-Z]+)-?([0-9]+[A-Z]*[0-9]*)$");  // symbol, mass (and metastable state)
+    private final String[] names;  // isotope id -> full name
+    private final String[] abbrs;  // isotope id -> abbreviation
+    private final Map<String, Integer> exact = new HashMap<>();  // normalized name or abbreviation -> isotope id
+    private final Map<String, Integer> aliases = new HashMap<>();  // compact variant -> isotope id
+    private final String[] keys;  // every normalized name, abbreviation and compact variant in sorted order
+    private final int[] keyIds;   // key index -> isotope id
+
+    /*//////////////////////////////////////////// ISOTOPE NAME RESOLVER /////////////////////////////////////////////*/
+
+    /**
+     * Constructs a resolver for the given isotopes
+     * The first row for a name or abbreviation wins, the same way the database query returns the first match
+     *
+     * @param names the full names of the isotopes
+     * @param abbrs the abbreviations of the isotopes (same order as the names)
+     */
+    public IsotopeNameResolver(List<String> names, List<String> abbrs) throws InvalidParameterException {
+        if(names == null || abbrs == null) throw new InvalidParameterException("Isotope names cannot be null");
+        if(names.size() != abbrs.size()) throw new InvalidParameterException("Every isotope name needs an abbreviation");
+
+        List<String> nameList = new ArrayList<>();
+        List<String> abbrList = new ArrayList<>();
+        Set<String> ambiguous = new HashSet<>();  // variants that belong to more than one isotope
+        TreeMap<String, Set<Integer>> sorted = new TreeMap<>();  // key -> isotopes it belongs to (in id order)
+
+        for(int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            String abbr = abbrs.get(i).trim();
+            Integer id = exact.get(ReferenceData.normalize(abbr));
+
+            if(id == null) {
+                id = abbrList.size();
+                nameList.add(name.intern());
+                abbrList.add(abbr.intern());
+            }
+            exact.putIfAbsent(ReferenceData.normalize(name), id);
+            exact.putIfAbsent(ReferenceData.normalize(abbr), id);
+            sorted.computeIfAbsent(ReferenceData.normalize(name), key -> new TreeSet<>()).add(id);
+            sorted.computeIfAbsent(ReferenceData.normalize(abbr), key -> new TreeSet<>()).add(id);
+
+            for(String alias : variants(name, abbr)) {
+                Integer previous = aliases.putIfAbsent(alias, id);
+                if(previous != null && !previous.equals(id)) ambiguous.add(alias);
+                sorted.computeIfAbsent(alias, key -> new TreeSet<>()).add(id);
+            }
+        }
+        aliases.keySet().removeAll(ambiguous);  // a variant that could mean two isotopes means neither
+
+        this.names = nameList.toArray(new String[0]);
+        this.abbrs = abbrList.toArray(new String[0]);
+
+        // flattening the sorted keys into arrays so a prefix is found with a binary search
+        List<String> keyList = new ArrayList<>();
+        List<Integer> idList = new ArrayList<>();
+        for(Map.Entry<String, Set<Integer>> entry : sorted.entrySet()) {
+            for(Integer isotope : entry.getValue()) {
+                keyList.add(entry.getKey());
+                idList.add(isotope);
+            }
+        }
+        this.keys = keyList.toArray(new String[0]);
+        this.keyIds = idList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to reduce a name to the letters and digits in it so spacing and punctuation do not matter
+     *
+     * @param name the name to compact
+     * @return the upper case letters and digits of the name
+     */
+    static String compact(String name) { return SEPARATORS.matcher(ReferenceData.normalize(name)).replaceAll(""); }
+
+    /**
+     * Helper function to get the variants of an isotope's name and abbreviation that should resolve to it
+     *
+     * @param name the full name of the isotope
+     * @param abbr the abbreviation of the isotope
+     * @return the compacted full name, abbreviation and mass number first abbreviation ("60CO")
+     */
+    private static List<String> variants(String name, String abbr) {
+        List<String> ret = new ArrayList<>(Arrays.asList(compact(name), compact(abbr)));
+
+        Matcher matcher = ABBR.matcher(ReferenceData.normalize(abbr));
+        if(matcher.matches()) ret.add(matcher.group(2) + matcher.group(1));
+        return ret;
+    }
+
+    /**
+     * Helper function to add the isotopes whose keys start with the given prefix
+     *
+     * @param prefix the normalized or compacted prefix
+     * @param ret the ids found so far (in the order they should be suggested)
+     * @param limit the most ids to find
+     */
+    private void addStartingWith(String prefix, Set<Integer> ret, int limit) {
+        if(prefix.isEmpty()) return;
+
+        // finding the first key that is not before the prefix
+        int low = 0, high = keys.length;
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(keys[mid].compareTo(prefix) < 0) low = mid + 1;
+            else high = mid;
+        }
+
+        for(int i = low; i < keys.length && ret.size() < limit && keys[i].startsWith(prefix); i++) ret.add(keyIds[i]);
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the id of the given isotope name
+     *
+     * @param name the full name, abbreviation or a variant of either
+     * @return the id of the isotope or -1 if the isotope is unknown
+     */
+    public int resolve(String name) {
+        if(name == null) return -1;
+
+        Integer ret = exact.get(ReferenceData.normalize(name));
+        if(ret == null) ret = aliases.get(compact(name));
+        return (ret == null)? -1 : ret;
+    }
+
+    /**
+     * Getter function to get the abbreviated name of the given isotope name
+     *
+     * @param name the full name, abbreviation or a variant of either
+     * @return the interned abbreviation of the isotope or an empty string if the isotope is unknown
+     */
+    public String getAbbr(String name) { return getAbbr(resolve(name)); }
+
+    /**
+     * Getter function to get the full name of the given isotope name
+     *
+     * @param name the full name, abbreviation or a variant of either
+     * @return the interned full name of the isotope or an empty string if the isotope is unknown
+     */
+    public String getFullName(String name) { return getFullName(resolve(name)); }
+
+    /**
+     * Getter function to get the abbreviated name of the isotope with the given id
+     *
+     * @param id the id of the isotope
+     * @return the interned abbreviation of the isotope or an empty string if the id is unknown
+     */
+    public String getAbbr(int id) { return (id < 0 || id >= abbrs.length)? "" : abbrs[id]; }
+
+    /**
+     * Getter function to get the full name of the isotope with the given id
+     *
+     * @param id the id of the isotope
+     * @return the interned full name of the isotope or an empty string if the id is unknown
+     */
+    public String getFullName(int id) { return (id < 0 || id >= names.length)? "" : names[id]; }
+
+    /**
+     * Getter function to get the isotopes the given text could be the start of
+     * The isotope the text already resolves to comes first, then the isotopes whose full name, abbreviation or a
+     * variant of either starts with the text in alphabetical order of those names
+     *
+     * @param text what the user has typed so far
+     * @param limit the most isotopes to suggest
+     * @return the ids of the suggested isotopes (empty if the text is null or empty)
+     */
+    public List<Integer> suggest(String text, int limit) throws InvalidParameterException {
+        if(limit < 0) throw new InvalidParameterException("Suggestion limit cannot be negative");
+        if(text == null || limit == 0) return Collections.emptyList();
+
+        Set<Integer> ret = new LinkedHashSet<>();
+        int id = resolve(text);
+        if(id >= 0) ret.add(id);
+
+        addStartingWith(ReferenceData.normalize(text), ret, limit);
+        addStartingWith(compact(text), ret, limit);
+        return new ArrayList<>(ret);
+    }
+
+    /**
+     * Getter function to get the number of isotopes the resolver knows
+     *
+     * @return the number of isotopes (ids go from 0 to size - 1)
+     */
+    public int size() { return abbrs.length; }
+}
@@ -0,0 +1,148 @@
+package rad.shipment.calculator.helpers;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Immutable holder for every constant the database has for a single isotope
+ */
+public final class IsotopeProfile {
+
+    // Declaring variables
+    private final String name;                  // full name of the isotope (from Isotopes table)
+    private final String abbr;                  // abbreviated name of the isotope (from Isotopes table)
+    private final float A1;                     // A1 (TBq) of isotope
+    private final float A2;                     // A2 (TBq) of isotope
+    private final float decayConstant;          // Decay Constant (1 / halflife(days)) of isotope
+    private final float exemptConcentration;    // Exempt Concentration (Bq/gram) of isotope
+    private final float exemptLimit;            // Exempt Limit (Bq) of isotope
+    private final float halfLife;               // Halflife (days) of isotope
+    private final float licenseLimit;           // Licensing Limit (microCi) of isotope
+    private final float reportableQuantity;     // Reportable Quantity (TBq) of isotope
+
+    /*/////////////////////////////////////////////// ISOTOPE PROFILE ////////////////////////////////////////////////*/
+
+    /**
+     * Constructs an IsotopeProfile object with the given values
+     *
+     * @param name the full name of the isotope
+     * @param abbr the abbreviated name of the isotope
+     * @param A1 the A1 value of the isotope
+     * @param A2 the A2 value of the isotope
+     * @param decayConstant the decay constant of the isotope
+     * @param exemptConcentration the exempt concentration of the isotope
+     * @param exemptLimit the exempt limit of the isotope
+     * @param halfLife the half life of the isotope
+     * @param licenseLimit the license limit of the isotope
+     * @param reportableQuantity the reportable quantity of the isotope
+     */
+    public IsotopeProfile(String name, String abbr, float A1, float A2, float decayConstant, float exemptConcentration,
+                          float exemptLimit, float halfLife, float licenseLimit, float reportableQuantity) {
+        this.name = (name == null)? "" : name;
+        this.abbr = (abbr == null)? "" : abbr;
+        this.A1 = A1;
+        this.A2 = A2;
+        this.decayConstant = decayConstant;
+        this.exemptConcentration = exemptConcentration;
+        this.exemptLimit = exemptLimit;
+        this.halfLife = halfLife;
+        this.licenseLimit = licenseLimit;
+        this.reportableQuantity = reportableQuantity;
+    }
+
+    /**
+     * Function to create the profile used for a name that is not in the database
+     *
+     * @param defaultVal the value to use for every constant
+     * @return a profile with empty names and every constant set to the default value
+     */
+    @Contract("_ -> new") public static IsotopeProfile unknown(float defaultVal) {
+        return new IsotopeProfile("", "", defaultVal, defaultVal, defaultVal, defaultVal,
+                defaultVal, defaultVal, defaultVal, defaultVal);
+    }
+
+    /**
+     * Overridden Objects toString function
+     *
+     * @return the string representation of the profile
+     */
+    @Override public String toString() { return "IsotopeProfile: {Name: " + name + ", Abbr: " + abbr + "}"; }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to figure out if the profile belongs to an isotope in the database
+     *
+     * @return true if the isotope was found, false otherwise
+     */
+    public boolean isValid() { return !"".equals(abbr); }
+
+    /**
+     * Getter function to get the full name of the isotope
+     *
+     * @return the full name of the isotope
+     */
+    public String getName() { return name; }
+
+    /**
+     * Getter function to get the abbreviated name of the isotope
+     *
+     * @return the abbreviated name of the isotope
+     */
+    public String getAbbr() { return abbr; }
+
+    /**
+     * Getter function to get the A1 value of the isotope
+     *
+     * @return the A1 value of the isotope
+     */
+    public float getA1() { return A1; }
+
+    /**
+     * Getter function to get the A2 value of the isotope
+     *
+     * @return the A2 value of the isotope
+     */
+    public float getA2() { return A2; }
+
+    /**
+     * Getter function to get the decay constant of the isotope
+     *
+     * @return the decay constant of the isotope
+     */
+    public float getDecayConstant() { return decayConstant; }
+
+    /**
+     * Getter function to get the exempt concentration of the isotope
+     *
+     * @return the exempt concentration of the isotope
+     */
+    public float getExemptConcentration() { return exemptConcentration; }
+
+    /**
+     * Getter function to get the exempt limit of the isotope
+     *
+     * @return the exempt limit of the isotope
+     */
+    public float getExemptLimit() { return exemptLimit; }
+
+    /**
+     * Getter function to get the half life of the isotope
+     *
+     * @return the half life of the isotope
+     */
+    public float getHalfLife() { return halfLife; }
+
+    /**
+     * Getter function to get the license limit of the isotope
+     *
+     * @return the license limit of the isotope
+     */
+    public float getLicenseLimit() { return licenseLimit; }
+
+    /**
+     * Getter function to get the reportable quantity of the isotope
+     *
+     * @return the reportable quantity of the isotope
+     */
+    public float getReportableQuantity() { return reportableQuantity; }
+}
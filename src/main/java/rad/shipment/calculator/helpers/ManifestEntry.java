@@ -0,0 +1,72 @@
+package rad.shipment.calculator.helpers;
+
+import java.time.LocalDate;
+
+/**
+ * One isotope of a shipment manifest, the values the user gives for an isotope before it is looked up
+ * A manifest can have the same isotope more than once (two sources with different reference dates)
+ */
+public final class ManifestEntry {
+    // Declaring variables
+    private final String name;                  // the name of the isotope as it was written in the manifest
+    private final float A0;                     // initial activity (microCi)
+    private final float mass;                   // grams or liters
+    private final String massUnit;              // grams or liters
+    private final LocalDate refDate;            // the reference date of the initial activity
+
+    /*//////////////////////////////////////////////// MANIFEST ENTRY ////////////////////////////////////////////////*/
+
+    /**
+     * Constructs a ManifestEntry object
+     *
+     * @param name the name of the isotope
+     * @param A0 the initial activity of the isotope (microCi)
+     * @param mass the mass of the isotope
+     * @param massUnit the mass unit of the isotope
+     * @param refDate the reference date of the initial activity
+     */
+    public ManifestEntry(String name, float A0, float mass, String massUnit, LocalDate refDate) {
+        this.name = name;
+        this.A0 = A0;
+        this.mass = mass;
+        this.massUnit = massUnit;
+        this.refDate = refDate;
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the name of the isotope
+     *
+     * @return the name of the isotope
+     */
+    public String getName() { return name; }
+
+    /**
+     * Getter function to get the initial activity of the isotope in microCi
+     *
+     * @return the initial activity of the isotope in microCi
+     */
+    public float getA0() { return A0; }
+
+    /**
+     * Getter function to get the mass of the isotope
+     *
+     * @return the mass of the isotope
+     */
+    public float getMass() { return mass; }
+
+    /**
+     * Getter function to get the mass unit of the isotope
+     *
+     * @return the mass unit of the isotope
+     */
+    public String getMassUnit() { return massUnit; }
+
+    /**
+     * Getter function to get the reference date of the isotope
+     *
+     * @return the reference date of the isotope
+     */
+    public LocalDate getRefDate() { return refDate; }
+}
@@ -0,0 +1,98 @@
+package rad.shipment.calculator.helpers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A connection leased from a ConnectionPool
+ * Only the thread that leased it may use it, so its prepared statements are cached without locking
+ * Closing it gives the connection back to the pool instead of closing the physical connection,
+ * closing it again before it is leased out again does nothing
+ */
+public final class PooledConnection implements AutoCloseable {
+
+    // Declaring variables
+    private static final Logger logr = Logger.getLogger(PooledConnection.class.getName());  // getting logger
+    private final ConnectionPool pool;  // the pool the connection belongs to
+    private final Connection con;  // the physical connection to the database
+    private final Map<String, PreparedStatement> preparedStatements = new HashMap<>();  // cached queries keyed by their sql text
+    private final AtomicBoolean released = new AtomicBoolean();  // true once the current lease was given back
+
+    /*/////////////////////////////////////////////// POOLED CONNECTION //////////////////////////////////////////////*/
+
+    /**
+     * Constructs a pooled connection wrapping the given physical connection
+     *
+     * @param pool the pool the connection belongs to
+     * @param con the physical connection to the database
+     */
+    PooledConnection(ConnectionPool pool, Connection con) {
+        this.pool = pool;
+        this.con = con;
+    }
+
+    /**
+     * Function to give the connection back to the pool
+     * Only the first close of a lease gives it back so the connection is never in the pool twice
+     */
+    @Override public void close() { if(released.compareAndSet(false, true)) pool.release(this); }
+
+    /**
+     * Helper function to mark the connection as leased out again
+     */
+    void lease() { released.set(false); }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to get the prepared statement for the given sql
+     * The statement is prepared the first time it is requested and reused after that
+     *
+     * @param sql the sql of the query (use ? for parameters)
+     * @return the prepared statement for the query
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ret = preparedStatements.get(sql);
+        if (ret == null || ret.isClosed()) {
+            ret = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatements.put(sql, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to close the cached statements and the physical connection
+     */
+    void closePhysical() {
+        for (PreparedStatement statement : preparedStatements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logr.log(Level.WARNING, "Failed to close prepared statement. Error: ", e);
+            }
+        }
+        preparedStatements.clear();
+
+        try {
+            con.close();
+        } catch (SQLException e) {
+            logr.log(Level.WARNING, "Failed to close database connection. Error: ", e);
+        }
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the physical connection
+     *
+     * @return the physical connection to the database
+     */
+    public Connection getConnection() { return con; }
+}
@@ -0,0 +1,326 @@
+package rad.shipment.calculator.helpers;
+
+import rad.shipment.calculator.gui.Main;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+import static rad.shipment.calculator.gui.Main.getString;
+import static rad.shipment.calculator.gui.Main.replaceBundleString;
+
+/**
+ * Read-only snapshot of the reference tables in the embedded database
+ * Names are resolved with an IsotopeNameResolver, the constants are hash lookups keyed by the normalized abbreviation
+ */
+public final class ReferenceData {
+
+    // Declaring variables
+    private final float defaultVal = (float) Main.getInt("defaultInt");  // default float value for missing entries
+    private final IsotopeNameResolver resolver;  // any way of writing an isotope -> isotope id (Isotopes table)
+    private final List<String> shortLong;  // abbreviations in the ShortLong table
+    private final AdditionalInfo additionalInfo;  // isotope -> ShortLong and Lung_Absorption flags
+    private final Map<String, Float> A1;
+    private final Map<String, Float> A2;
+    private final Map<String, Float> decayConstant;
+    private final Map<String, Float> exemptConcentration;
+    private final Map<String, Float> exemptLimit;
+    private final Map<String, Float> halfLife;
+    private final Map<String, Float> licenseLimit;
+    private final Map<String, Float> reportableQuantity;
+    private final Map<String, Float> IALimitedMultiplier;  // keyed by stateFormKey(state, form)
+    private final Map<String, Float> IAPackageLimit;  // keyed by stateFormKey(state, form)
+    private final Map<String, Float> limitedLimit;  // keyed by stateFormKey(state, form)
+
+    /*//////////////////////////////////////////////// REFERENCE DATA ////////////////////////////////////////////////*/
+
+    /**
+     * Constructs a ReferenceData object by reading every reference table through the given connection
+     *
+     * @param con an open connection to a database that was set up with DatabaseEditor.setupEmbeddedDB
+     * @throws SQLException if any of the tables could not be read
+     */
+    private ReferenceData(Connection con) throws SQLException {
+        List<String> nameList = new ArrayList<>();
+        List<String> abbrList = new ArrayList<>();
+        List<String> shortLongList = new ArrayList<>();
+        List<String> lungAbsList = new ArrayList<>();
+
+        try (Statement db = con.createStatement()) {
+            // reading the Isotopes table so the full name, the abbreviation and their variants resolve to the same isotope
+            try (ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString("isotopesTableName")))) {
+                while (result.next()) {
+                    nameList.add(result.getString(getString("nameCol")));
+                    abbrList.add(result.getString(getString("abbrCol")));
+                }
+            }
+
+            try (ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString("shortLongTableName")))) {
+                while (result.next()) shortLongList.add(result.getString(getString("abbrCol")).trim());
+            }
+
+            try (ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString("lungAbsTableName")))) {
+                while (result.next()) lungAbsList.add(result.getString(getString("abbrCol")).trim());
+            }
+
+            A1 = readAbbrTable(db, "A1TableName");
+            A2 = readAbbrTable(db, "A2TableName");
+            decayConstant = readAbbrTable(db, "decayConstTableName");
+            exemptConcentration = readAbbrTable(db, "exemptConTableName");
+            exemptLimit = readAbbrTable(db, "exemptLimTableName");
+            halfLife = readAbbrTable(db, "halfLifeTableName");
+            licenseLimit = readAbbrTable(db, "licLimTableName");
+            reportableQuantity = readAbbrTable(db, "reportQTableName");
+            IALimitedMultiplier = readStateFormTable(db, "instrArtLimLimTableName");
+            IAPackageLimit = readStateFormTable(db, "instrArtPackageLimTableName");
+            limitedLimit = readStateFormTable(db, "limLimitTableName");
+        }
+
+        resolver = new IsotopeNameResolver(nameList, abbrList);
+        shortLong = Collections.unmodifiableList(shortLongList);
+        additionalInfo = new AdditionalInfo(resolver, shortLongList, lungAbsList);
+    }
+
+    /**
+     * Function to load a snapshot of all the reference tables
+     *
+     * @param con an open connection to a database that was set up with DatabaseEditor.setupEmbeddedDB
+     * @return the newly loaded snapshot
+     * @throws SQLException if any of the tables could not be read
+     */
+    public static ReferenceData load(Connection con) throws SQLException {
+        if(con == null) throw new SQLException("Cannot load reference data, connection is null");
+        return new ReferenceData(con);
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to normalize a name so lookups are case insensitive
+     *
+     * @param name the name to normalize
+     * @return the trimmed, upper case version of the name
+     */
+    static String normalize(String name) { return name.trim().toUpperCase(Locale.ROOT); }
+
+    /**
+     * Helper function to build the key for the tables that are keyed by state and form
+     *
+     * @param state the state of the shipment
+     * @param form the form of the shipment
+     * @return the key for the given state and form
+     */
+    private static String stateFormKey(String state, String form) { return normalize(state) + "," + normalize(form); }
+
+    /**
+     * Helper function to read a table with an Abbr and Value column into a map
+     *
+     * @param db the statement used to query the database
+     * @param tableNameKey the bundle key of the table name
+     * @return an unmodifiable map of the normalized abbreviations to their values
+     */
+    private static Map<String, Float> readAbbrTable(Statement db, String tableNameKey) throws SQLException {
+        Map<String, Float> ret = new HashMap<>();
+
+        try (ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString(tableNameKey)))) {
+            while (result.next()) {
+                ret.putIfAbsent(normalize(result.getString(getString("abbrCol"))), result.getFloat(getString("valueCol")));
+            }
+        }
+        return Collections.unmodifiableMap(ret);
+    }
+
+    /**
+     * Helper function to read a table with a State, Form and Value column into a map
+     *
+     * @param db the statement used to query the database
+     * @param tableNameKey the bundle key of the table name
+     * @return an unmodifiable map of the state/form keys to their values
+     */
+    private static Map<String, Float> readStateFormTable(Statement db, String tableNameKey) throws SQLException {
+        Map<String, Float> ret = new HashMap<>();
+
+        try (ResultSet result = db.executeQuery(replaceBundleString("selectAllFromTable", getString(tableNameKey)))) {
+            while (result.next()) {
+                ret.putIfAbsent(stateFormKey(result.getString(getString("stateCol")), result.getString(getString("formCol"))),
+                        result.getFloat(getString("valueCol")));
+            }
+        }
+        return Collections.unmodifiableMap(ret);
+    }
+
+    /**
+     * Helper function to look up the value of the given isotope in one of the abbreviation tables
+     *
+     * @param table the table to search
+     * @param name the name or abbreviation of the isotope
+     * @return the value for the isotope or the default value if the isotope is not in the table
+     */
+    private float lookup(Map<String, Float> table, String name) {
+        String abbr = getAbbr(name);
+        if("".equals(abbr)) return defaultVal;
+
+        Float ret = table.get(normalize(abbr));
+        return (ret == null)? defaultVal : ret;
+    }
+
+    /**
+     * Helper function to look up the value of the given state and form in one of the state/form tables
+     *
+     * @param table the table to search
+     * @param state the state of the shipment
+     * @param form the form of the shipment
+     * @return the value for the state and form or the default value if they are not in the table
+     */
+    private float lookup(Map<String, Float> table, String state, String form) {
+        Float ret = table.get(stateFormKey(state, form));
+        return (ret == null)? defaultVal : ret;
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the abbreviated name of the given isotope name
+     *
+     * @param name the full name or abbreviation of the isotope
+     * @return the abbreviated name of the isotope or an empty string if the isotope is unknown
+     */
+    public String getAbbr(String name) { return resolver.getAbbr(name); }
+
+    /**
+     * Getter function to get the full name of the given isotope name
+     *
+     * @param name the full name or abbreviation of the isotope
+     * @return the full name of the isotope or an empty string if the isotope is unknown
+     */
+    public String getFullName(String name) { return resolver.getFullName(name); }
+
+    /**
+     * Getter function to get the resolver for the names in the Isotopes table
+     *
+     * @return the isotope name resolver
+     */
+    public IsotopeNameResolver getResolver() { return resolver; }
+
+    /**
+     * Getter function to get the information the user has to give on top of the name of each isotope
+     *
+     * @return the flags worked out from the ShortLong and Lung_Absorption tables
+     */
+    public AdditionalInfo getAdditionalInfo() { return additionalInfo; }
+
+    /**
+     * Getter function to get the isotopes that have different values for their short and long lived versions
+     *
+     * @return an unmodifiable list of the abbreviations in the ShortLong table
+     */
+    public List<String> getShortLong() { return shortLong; }
+
+    /**
+     * Getter function to get every constant of the given isotope at once
+     *
+     * @param name the full name or abbreviation of the isotope
+     * @return the profile of the isotope or an unknown profile if the isotope is not in the snapshot
+     */
+    public IsotopeProfile getIsotopeProfile(String name) {
+        String abbr = getAbbr(name);
+        if("".equals(abbr)) return IsotopeProfile.unknown(defaultVal);
+
+        return new IsotopeProfile(getFullName(abbr), abbr, lookup(A1, abbr), lookup(A2, abbr),
+                lookup(decayConstant, abbr), lookup(exemptConcentration, abbr), lookup(exemptLimit, abbr),
+                lookup(halfLife, abbr), lookup(licenseLimit, abbr), lookup(reportableQuantity, abbr));
+    }
+
+    /**
+     * Getter function to get the given isotope's A1 value
+     *
+     * @param name the name of the isotope
+     * @return the A1 value of that isotope
+     */
+    public float getA1(String name) { return lookup(A1, name); }
+
+    /**
+     * Getter function to get the given isotope's A2 value
+     *
+     * @param name the name of the isotope
+     * @return the A2 value of that isotope
+     */
+    public float getA2(String name) { return lookup(A2, name); }
+
+    /**
+     * Getter function to get the given isotope's Decay Constant value
+     *
+     * @param name the name of the isotope
+     * @return the Decay Constant value of that isotope
+     */
+    public float getDecayConstant(String name) { return lookup(decayConstant, name); }
+
+    /**
+     * Getter function to get the given isotope's Exempt Concentration value
+     *
+     * @param name the name of the isotope
+     * @return the Exempt Concentration value of that isotope
+     */
+    public float getExemptConcentration(String name) { return lookup(exemptConcentration, name); }
+
+    /**
+     * Getter function to get the given isotope's Exempt Limit value
+     *
+     * @param name the name of the isotope
+     * @return the Exempt Limit value of that isotope
+     */
+    public float getExemptLimit(String name) { return lookup(exemptLimit, name); }
+
+    /**
+     * Getter function to get the given isotope's Half Life value
+     *
+     * @param name the name of the isotope
+     * @return the Half Life value of that isotope
+     */
+    public float getHalfLife(String name) { return lookup(halfLife, name); }
+
+    /**
+     * Getter function to get the given isotope's License Limit value
+     *
+     * @param name the name of the isotope
+     * @return the License Limit value of that isotope
+     */
+    public float getLicenseLimit(String name) { return lookup(licenseLimit, name); }
+
+    /**
+     * Getter function to get the given isotope's Reportable Quantity value
+     *
+     * @param name the name of the isotope
+     * @return the Reportable Quantity value of that isotope
+     */
+    public float getReportableQuantity(String name) { return lookup(reportableQuantity, name); }
+
+    /**
+     * Getter function to get the Instruments/Articles Limited Multiplier value for the given state and form
+     *
+     * @param state the state of the instrument/article
+     * @param form the form of the instrument/article
+     * @return the Instruments/Articles Limited Multiplier value
+     */
+    public float getIALimitedMultiplier(String state, String form) { return lookup(IALimitedMultiplier, state, form); }
+
+    /**
+     * Getter function to get the Instruments/Articles Package Limit value for the given state and form
+     *
+     * @param state the state of the instrument/article
+     * @param form the form of the instrument/article
+     * @return the Instruments/Articles Package Limit value
+     */
+    public float getIAPackageLimit(String state, String form) { return lookup(IAPackageLimit, state, form); }
+
+    /**
+     * Getter function to get the Limited Limit value for the given state and form
+     *
+     * @param state the state of the limited isotope
+     * @param form the form of the limited isotope
+     * @return the Limited Limit value
+     */
+    public float getLimitedLimit(String state, String form) { return lookup(limitedLimit, state, form); }
+}
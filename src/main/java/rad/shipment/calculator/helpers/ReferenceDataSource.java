@@ -0,0 +1,158 @@
+package rad.shipment.calculator.helpers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read only source of the isotope reference data (names, constants and limits)
+ * Lookups by name accept the full name, the abbreviation or a common variant of either (see IsotopeNameResolver),
+ * names that are null or empty strings throw an InvalidParameterException for the name lookups
+ * and unknown isotopes get the default value (defaultInt in the bundle) for every constant
+ */
+public interface ReferenceDataSource {
+
+    /**
+     * Getter function to get the abbreviated name of the given isotope name
+     *
+     * @param name the name of the isotope
+     * @return the abbreviated name of the isotope or an empty string if the isotope is unknown
+     */
+    String getAbbr(String name) throws RuntimeException;
+
+    /**
+     * Getter function to get the full name of the given isotope name
+     *
+     * @param name the name of the isotope
+     * @return the full name of the isotope or an empty string if the isotope is unknown
+     */
+    String getFullName(String name) throws RuntimeException;
+
+    /**
+     * Getter function to get the resolver that turns any way of writing an isotope into its canonical id
+     *
+     * @return the isotope name resolver
+     */
+    IsotopeNameResolver getResolver();
+
+    /**
+     * Getter function to get the information the user has to give on top of the name of each isotope
+     *
+     * @return the additional info flags of every isotope
+     */
+    AdditionalInfo getAdditionalInfo();
+
+    /**
+     * Getter function to get the isotopes that have different values for their short and long lived versions
+     *
+     * @return a list of the abbreviations of those isotopes
+     */
+    List<String> getShortLong() throws RuntimeException;
+
+    /**
+     * Getter function to get every constant of the given isotope
+     *
+     * @param name the name of the isotope
+     * @return the profile of the isotope or an unknown profile if the isotope is unknown
+     */
+    IsotopeProfile getIsotopeProfile(String name) throws RuntimeException;
+
+    /**
+     * Getter function to get every constant of all the given isotopes
+     *
+     * @param names the names of the isotopes
+     * @return a map of each given name to the profile of that isotope in the same order as the given names
+     */
+    Map<String, IsotopeProfile> getIsotopeProfiles(Collection<String> names) throws RuntimeException;
+
+    /**
+     * Getter function to get the given isotope's A1 value
+     *
+     * @param name the name of the isotope
+     * @return the A1 value of that isotope
+     */
+    float getA1(String name);
+
+    /**
+     * Getter function to get the given isotope's A2 value
+     *
+     * @param name the name of the isotope
+     * @return the A2 value of that isotope
+     */
+    float getA2(String name);
+
+    /**
+     * Getter function to get the given isotope's Decay Constant value
+     *
+     * @param name the name of the isotope
+     * @return the Decay Constant value of that isotope
+     */
+    float getDecayConstant(String name);
+
+    /**
+     * Getter function to get the given isotope's Exempt Concentration value
+     *
+     * @param name the name of the isotope
+     * @return the Exempt Concentration value of that isotope
+     */
+    float getExemptConcentration(String name);
+
+    /**
+     * Getter function to get the given isotope's Exempt Limit value
+     *
+     * @param name the name of the isotope
+     * @return the Exempt Limit value of that isotope
+     */
+    float getExemptLimit(String name);
+
+    /**
+     * Getter function to get the given isotope's Half Life value
+     *
+     * @param name the name of the isotope
+     * @return the Half Life value of that isotope
+     */
+    float getHalfLife(String name);
+
+    /**
+     * Getter function to get the Instruments/Articles Limited Multiplier value for the given state and form
+     *
+     * @param state the state of the instrument/article
+     * @param form the form of the instrument/article
+     * @return the Instruments/Articles Limited Multiplier value
+     */
+    float getIALimitedMultiplier(String state, String form) throws RuntimeException;
+
+    /**
+     * Getter function to get the Instruments/Articles Package Limit value for the given state and form
+     *
+     * @param state the state of the instrument/article
+     * @param form the form of the instrument/article
+     * @return the Instruments/Articles Package Limit value
+     */
+    float getIAPackageLimit(String state, String form) throws RuntimeException;
+
+    /**
+     * Getter function to get the given isotope's License Limit value
+     *
+     * @param name the name of the isotope
+     * @return the License Limit value of that isotope
+     */
+    float getLicenseLimit(String name);
+
+    /**
+     * Getter function to get the Limited Limit value for the given state and form
+     *
+     * @param state the state of the limited isotope
+     * @param form the form of the limited isotope
+     * @return the Limited Limit value
+     */
+    float getLimitedLimit(String state, String form) throws RuntimeException;
+
+    /**
+     * Getter function to get the given isotope's Reportable Quantity value
+     *
+     * @param name the name of the isotope
+     * @return the Reportable Quantity value of that isotope
+     */
+    float getReportableQuantity(String name) throws RuntimeException;
+}
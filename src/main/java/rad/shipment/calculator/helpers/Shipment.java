@@ -4,9 +4,14 @@ import javafx.beans.property.SimpleFloatProperty;
 import javafx.beans.property.SimpleStringProperty;
 import rad.shipment.calculator.gui.Main;
 
+import java.security.InvalidParameterException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class Shipment {
     // Declaring Variables
@@ -17,6 +22,11 @@ public class Shipment {
     private final SimpleStringProperty _nature;                  // the nature of the shipment (regular,  instrument, article)
     private final SimpleStringProperty _state;                  // the state of the shipment (solid, liquid, gas)
     private final SimpleStringProperty _form;                   // the form of the shipment (normal, special, tritium)
+    private final ShipmentCalculator calculator = new ShipmentCalculator();  // reused by every calculation of the shipment
+    private int _class = ShipmentCalculator.EXEMPT;             // classification of the whole package (same integers as Isotope._IsotopeClass)
+    private boolean _isReportableQuan;                          // true if the package is a reportable quantity
+    private boolean calculated;                                 // true once the shipment has been calculated
+    private float IAPackageLimit;                               // instruments/articles package limit of the last calculation
 
     // Constant values from database
 
@@ -97,13 +107,342 @@ public class Shipment {
                 form.equals(_form.get()); 
     }
 
+    /**
+     * Helper function to build every isotope in a manifest and add them to the end of the shipment
+     * All the isotope constants are fetched with one batch lookup instead of one lookup per isotope,
+     * each isotope keeps its own mass and reference date and the same isotope can be in the manifest more than once
+     *
+     * @param dbEditor the reference data source to look the isotopes up in
+     * @param entries the isotopes of the manifest
+     * @return the isotopes that were added to the shipment in the same order as the given entries
+     */
+    public List<Isotope> addIsotopes(ReferenceDataSource dbEditor, List<ManifestEntry> entries) throws RuntimeException {
+        if(dbEditor == null) throw new InvalidParameterException("Reference data source cannot be null");
+        if(entries == null) throw new InvalidParameterException("Manifest entries cannot be null");
+
+        Set<String> names = new LinkedHashSet<>();
+        for(ManifestEntry entry : entries) {
+            if(entry == null) throw new InvalidParameterException("Manifest entry cannot be null");
+            names.add(entry.getName());
+        }
+        Map<String, IsotopeProfile> profiles = dbEditor.getIsotopeProfiles(names);
+
+        // making sure every isotope exists before any of them are added
+        List<String> unknown = new ArrayList<>();
+        for(Map.Entry<String, IsotopeProfile> entry : profiles.entrySet()) {
+            if(!entry.getValue().isValid()) unknown.add(entry.getKey());
+        }
+        if(!unknown.isEmpty()) throw new InvalidParameterException("Unknown isotope(s): " + String.join(", ", unknown));
+
+        List<Isotope> ret = new ArrayList<>();
+        for(ManifestEntry entry : entries) {
+            ret.add(new Isotope(dbEditor, entry.getName(), profiles.get(entry.getName()), entry.getMass(),
+                    entry.getMassUnit(), entry.getA0(), getNature(), getState(), getForm(), entry.getRefDate()));
+        }
+
+        for(Isotope isotope : ret) addIsotope(isotopes.size(), isotope);
+        return ret;
+    }
+
+    /**
+     * Helper function to calculate every isotope value and classify the shipment on the given date
+     *
+     * @param date the date to calculate the shipment for
+     * @return the classification of the package as an integer
+     */
+    public int calculate(LocalDate date) throws RuntimeException { return calculate(Main.getReferenceDataSource(), date); }
+
+    /**
+     * Helper function to calculate every isotope value and classify the shipment on the given date
+     * The decay stage is one pass over the isotopes that also sums every fraction,
+     * each classification stage after it only looks at those sums
+     *
+     * @param dbEditor the reference data source to get the instruments/articles package limit from
+     * @param date the date to calculate the shipment for
+     * @return the classification of the package as an integer
+     */
+    public int calculate(ReferenceDataSource dbEditor, LocalDate date) throws RuntimeException {
+        if(dbEditor == null) throw new InvalidParameterException("Reference data source cannot be null");
+        if(date == null) throw new InvalidParameterException("Date cannot be null");
+
+        List<IsotopeData> data = new ArrayList<>(isotopes.size());
+        for(Isotope isotope : isotopes) data.add(isotope.getData());
+
+        // decay stage: today's activity and every isotope's fraction of each limit
+        calculated = false;
+        calculator.load(data);
+        calculator.calculate(date.toEpochDay());
+        calculator.apply(isotopes);
+
+        // the package limit of instruments and articles only depends on the state and form so it is looked up once here
+        IAPackageLimit = defaultVal;
+        if(!isotopes.isEmpty() && !ShipmentCalculator.isRegular(shipmentValue(getNature(), isotopes.get(0).get_Nature()))) {
+            IAPackageLimit = dbEditor.getIAPackageLimit(shipmentValue(getState(), isotopes.get(0).get_State()),
+                    shipmentValue(getForm(), isotopes.get(0).get_Form()));
+        }
+        calculated = true;
+        return classify();
+    }
+
+    /**
+     * Helper function to get the activity and classification of the shipment on every day after the day it was calculated for
+     *
+     * @param days the number of days after the calculation day to project
+     * @return the projection with one point per day, point 0 is the day the shipment was calculated for
+     */
+    public ShipmentProjection project(int days) throws RuntimeException { return project(days, 1); }
+
+    /**
+     * Helper function to get the activity and classification of the shipment at evenly spaced days after the day it was
+     * calculated for
+     * Every isotope is decayed by its own decay factor and the package is classified from the sums at each point
+     * with the same stages as calculate
+     *
+     * @param days the number of days after the calculation day to project
+     * @param step the number of days between points
+     * @return the projection, point 0 is the day the shipment was calculated for
+     */
+    public ShipmentProjection project(int days, int step) throws RuntimeException {
+        if(!calculated) throw new IllegalStateException("Shipment must be calculated before it is projected");
+        if(days < 0) throw new InvalidParameterException("Days cannot be negative");
+        if(step < 1) throw new InvalidParameterException("Step must be at least 1");
+
+        ShipmentProjection projection = calculator.project(days / step + 1, step);
+        for(int t = 0; t < projection.getPoints(); t++) {
+            projection.setPackageClass(t, classify(projection.getSumExemptConcentrationFraction(t),
+                    projection.getSumExemptLimitFraction(t), projection.getSumLimitedFraction(t),
+                    projection.getSumLimitFraction(t), projection.getSumHRCQFraction(t), projection.getLimitedOverCount(t)));
+        }
+        return projection;
+    }
+
+    /**
+     * Helper function to get the first date the shipment is exempt from the radioactive material regulations
+     *
+     * @return the date or null if the shipment never becomes exempt
+     */
+    public LocalDate calculateDateForExemptShipping() throws RuntimeException {
+        return dateAfter(isotopes.isEmpty()? 0 : solvedCalculator().getDaysUntilExempt());
+    }
+
+    /**
+     * Helper function to get the first date the shipment can be shipped as a limited quantity (or is exempt)
+     * Regular shipments wait for the package sum, instruments and articles wait for every item and the package
+     *
+     * @return the date or null if the shipment never becomes a limited quantity
+     */
+    public LocalDate calculateDateForLimitedShipping() throws RuntimeException {
+        if(isotopes.isEmpty()) return dateAfter(0);
+
+        ShipmentCalculator solver = solvedCalculator();
+        long limited;
+        if(ShipmentCalculator.isRegular(shipmentValue(getNature(), isotopes.get(0).get_Nature()))) limited = solver.getDaysUntilLimited();
+        else if(IAPackageLimit <= 0) limited = -1;
+        else {
+            long items = solver.getDaysUntilItemsLimited();
+            long limit = solver.getDaysUntilLimit(IAPackageLimit);
+            limited = (items < 0 || limit < 0)? -1 : Math.max(items, limit);
+        }
+        return dateAfter(ShipmentCalculator.earliest(limited, solver.getDaysUntilExempt()));
+    }
+
+    /**
+     * Helper function to get the first date the shipment is exempt from licensing
+     *
+     * @return the date or null if the shipment never becomes exempt from licensing
+     */
+    public LocalDate calculateDateForExemptLicensing() throws RuntimeException {
+        return dateAfter(isotopes.isEmpty()? 0 : solvedCalculator().getDaysUntilLicenseExempt());
+    }
+
+    /**
+     * Helper function to make sure the shipment is calculated before solving for a date
+     *
+     * @return the calculator holding the fractions of the last calculation
+     */
+    private ShipmentCalculator solvedCalculator() throws IllegalStateException {
+        if(!calculated) throw new IllegalStateException("Shipment must be calculated before solving for a date");
+        return calculator;
+    }
+
+    /**
+     * Helper function to get the date a number of days after the day the shipment was calculated for
+     *
+     * @param days the number of days or -1 for never
+     * @return the date or null for never
+     */
+    private LocalDate dateAfter(long days) throws IllegalStateException {
+        solvedCalculator();
+        return (days < 0)? null : LocalDate.ofEpochDay(calculator.getEpochDay() + days);
+    }
+
+    /**
+     * Helper function to add an isotope to the shipment
+     * A calculated shipment only calculates the new isotope and moves the package sums by its values
+     * (the other isotopes are not touched, their activity fractions follow the total when they are read)
+     *
+     * @param index the position to add the isotope at
+     * @param isotope the isotope to add
+     */
+    public void addIsotope(int index, Isotope isotope) throws RuntimeException {
+        if(isotope == null) throw new InvalidParameterException("Isotope cannot be null");
+        if(index < 0 || index > isotopes.size()) throw new InvalidParameterException("Index " + index + " is out of range");
+
+        isotopes.add(index, isotope);
+        if(!calculated) return;
+
+        try {
+            calculator.add(index, isotope.getData());
+        } catch(RuntimeException e) {
+            calculated = false;  // the shipment keeps the isotope but has to be calculated again
+            throw e;
+        }
+        calculator.apply(index, isotope);
+        classify();
+    }
+
+    /**
+     * Helper function to replace an isotope in the shipment
+     * A calculated shipment only calculates the new isotope and moves the package sums by the difference
+     * (the other isotopes are not touched, their activity fractions follow the total when they are read)
+     *
+     * @param index the position of the isotope to replace
+     * @param isotope the new isotope
+     */
+    public void setIsotope(int index, Isotope isotope) throws RuntimeException {
+        if(isotope == null) throw new InvalidParameterException("Isotope cannot be null");
+        if(index < 0 || index >= isotopes.size()) throw new InvalidParameterException("Index " + index + " is out of range");
+
+        isotopes.set(index, isotope);
+        if(!calculated) return;
+
+        try {
+            calculator.set(index, isotope.getData());
+        } catch(RuntimeException e) {
+            calculated = false;  // the shipment keeps the isotope but has to be calculated again
+            throw e;
+        }
+        calculator.apply(index, isotope);
+        classify();
+    }
+
+    /**
+     * Helper function to remove an isotope from the shipment
+     * A calculated shipment only takes the values of the isotope out of the package sums
+     * (the other isotopes are not touched, their activity fractions follow the total when they are read)
+     *
+     * @param index the position of the isotope to remove
+     */
+    public void removeIsotope(int index) throws RuntimeException {
+        if(index < 0 || index >= isotopes.size()) throw new InvalidParameterException("Index " + index + " is out of range");
+
+        isotopes.remove(index);
+        if(!calculated) return;
+
+        calculator.remove(index);
+        classify();
+    }
+
+    /**
+     * Helper function to replace every isotope in the shipment
+     * The shipment has to be calculated again after this since none of the new isotopes are calculated
+     *
+     * @param isotopes the isotopes to be put into the shipment in order
+     */
+    public void replaceIsotopes(List<Isotope> isotopes) throws RuntimeException {
+        if(isotopes == null) throw new InvalidParameterException("Isotopes cannot be null");
+        for(Isotope isotope : isotopes) if(isotope == null) throw new InvalidParameterException("Isotope cannot be null");
+
+        this.isotopes.clear();
+        this.isotopes.addAll(isotopes);
+        calculated = false;
+    }
+
+    /**
+     * Helper function to classify the shipment from the package sums of the calculator
+     * Every stage only looks at the sums so reclassifying does not depend on the number of isotopes
+     *
+     * @return the classification of the package as an integer
+     */
+    private int classify() {
+        _isReportableQuan = calculator.getSumReportableFraction() >= 1;
+        _class = classify(calculator.getSumExemptConcentrationFraction(), calculator.getSumExemptLimitFraction(),
+                calculator.getSumLimitedFraction(), calculator.getSumLimitFraction(), calculator.getSumHRCQFraction(),
+                calculator.getLimitedOverCount());
+
+        return _class;
+    }
+
+    /**
+     * Helper function to classify the shipment from a set of package sums
+     *
+     * @param exemptConcentration the sum of fractions of the exempt concentrations
+     * @param exemptLimit the sum of fractions of the exempt limits
+     * @param limited the sum of fractions of the limited quantity limits
+     * @param limit the sum of fractions of A1/A2
+     * @param HRCQ the sum of fractions of the highway route control limits
+     * @param limitedOver the number of isotopes over their own limited quantity limit
+     * @return the classification of the package as an integer
+     */
+    private int classify(double exemptConcentration, double exemptLimit, double limited, double limit, double HRCQ,
+                         int limitedOver) {
+        if(isotopes.isEmpty() || isExempt(exemptConcentration, exemptLimit)) return ShipmentCalculator.EXEMPT;
+        if(isLimited(limited, limit, limitedOver)) return ShipmentCalculator.LIMITED;
+        if(limit <= 1) return ShipmentCalculator.TYPE_A;
+        return (HRCQ > 1)? ShipmentCalculator.HRCQ : ShipmentCalculator.TYPE_B;
+    }
+
+    /**
+     * Helper function to check if the shipment is exempt from the radioactive material regulations
+     * (under the exempt concentration or under the exempt consignment limit)
+     *
+     * @param exemptConcentration the sum of fractions of the exempt concentrations
+     * @param exemptLimit the sum of fractions of the exempt limits
+     * @return true if the shipment is exempt
+     */
+    private static boolean isExempt(double exemptConcentration, double exemptLimit) {
+        return exemptConcentration <= 1 || exemptLimit <= 1;
+    }
+
+    /**
+     * Helper function to check if the shipment can be shipped as a limited quantity
+     * Regular shipments use the limited limit of the state and form for the whole package,
+     * instruments and articles need every item under the item limit and the package under the package limit
+     *
+     * @param limited the sum of fractions of the limited quantity limits
+     * @param limit the sum of fractions of A1/A2
+     * @param limitedOver the number of isotopes over their own limited quantity limit
+     * @return true if the shipment is a limited quantity
+     */
+    private boolean isLimited(double limited, double limit, int limitedOver) {
+        String nature = shipmentValue(getNature(), isotopes.get(0).get_Nature());
+        if(ShipmentCalculator.isRegular(nature)) return limited <= 1;
+
+        // the limited fraction of instruments and articles is already against the item limit
+        return limitedOver == 0 && IAPackageLimit > 0 && limit / IAPackageLimit <= 1;
+    }
+
+    /**
+     * Helper function to get a value of the shipment falling back to the value of its isotopes
+     * (shipments made without details take them from the isotopes)
+     *
+     * @param shipmentValue the value of the shipment
+     * @param isotopeValue the value of the first isotope
+     * @return the value of the shipment if it has one otherwise the value of the isotope
+     */
+    private static String shipmentValue(String shipmentValue, String isotopeValue) {
+        return (shipmentValue == null || "".equals(shipmentValue))? isotopeValue : shipmentValue;
+    }
+
     /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
     /**
      * Getter function to get the isotopes in this shipment
+     * The isotopes are changed through addIsotope, setIsotope, removeIsotope and replaceIsotopes
+     * so a calculated shipment always holds the same isotopes as its calculator
      *
-     * @return the isotopes in this shipment
+     * @return a read only view of the isotopes in this shipment
      */
-    public List<Isotope> getIsotopes() { return isotopes; }
+    public List<Isotope> getIsotopes() { return Collections.unmodifiableList(isotopes); }
 
     /**
      * Getter function to get the mass of this shipment
@@ -141,16 +480,50 @@ public class Shipment {
      */
     public LocalDate getRefDate() { return _refDate; }
 
+    /**
+     * Getter function to get the classification of the whole package from the last calculation
+     *  0 = Exempt Classification
+     *  1 = Excepted/Limited Classification
+     *  2 = Type A Classification
+     *  4 = Type B Classification
+     *  8 = Type B: Highway Route Control Classification
+     *
+     * @return the classification of the package as an integer
+     */
+    public int getShipmentClass() { return _class; }
+
+    /**
+     * Getter function to get whether the package was a reportable quantity in the last calculation
+     *
+     * @return true if the package is a reportable quantity, else false
+     */
+    public boolean isReportableQuan() { return _isReportableQuan; }
+
+    /**
+     * Getter function to get whether the shipment has been calculated
+     *
+     * @return true once calculate has run for the shipment
+     */
+    public boolean isCalculated() { return calculated; }
+
+    /**
+     * Getter function to get the package sums and isotope fractions of the last calculation
+     *
+     * @return the calculator used by the shipment
+     */
+    public ShipmentCalculator getCalculator() { return calculator; }
+
     /*/////////////////////////////////////////////////// SETTERS ////////////////////////////////////////////////////*/
     /**
-     * Setter function to set the isotopes in the shipment
+     * Setter function to add the given isotopes to the end of the shipment
+     * A calculated shipment calculates each added isotope the same way addIsotope does
      *
      * @param isotopes the isotopes to be put into the shipment object
      */
     public void setIsotopes(Isotope... isotopes) {
         if(isotopes != null)
             for (Isotope isotope : isotopes){
-                if(isotope != null)this.isotopes.add(isotope);  // adding the isotope to the list
+                if(isotope != null) addIsotope(this.isotopes.size(), isotope);  // adding the isotope to the list
             }
     }
 }
@@ -0,0 +1,950 @@
+package rad.shipment.calculator.helpers;
+
+import rad.shipment.calculator.gui.Main;
+
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Calculation engine that keeps the values of every isotope in a shipment in parallel arrays (one array per value,
+ * indexed by the position of the isotope in the shipment) instead of one object per isotope
+ * The arrays are reused between loads so recalculating a shipment does not allocate anything once the arrays are big enough
+ * Adding, changing or removing one isotope only recalculates that isotope and moves the package sums by its old and new
+ * values, every few hundred of those changes the whole shipment is recalculated so rounding errors cannot build up
+ * Projections decay the calculated values over the following days, every value that is used against a limit is
+ * proportional to the activity so each one only has to be multiplied by the decay factor of the isotope
+ * The same is used to solve for the first day a package sum drops under a limit, the log of a sum of decaying
+ * exponentials is convex so Newton's method started on the calculation day climbs to the root without overshooting it
+ *
+ * Units used by the engine:
+ *  activities are in microCi (A0, today's activity) or TBq (A1, A2, reportable quantity, HRCQ limit)
+ *  the exempt limit is in Bq, the exempt concentration and activity concentration are in Bq/gram
+ *  fractions are values / limits (a fraction above 1 is over the limit), a missing limit (value <= 0) makes the fraction infinite
+ */
+public final class ShipmentCalculator {
+
+    // Declaring variables
+    public static final int EXEMPT = 0;                             // isotope classifications (same integers as Isotope._IsotopeClass)
+    public static final int LIMITED = 1;
+    public static final int TYPE_A = 2;
+    public static final int TYPE_B = 4;
+    public static final int HRCQ = 8;
+    static final double MICRO_CI_TO_BQ = 3.7e4;                    // Bq in one microCi
+    static final double MICRO_CI_TO_TBQ = 3.7e-8;                  // TBq in one microCi
+    static final double DPM_PER_MICRO_CI = 2.22e6;                 // decays per minute of one microCi
+    static final double HRCQ_MULTIPLIER = 3000;                    // HRCQ limit is 3000 * A1/A2
+    static final double HRCQ_MAX = 1000;                           // or 1000 TBq whichever is the lowest
+    private static final double LN2 = Math.log(2);
+    private final int recomputeInterval;                            // number of single isotope changes between full recalculations
+    private int size;                                               // number of isotopes loaded
+    private long epochDay;                                          // the day the values are calculated for
+    private int updates;                                            // single isotope changes since the last full recalculation
+
+    // Inputs (one entry per isotope)
+    private long[] refEpochDay = new long[0];
+    private double[] A0 = new double[0];                           // microCi
+    private double[] decayConstant = new double[0];                // 1/days
+    private double[] ALimit = new double[0];                       // A1 for special form, A2 otherwise (TBq)
+    private double[] exemptConcentration = new double[0];          // Bq/gram
+    private double[] exemptLimit = new double[0];                  // Bq
+    private double[] licenseLimit = new double[0];                 // microCi
+    private double[] reportableQuantity = new double[0];           // TBq
+    private double[] limitedMultiplier = new double[0];            // limited limit (regular) or instruments/articles multiplier
+    private double[] mass = new double[0];                         // grams/liters
+
+    // Outputs (one entry per isotope)
+    private double[] AToday = new double[0];                       // microCi
+    private double[] activity = new double[0];                     // TBq
+    private double[] HRCQLimit = new double[0];                    // TBq
+    private double[] activityConcentration = new double[0];        // Bq/gram
+    private double[] limitFraction = new double[0];                // activity / A1 or A2
+    private double[] limitedFraction = new double[0];              // activity / (limited multiplier * A1 or A2)
+    private double[] HRCQFraction = new double[0];                 // activity / HRCQ limit
+    private double[] exemptLimitFraction = new double[0];          // activity / exempt limit
+    private double[] exemptConcentrationFraction = new double[0];  // activity concentration / exempt concentration
+    private double[] reportableFraction = new double[0];           // activity / reportable quantity
+    private double[] licenseFraction = new double[0];              // today's activity / license limit
+    private int[] isotopeClass = new int[0];
+
+    // Package sums
+    private final Sum totalAToday = new Sum();
+    private final Sum totalActivity = new Sum();
+    private final Sum sumLimitFraction = new Sum();
+    private final Sum sumLimitedFraction = new Sum();
+    private final Sum sumHRCQFraction = new Sum();
+    private final Sum sumExemptLimitFraction = new Sum();
+    private final Sum sumExemptConcentrationFraction = new Sum();
+    private final Sum sumReportableFraction = new Sum();
+    private final Sum sumLicenseFraction = new Sum();
+    private final Sum[] sums = {totalAToday, totalActivity, sumLimitFraction, sumLimitedFraction, sumHRCQFraction,
+            sumExemptLimitFraction, sumExemptConcentrationFraction, sumReportableFraction, sumLicenseFraction};
+    private int limitedOver;                                        // number of isotopes over their own limited quantity limit
+    private int packageClass;
+    private final int parallelThreshold;                            // isotopes * points a projection needs before it is split up
+    private static final int MAX_NEWTON_STEPS = 50;                 // Newton steps before the solver falls back to bisection
+    private static final double DAY_TOLERANCE = 1e-6;               // the solver stops once a step moves less than this (days)
+    private static final double RELATIVE_TOLERANCE = 1e-12;         // or less than this fraction of the day it is on
+
+    /*///////////////////////////////////////////// SHIPMENT CALCULATOR //////////////////////////////////////////////*/
+
+    /**
+     * Constructs an empty ShipmentCalculator object
+     */
+    public ShipmentCalculator() { this(Main.getInt("fullRecomputeInterval"), Main.getInt("projectionParallelThreshold")); }
+
+    /**
+     * Constructs an empty ShipmentCalculator object that recalculates everything after the given number of changes
+     *
+     * @param recomputeInterval the number of single isotope changes between full recalculations
+     */
+    ShipmentCalculator(int recomputeInterval) throws InvalidParameterException {
+        this(recomputeInterval, Main.getInt("projectionParallelThreshold"));
+    }
+
+    /**
+     * Constructs an empty ShipmentCalculator object
+     *
+     * @param recomputeInterval the number of single isotope changes between full recalculations
+     * @param parallelThreshold the number of isotopes * points a projection needs before it is split across threads
+     */
+    ShipmentCalculator(int recomputeInterval, int parallelThreshold) throws InvalidParameterException {
+        if(recomputeInterval < 1) throw new InvalidParameterException("Recompute interval must be at least 1");
+
+        this.recomputeInterval = recomputeInterval;
+        this.parallelThreshold = parallelThreshold;
+        epochDay = java.time.LocalDate.now().toEpochDay();
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to copy the values of the given isotopes into the arrays
+     *
+     * @param isotopes the values of every isotope in the shipment
+     */
+    public void load(List<IsotopeData> isotopes) throws InvalidParameterException {
+        if(isotopes == null) throw new InvalidParameterException("Isotopes cannot be null");
+
+        for(IsotopeData data : isotopes) {
+            if(data == null) throw new InvalidParameterException("Isotopes cannot contain null");
+        }
+
+        ensureCapacity(isotopes.size());
+        size = isotopes.size();
+        for(int i = 0; i < size; i++) setInputs(i, isotopes.get(i));
+    }
+
+    /**
+     * Helper function to calculate every isotope value and package sum for the given day
+     * One pass over the arrays that calculates each isotope and adds it to the package sums
+     *
+     * @param epochDay the day to calculate the values for as days since 1970-01-01
+     * @throws IllegalStateException if an isotope's reference date is after the given day
+     */
+    public void calculate(long epochDay) throws IllegalStateException {
+        for(int i = 0; i < size; i++) checkRefDate(refEpochDay[i], epochDay);
+
+        this.epochDay = epochDay;
+        updates = 0;
+        limitedOver = 0;
+        for(Sum sum : sums) sum.clear();
+
+        for(int i = 0; i < size; i++) {
+            calculateIsotope(i);
+            addToSums(i, 1);
+        }
+        classifyPackage();
+    }
+
+    /**
+     * Helper function to add an isotope to the shipment and move the package sums by its values
+     *
+     * @param index the position to add the isotope at
+     * @param data the values of the isotope
+     */
+    public void add(int index, IsotopeData data) throws InvalidParameterException, IllegalStateException {
+        if(index < 0 || index > size) throw new InvalidParameterException("Index " + index + " is out of range");
+        if(data == null) throw new InvalidParameterException("Isotope cannot be null");
+        checkRefDate(data.getRefEpochDay(), epochDay);
+
+        ensureCapacity(size + 1);
+        move(index, index + 1, size - index);
+        size++;
+
+        setInputs(index, data);
+        calculateIsotope(index);
+        addToSums(index, 1);
+        updated();
+    }
+
+    /**
+     * Helper function to replace the values of an isotope and move the package sums by the difference
+     *
+     * @param index the position of the isotope
+     * @param data the new values of the isotope
+     */
+    public void set(int index, IsotopeData data) throws InvalidParameterException, IllegalStateException {
+        if(index < 0 || index >= size) throw new InvalidParameterException("Index " + index + " is out of range");
+        if(data == null) throw new InvalidParameterException("Isotope cannot be null");
+        checkRefDate(data.getRefEpochDay(), epochDay);
+
+        addToSums(index, -1);
+        setInputs(index, data);
+        calculateIsotope(index);
+        addToSums(index, 1);
+        updated();
+    }
+
+    /**
+     * Helper function to remove an isotope from the shipment and take its values out of the package sums
+     *
+     * @param index the position of the isotope
+     */
+    public void remove(int index) throws InvalidParameterException {
+        if(index < 0 || index >= size) throw new InvalidParameterException("Index " + index + " is out of range");
+
+        addToSums(index, -1);
+        move(index + 1, index, size - index - 1);
+        size--;
+        updated();
+    }
+
+    /**
+     * Helper function to decay the calculated values over the following days
+     * The isotopes are split into blocks that are projected on their own threads when the projection is big enough,
+     * each block adds up its own package sums which are then added together in block order
+     *
+     * @param points the number of points, the first one is the day the values were calculated for
+     * @param step the number of days between points
+     * @return the activity and classification of every isotope and the package sums at every point
+     */
+    public ShipmentProjection project(int points, int step) throws InvalidParameterException {
+        if(points < 1) throw new InvalidParameterException("Points must be at least 1");
+        if(step < 1) throw new InvalidParameterException("Step must be at least 1");
+
+        ShipmentProjection projection = new ShipmentProjection(epochDay, step, points, size);
+        boolean parallel = (long)size * points >= parallelThreshold;
+        int blocks = parallel? Math.min(size, ForkJoinPool.getCommonPoolParallelism() * 4) : 1;
+        double[][] partialSums = new double[blocks][];
+        int[][] partialLimitedOver = new int[blocks][];
+
+        IntStream range = IntStream.range(0, blocks);
+        (parallel? range.parallel() : range).forEach(b -> {
+            partialSums[b] = new double[ShipmentProjection.SUMS * points];
+            partialLimitedOver[b] = new int[points];
+            for(int i = size * b / blocks; i < size * (b + 1) / blocks; i++)
+                projectIsotope(i, projection, partialSums[b], partialLimitedOver[b]);
+        });
+        for(int b = 0; b < blocks; b++) projection.addSums(partialSums[b], partialLimitedOver[b]);
+
+        return projection;
+    }
+
+    /**
+     * Helper function to decay the values of one isotope over every point of a projection
+     *
+     * @param i the position of the isotope
+     * @param projection the projection to save the activity and classification of the isotope into
+     * @param sums the package sums to add the isotope to
+     * @param limitedOver the number of isotopes over their limited limit at every point
+     */
+    private void projectIsotope(int i, ShipmentProjection projection, double[] sums, int[] limitedOver) {
+        int points = projection.getPoints();
+        double[] activity = projection.getActivity();
+        int[] classes = projection.getIsotopeClass();
+        double stepFactor = Decay.factor(decayConstant[i], projection.getStep());
+        double factor = 1;
+
+        for(int t = 0; t < points; t++, factor *= stepFactor) {
+            double limited = decay(limitedFraction[i], factor);
+            double limit = decay(limitFraction[i], factor);
+            double hrcq = decay(HRCQFraction[i], factor);
+            double exempt = decay(exemptLimitFraction[i], factor);
+            double concentration = decay(exemptConcentrationFraction[i], factor);
+
+            activity[i * points + t] = AToday[i] * factor;
+            classes[i * points + t] = classify(concentration, exempt, limited, limit, hrcq);
+            sums[ShipmentProjection.TOTAL_ACTIVITY * points + t] += AToday[i] * factor;
+            sums[ShipmentProjection.LIMIT * points + t] += limit;
+            sums[ShipmentProjection.LIMITED * points + t] += limited;
+            sums[ShipmentProjection.HRCQ * points + t] += hrcq;
+            sums[ShipmentProjection.EXEMPT_LIMIT * points + t] += exempt;
+            sums[ShipmentProjection.EXEMPT_CONCENTRATION * points + t] += concentration;
+            sums[ShipmentProjection.REPORTABLE * points + t] += decay(reportableFraction[i], factor);
+            if(limited > 1) limitedOver[t]++;
+        }
+    }
+
+    /**
+     * Helper function to get the number of days after the calculation day until the package is exempt
+     * (the sum of fractions of the exempt concentrations or of the exempt limits at or under 1)
+     *
+     * @return the number of days or -1 if the package never becomes exempt
+     */
+    public long getDaysUntilExempt() {
+        return earliest(daysUntil(exemptConcentrationFraction, 1), daysUntil(exemptLimitFraction, 1));
+    }
+
+    /**
+     * Helper function to get the number of days after the calculation day until the sum of fractions of the limited
+     * quantity limits is at or under 1
+     *
+     * @return the number of days or -1 if the sum never gets under 1
+     */
+    public long getDaysUntilLimited() { return daysUntil(limitedFraction, 1); }
+
+    /**
+     * Helper function to get the number of days after the calculation day until every isotope is at or under its own
+     * limited quantity limit
+     *
+     * @return the number of days or -1 if an isotope never gets under its limit
+     */
+    public long getDaysUntilItemsLimited() {
+        long latest = 0;
+        for(int i = 0; i < size; i++) {
+            long days = daysUntil(limitedFraction[i], decayConstant[i]);
+            if(days < 0) return -1;
+            latest = Math.max(latest, days);
+        }
+        return latest;
+    }
+
+    /**
+     * Helper function to get the number of days after the calculation day until the sum of fractions of A1/A2 is at or
+     * under a limit
+     *
+     * @param limit the limit of the sum (1 for Type A, the package limit for instruments and articles)
+     * @return the number of days or -1 if the sum never gets under the limit
+     */
+    public long getDaysUntilLimit(double limit) { return daysUntil(limitFraction, limit); }
+
+    /**
+     * Helper function to get the number of days after the calculation day until the package is exempt from licensing
+     * (the sum of fractions of the license limits at or under 1)
+     *
+     * @return the number of days or -1 if the package never becomes exempt from licensing
+     */
+    public long getDaysUntilLicenseExempt() { return daysUntil(licenseFraction, 1); }
+
+    /**
+     * Helper function to find the first whole day after the calculation day a package sum is at or under a limit
+     * The isotopes that do not decay are a floor the sum can never get under, the rest of the sum is solved with
+     * Newton's method on the log of the sum (climbs to the root from the calculation day without overshooting it),
+     * bisection between the last Newton step and a day every isotope is under its share of the limit is the fallback
+     *
+     * @param fraction the fraction of every isotope on the calculation day
+     * @param limit the limit of the sum
+     * @return the number of days or -1 if the sum never gets under the limit
+     */
+    private long daysUntil(double[] fraction, double limit) {
+        double floor = 0;
+        double sum = 0;
+        int decaying = 0;
+
+        for(int i = 0; i < size; i++) {
+            if(fraction[i] <= 0) continue;
+            if(Double.isInfinite(fraction[i])) return -1;
+            if(decayConstant[i] > 0) decaying++;
+            else floor += fraction[i];
+            sum += fraction[i];
+        }
+        if(sum <= limit) return 0;
+        if(floor >= limit) return -1;
+
+        // the sum of the isotopes that decay has to get under what the floor leaves of the limit
+        double target = Math.log(limit - floor);
+        double upper = 0;
+        for(int i = 0; i < size; i++) {
+            if(fraction[i] > 0 && decayConstant[i] > 0)
+                upper = Math.max(upper, Math.log(decaying * fraction[i] / (limit - floor)) / decayConstant[i]);
+        }
+
+        double t = 0;
+        boolean converged = false;
+        for(int step = 0; step < MAX_NEWTON_STEPS && !converged; step++) {
+            double value = 0;
+            double slope = 0;
+            for(int i = 0; i < size; i++) {
+                if(fraction[i] <= 0 || decayConstant[i] <= 0) continue;
+                double term = fraction[i] * Math.exp(-decayConstant[i] * t);
+                value += term;
+                slope -= decayConstant[i] * term;
+            }
+            if(value <= 0) break;
+
+            double next = Math.min(t - (Math.log(value) - target) / (slope / value), upper);
+            converged = next - t < tolerance(t);
+            t = Math.max(t, next);
+        }
+
+        if(!converged) {
+            double high = upper;
+            while(high - t > tolerance(high)) {
+                double middle = (t + high) / 2;
+                if(decayingSum(fraction, middle) > limit - floor) t = middle;
+                else high = middle;
+            }
+            t = high;
+        }
+
+        // rounding up to a whole day and making sure rounding errors did not land one day early or late
+        long days = (long)Math.ceil(t - tolerance(t));
+        while(decayingSum(fraction, days) > limit - floor) days++;
+        while(days > 0 && decayingSum(fraction, days - 1) <= limit - floor) days--;
+        return days;
+    }
+
+    /**
+     * Helper function to get how close the solver has to get to a root before it stops
+     * (days far in the future cannot be stored any closer than a fraction of the day)
+     *
+     * @param t the number of days after the calculation day
+     * @return the tolerance in days
+     */
+    private static double tolerance(double t) { return Math.max(DAY_TOLERANCE, t * RELATIVE_TOLERANCE); }
+
+    /**
+     * Helper function to get the sum of the fractions of the isotopes that decay after a number of days
+     *
+     * @param fraction the fraction of every isotope on the calculation day
+     * @param days the number of days after the calculation day
+     * @return the sum of the decayed fractions
+     */
+    private double decayingSum(double[] fraction, double days) {
+        double sum = 0;
+        for(int i = 0; i < size; i++) {
+            if(fraction[i] > 0 && decayConstant[i] > 0) sum += fraction[i] * Math.exp(-decayConstant[i] * days);
+        }
+        return sum;
+    }
+
+    /**
+     * Helper function to find the first whole day the fraction of a single isotope is at or under 1
+     *
+     * @param fraction the fraction of the isotope on the reference day
+     * @param decayConstant the decay constant of the isotope (1/days)
+     * @return the number of days after the reference day or -1 if the fraction never gets under 1
+     */
+    static long daysUntil(double fraction, double decayConstant) {
+        if(fraction <= 1) return 0;
+        if(Double.isInfinite(fraction) || decayConstant <= 0) return -1;
+
+        long days = (long)Math.ceil(Math.log(fraction) / decayConstant);
+        while(days > 0 && fraction * Math.exp(-decayConstant * (days - 1)) <= 1) days--;
+        while(fraction * Math.exp(-decayConstant * days) > 1) days++;
+        return days;
+    }
+
+    /**
+     * Helper function to get the earlier of two day counts where -1 means never
+     *
+     * @param first the first number of days
+     * @param second the second number of days
+     * @return the earlier number of days or -1 if both are never
+     */
+    static long earliest(long first, long second) {
+        if(first < 0) return second;
+        if(second < 0) return first;
+        return Math.min(first, second);
+    }
+
+    /**
+     * Helper function to save the calculated values into the isotopes they were loaded from
+     *
+     * @param isotopes the isotopes in the same order their values were loaded in
+     */
+    public void apply(List<Isotope> isotopes) throws InvalidParameterException {
+        if(isotopes == null || isotopes.size() != size) throw new InvalidParameterException("Isotopes do not match the loaded values");
+
+        for(int i = 0; i < size; i++) apply(i, isotopes.get(i));
+    }
+
+    /**
+     * Helper function to save the calculated values of one isotope into the isotope they were loaded from
+     *
+     * @param i the position of the isotope
+     * @param isotope the isotope the values were loaded from
+     */
+    public void apply(int i, Isotope isotope) throws InvalidParameterException {
+        if(i < 0 || i >= size) throw new InvalidParameterException("Index " + i + " is out of range");
+        if(isotope == null) throw new InvalidParameterException("Isotope cannot be null");
+
+        isotope.set_ConcentrationToday((mass[i] > 0)? (float)(AToday[i] / mass[i]) : Float.POSITIVE_INFINITY);
+        isotope.set_DecaysPerMinute((float)(AToday[i] * DPM_PER_MICRO_CI));
+        isotope.set_ActivityConcentration((float)activityConcentration[i]);
+        isotope.set_Activity(activity[i], this);
+        isotope.set_LimitedQuanMultiplier((float)limitedMultiplier[i]);
+        isotope.set_ReportableQuanFraction((float)reportableFraction[i]);
+        isotope.set_LimitPercentage((float)(limitFraction[i] * 100));
+        isotope.set_ConcentrationPercentage((float)(exemptConcentrationFraction[i] * 100));
+        isotope.set_LicensePercentage((float)(licenseFraction[i] * 100));
+        isotope.set_ALimit((float)ALimit[i]);
+        isotope.set_HRCQLimit((float)HRCQLimit[i]);
+        isotope.set_IsReportableQuan(reportableFraction[i] >= 1);
+        isotope.set_IsotopeClass(isotopeClass[i]);
+    }
+
+    /**
+     * Helper function to make sure an isotope is not calculated for a day before its reference date
+     * (the decay factor would be above 1 and the activity would grow)
+     *
+     * @param refEpochDay the reference date of the isotope as days since 1970-01-01
+     * @param epochDay the day the isotope is calculated for as days since 1970-01-01
+     * @throws IllegalStateException if the reference date is after the day
+     */
+    private static void checkRefDate(long refEpochDay, long epochDay) throws IllegalStateException {
+        if(epochDay < refEpochDay) throw new IllegalStateException("reference date " + LocalDate.ofEpochDay(refEpochDay) +
+                " cannot be after the calculated date " + LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * Helper function to copy the values of an isotope into the input arrays
+     *
+     * @param i the position of the isotope
+     * @param data the values of the isotope
+     */
+    private void setInputs(int i, IsotopeData data) {
+        refEpochDay[i] = data.getRefEpochDay();
+        A0[i] = data.getA0();
+        decayConstant[i] = decayConstant(data.getDecayConstant(), data.getHalfLife());
+        ALimit[i] = "special".equalsIgnoreCase(data.getForm())? data.getA1() : data.getA2();
+        exemptConcentration[i] = data.getExemptConcentration();
+        exemptLimit[i] = data.getExemptLimit();
+        licenseLimit[i] = data.getLicenseLimit();
+        reportableQuantity[i] = data.getReportableQuantity();
+        limitedMultiplier[i] = isRegular(data.getNature())? data.getLimitedLimit() : data.getIALimitedMultiplier();
+        mass[i] = data.getMass();
+    }
+
+    /**
+     * Helper function to calculate the values of one isotope for the current day
+     *
+     * @param i the position of the isotope
+     */
+    private void calculateIsotope(int i) {
+        double today = A0[i] * Decay.factor(decayConstant[i], epochDay - refEpochDay[i]);
+        double tbq = today * MICRO_CI_TO_TBQ;
+        double bq = today * MICRO_CI_TO_BQ;
+        double hrcq = Math.min(HRCQ_MULTIPLIER * ALimit[i], HRCQ_MAX);
+        double concentration = (mass[i] > 0)? bq / mass[i] : Double.POSITIVE_INFINITY;
+
+        AToday[i] = today;
+        activity[i] = tbq;
+        HRCQLimit[i] = hrcq;
+        activityConcentration[i] = concentration;
+        limitFraction[i] = fraction(tbq, ALimit[i]);
+        limitedFraction[i] = fraction(tbq, (limitedMultiplier[i] > 0)? limitedMultiplier[i] * ALimit[i] : 0);
+        HRCQFraction[i] = fraction(tbq, hrcq);
+        exemptLimitFraction[i] = fraction(bq, exemptLimit[i]);
+        exemptConcentrationFraction[i] = fraction(concentration, exemptConcentration[i]);
+        reportableFraction[i] = fraction(tbq, reportableQuantity[i]);
+        licenseFraction[i] = fraction(today, licenseLimit[i]);
+        isotopeClass[i] = classify(exemptConcentrationFraction[i], exemptLimitFraction[i], limitedFraction[i],
+                limitFraction[i], HRCQFraction[i]);
+    }
+
+    /**
+     * Helper function to add the values of one isotope to the package sums or take them out of the sums
+     *
+     * @param i the position of the isotope
+     * @param sign 1 to add the isotope, -1 to take it out
+     */
+    private void addToSums(int i, int sign) {
+        totalAToday.add(AToday[i], sign);
+        totalActivity.add(activity[i], sign);
+        sumLimitFraction.add(limitFraction[i], sign);
+        sumLimitedFraction.add(limitedFraction[i], sign);
+        sumHRCQFraction.add(HRCQFraction[i], sign);
+        sumExemptLimitFraction.add(exemptLimitFraction[i], sign);
+        sumExemptConcentrationFraction.add(exemptConcentrationFraction[i], sign);
+        sumReportableFraction.add(reportableFraction[i], sign);
+        sumLicenseFraction.add(licenseFraction[i], sign);
+        if(limitedFraction[i] > 1) limitedOver += sign;
+    }
+
+    /**
+     * Helper function to count a single isotope change and recalculate everything when enough of them have been made
+     */
+    private void updated() {
+        if(++updates >= recomputeInterval) calculate(epochDay);
+        else classifyPackage();
+    }
+
+    /**
+     * Helper function to classify the whole package from the package sums
+     */
+    private void classifyPackage() {
+        packageClass = (size == 0)? EXEMPT : classify(sumExemptConcentrationFraction.get(), sumExemptLimitFraction.get(),
+                sumLimitedFraction.get(), sumLimitFraction.get(), sumHRCQFraction.get());
+    }
+
+    /**
+     * Helper function to classify an isotope or a package from its fractions of each limit
+     * Exempt if under either exempt value, then the first of limited, Type A and Type B it is under
+     * Type B quantities over the highway route control limit are Type B: Highway Route Control
+     *
+     * @param exemptConcentration the fraction of the exempt concentration
+     * @param exemptLimit the fraction of the exempt limit
+     * @param limited the fraction of the limited quantity limit
+     * @param limit the fraction of A1/A2
+     * @param HRCQ the fraction of the highway route control limit
+     * @return the classification as an integer
+     */
+    static int classify(double exemptConcentration, double exemptLimit, double limited, double limit, double HRCQ) {
+        if(exemptConcentration <= 1 || exemptLimit <= 1) return EXEMPT;
+        if(limited <= 1) return LIMITED;
+        if(limit <= 1) return TYPE_A;
+        return (HRCQ > 1)? ShipmentCalculator.HRCQ : TYPE_B;
+    }
+
+    /**
+     * Helper function to decay a fraction where a fraction of a missing limit stays infinite
+     *
+     * @param fraction the fraction on the day the values were calculated for
+     * @param factor the decay factor
+     * @return the decayed fraction
+     */
+    private static double decay(double fraction, double factor) { return Double.isInfinite(fraction)? fraction : fraction * factor; }
+
+    /**
+     * Helper function to divide a value by a limit where a missing limit can never be met
+     *
+     * @param value the value
+     * @param limit the limit (missing if less than or equal to 0)
+     * @return the fraction of the limit or positive infinity if the limit is missing
+     */
+    static double fraction(double value, double limit) { return (limit > 0)? value / limit : Double.POSITIVE_INFINITY; }
+
+    /**
+     * Helper function to get the decay constant to use for an isotope
+     * Some isotopes have a placeholder decay constant, their decay constant is worked out from the half life instead
+     *
+     * @param decayConstant the decay constant from the reference data (1/days)
+     * @param halfLife the half life from the reference data (days)
+     * @return the decay constant or 0 if neither value is known
+     */
+    static double decayConstant(float decayConstant, float halfLife) {
+        if(decayConstant > 0) return decayConstant;
+        return (halfLife > 0)? LN2 / halfLife : 0;
+    }
+
+    /**
+     * Helper function to check if a nature uses the regular limited quantity limits
+     *
+     * @param nature the nature (regular, instrument, article) of the isotope
+     * @return false for instruments and articles, true for everything else
+     */
+    static boolean isRegular(String nature) { return !"instrument".equalsIgnoreCase(nature) && !"article".equalsIgnoreCase(nature); }
+
+    /**
+     * Helper function to make sure the arrays can hold the given number of isotopes
+     *
+     * @param capacity the number of isotopes
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity <= A0.length) return;
+
+        int length = Math.max(capacity, A0.length * 2);
+        refEpochDay = Arrays.copyOf(refEpochDay, length);
+        A0 = Arrays.copyOf(A0, length);
+        decayConstant = Arrays.copyOf(decayConstant, length);
+        ALimit = Arrays.copyOf(ALimit, length);
+        exemptConcentration = Arrays.copyOf(exemptConcentration, length);
+        exemptLimit = Arrays.copyOf(exemptLimit, length);
+        licenseLimit = Arrays.copyOf(licenseLimit, length);
+        reportableQuantity = Arrays.copyOf(reportableQuantity, length);
+        limitedMultiplier = Arrays.copyOf(limitedMultiplier, length);
+        mass = Arrays.copyOf(mass, length);
+        AToday = Arrays.copyOf(AToday, length);
+        activity = Arrays.copyOf(activity, length);
+        HRCQLimit = Arrays.copyOf(HRCQLimit, length);
+        activityConcentration = Arrays.copyOf(activityConcentration, length);
+        limitFraction = Arrays.copyOf(limitFraction, length);
+        limitedFraction = Arrays.copyOf(limitedFraction, length);
+        HRCQFraction = Arrays.copyOf(HRCQFraction, length);
+        exemptLimitFraction = Arrays.copyOf(exemptLimitFraction, length);
+        exemptConcentrationFraction = Arrays.copyOf(exemptConcentrationFraction, length);
+        reportableFraction = Arrays.copyOf(reportableFraction, length);
+        licenseFraction = Arrays.copyOf(licenseFraction, length);
+        isotopeClass = Arrays.copyOf(isotopeClass, length);
+    }
+
+    /**
+     * Helper function to move the values of a range of isotopes to another position in every array
+     *
+     * @param from the position of the first isotope to move
+     * @param to the position to move the first isotope to
+     * @param count the number of isotopes to move
+     */
+    private void move(int from, int to, int count) {
+        if(count <= 0) return;
+
+        System.arraycopy(refEpochDay, from, refEpochDay, to, count);
+        System.arraycopy(A0, from, A0, to, count);
+        System.arraycopy(decayConstant, from, decayConstant, to, count);
+        System.arraycopy(ALimit, from, ALimit, to, count);
+        System.arraycopy(exemptConcentration, from, exemptConcentration, to, count);
+        System.arraycopy(exemptLimit, from, exemptLimit, to, count);
+        System.arraycopy(licenseLimit, from, licenseLimit, to, count);
+        System.arraycopy(reportableQuantity, from, reportableQuantity, to, count);
+        System.arraycopy(limitedMultiplier, from, limitedMultiplier, to, count);
+        System.arraycopy(mass, from, mass, to, count);
+        System.arraycopy(AToday, from, AToday, to, count);
+        System.arraycopy(activity, from, activity, to, count);
+        System.arraycopy(HRCQLimit, from, HRCQLimit, to, count);
+        System.arraycopy(activityConcentration, from, activityConcentration, to, count);
+        System.arraycopy(limitFraction, from, limitFraction, to, count);
+        System.arraycopy(limitedFraction, from, limitedFraction, to, count);
+        System.arraycopy(HRCQFraction, from, HRCQFraction, to, count);
+        System.arraycopy(exemptLimitFraction, from, exemptLimitFraction, to, count);
+        System.arraycopy(exemptConcentrationFraction, from, exemptConcentrationFraction, to, count);
+        System.arraycopy(reportableFraction, from, reportableFraction, to, count);
+        System.arraycopy(licenseFraction, from, licenseFraction, to, count);
+        System.arraycopy(isotopeClass, from, isotopeClass, to, count);
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the number of isotopes loaded
+     *
+     * @return the number of isotopes loaded
+     */
+    public int size() { return size; }
+
+    /**
+     * Getter function to get the day the values are calculated for
+     *
+     * @return the day as days since 1970-01-01
+     */
+    public long getEpochDay() { return epochDay; }
+
+    /**
+     * Getter function to get the number of isotopes that are over their own limited quantity limit
+     *
+     * @return the number of isotopes with a limited fraction over 1
+     */
+    public int getLimitedOverCount() { return limitedOver; }
+
+    /**
+     * Getter function to get the activity of an isotope on the calculated day
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope in microCi
+     */
+    public double getAToday(int i) { return AToday[i]; }
+
+    /**
+     * Getter function to get the activity of an isotope on the calculated day
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope in TBq
+     */
+    public double getActivity(int i) { return activity[i]; }
+
+    /**
+     * Getter function to get the A1 or A2 value of an isotope depending on the form
+     *
+     * @param i the position of the isotope
+     * @return A1 for special form, A2 otherwise (TBq)
+     */
+    public double getALimit(int i) { return ALimit[i]; }
+
+    /**
+     * Getter function to get the highway route control limit of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the lowest of 3000 * A1/A2 and 1000 TBq
+     */
+    public double getHRCQLimit(int i) { return HRCQLimit[i]; }
+
+    /**
+     * Getter function to get an isotope's share of the shipment's activity
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope / the activity of the shipment
+     */
+    public double getActivityFraction(int i) { return (totalActivity.get() > 0)? activity[i] / totalActivity.get() : 0; }
+
+    /**
+     * Getter function to get the activity concentration of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity concentration of the isotope in Bq/gram (or Bq/liter)
+     */
+    public double getActivityConcentration(int i) { return activityConcentration[i]; }
+
+    /**
+     * Getter function to get the fraction of A1/A2 of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope / A1 or A2
+     */
+    public double getLimitFraction(int i) { return limitFraction[i]; }
+
+    /**
+     * Getter function to get the fraction of the limited quantity limit of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope / (limited multiplier * A1 or A2)
+     */
+    public double getLimitedFraction(int i) { return limitedFraction[i]; }
+
+    /**
+     * Getter function to get the fraction of the highway route control limit of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope / the highway route control limit
+     */
+    public double getHRCQFraction(int i) { return HRCQFraction[i]; }
+
+    /**
+     * Getter function to get the fraction of the exempt limit of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope / the exempt limit
+     */
+    public double getExemptLimitFraction(int i) { return exemptLimitFraction[i]; }
+
+    /**
+     * Getter function to get the fraction of the exempt concentration of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity concentration of the isotope / the exempt concentration
+     */
+    public double getExemptConcentrationFraction(int i) { return exemptConcentrationFraction[i]; }
+
+    /**
+     * Getter function to get the fraction of the reportable quantity of an isotope
+     *
+     * @param i the position of the isotope
+     * @return the activity of the isotope / the reportable quantity
+     */
+    public double getReportableFraction(int i) { return reportableFraction[i]; }
+
+    /**
+     * Getter function to get the fraction of the license limit of an isotope
+     *
+     * @param i the position of the isotope
+     * @return today's activity of the isotope / the license limit
+     */
+    public double getLicenseFraction(int i) { return licenseFraction[i]; }
+
+    /**
+     * Getter function to get the classification of an isotope on its own
+     *
+     * @param i the position of the isotope
+     * @return the classification of the isotope as an integer
+     */
+    public int getIsotopeClass(int i) { return isotopeClass[i]; }
+
+    /**
+     * Getter function to get the activity of the shipment on the calculated day
+     *
+     * @return the sum of every isotope's activity in microCi
+     */
+    public double getTotalAToday() { return totalAToday.get(); }
+
+    /**
+     * Getter function to get the activity of the shipment on the calculated day
+     *
+     * @return the sum of every isotope's activity in TBq
+     */
+    public double getTotalActivity() { return totalActivity.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of A1/A2 of the shipment
+     *
+     * @return the sum of every isotope's fraction of A1/A2
+     */
+    public double getSumLimitFraction() { return sumLimitFraction.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of the limited quantity limits of the shipment
+     *
+     * @return the sum of every isotope's fraction of its limited quantity limit
+     */
+    public double getSumLimitedFraction() { return sumLimitedFraction.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of the highway route control limits of the shipment
+     *
+     * @return the sum of every isotope's fraction of its highway route control limit
+     */
+    public double getSumHRCQFraction() { return sumHRCQFraction.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of the exempt limits of the shipment
+     *
+     * @return the sum of every isotope's fraction of its exempt limit
+     */
+    public double getSumExemptLimitFraction() { return sumExemptLimitFraction.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of the exempt concentrations of the shipment
+     *
+     * @return the sum of every isotope's fraction of its exempt concentration
+     */
+    public double getSumExemptConcentrationFraction() { return sumExemptConcentrationFraction.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of the reportable quantities of the shipment
+     *
+     * @return the sum of every isotope's fraction of its reportable quantity
+     */
+    public double getSumReportableFraction() { return sumReportableFraction.get(); }
+
+    /**
+     * Getter function to get the sum of fractions of the license limits of the shipment
+     *
+     * @return the sum of every isotope's fraction of its license limit
+     */
+    public double getSumLicenseFraction() { return sumLicenseFraction.get(); }
+
+    /**
+     * Getter function to get the classification of the whole package
+     *
+     * @return the classification of the package as an integer
+     */
+    public int getPackageClass() { return packageClass; }
+
+    /**
+     * Running sum of fractions that can take values back out of it
+     * Infinite values (fractions of missing limits) are counted instead of added so taking one back out
+     * leaves the finite part of the sum intact
+     */
+    private static final class Sum {
+        private double value;  // sum of the finite values
+        private int infinite;  // number of infinite values in the sum
+
+        /**
+         * Helper function to add a value to the sum or take it out of the sum
+         *
+         * @param value the value
+         * @param sign 1 to add the value, -1 to take it out
+         */
+        void add(double value, int sign) {
+            if(Double.isInfinite(value)) infinite += sign;
+            else this.value += sign * value;
+        }
+
+        /**
+         * Helper function to empty the sum
+         */
+        void clear() {
+            value = 0;
+            infinite = 0;
+        }
+
+        /**
+         * Getter function to get the sum
+         *
+         * @return the sum or positive infinity if an infinite value is in it
+         */
+        double get() { return (infinite > 0)? Double.POSITIVE_INFINITY : value; }
+    }
+}
@@ -0,0 +1,281 @@
+package rad.shipment.calculator.helpers;
+
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+
+/**
+ * The activity and classification of every isotope in a shipment and of the whole package at evenly spaced days
+ * starting on the day the shipment was calculated for
+ *
+ * Values are kept in flat arrays, the value of isotope i at point t is at [i * points + t]
+ * and the package sums at point t are at [sum * points + t]
+ */
+public final class ShipmentProjection {
+    // Declaring variables
+    static final int TOTAL_ACTIVITY = 0;                  // positions of the package sums
+    static final int LIMIT = 1;
+    static final int LIMITED = 2;
+    static final int HRCQ = 3;
+    static final int EXEMPT_LIMIT = 4;
+    static final int EXEMPT_CONCENTRATION = 5;
+    static final int REPORTABLE = 6;
+    static final int SUMS = 7;                            // number of package sums
+    private final long epochDay;                          // the day of the first point as days since 1970-01-01
+    private final int step;                               // days between points
+    private final int points;                             // number of points
+    private final int size;                               // number of isotopes
+    private final double[] activity;                      // microCi of every isotope at every point
+    private final int[] isotopeClass;                     // classification of every isotope at every point
+    private final double[] sums;                          // package sums at every point
+    private final int[] limitedOver;                      // number of isotopes over their limited limit at every point
+    private final int[] packageClass;                     // classification of the package at every point
+
+    /*///////////////////////////////////////////// SHIPMENT PROJECTION //////////////////////////////////////////////*/
+
+    /**
+     * Constructs an empty ShipmentProjection object for the calculator to fill in
+     *
+     * @param epochDay the day of the first point as days since 1970-01-01
+     * @param step the number of days between points
+     * @param points the number of points
+     * @param size the number of isotopes
+     */
+    ShipmentProjection(long epochDay, int step, int points, int size) {
+        this.epochDay = epochDay;
+        this.step = step;
+        this.points = points;
+        this.size = size;
+        activity = new double[size * points];
+        isotopeClass = new int[size * points];
+        sums = new double[SUMS * points];
+        limitedOver = new int[points];
+        packageClass = new int[points];
+    }
+
+    /*/////////////////////////////////////////////////// HELPERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Helper function to add the partial sums of a block of isotopes to the package sums
+     *
+     * @param partialSums the package sums of the block
+     * @param partialLimitedOver the number of isotopes of the block over their limited limit at every point
+     */
+    void addSums(double[] partialSums, int[] partialLimitedOver) {
+        for(int j = 0; j < sums.length; j++) sums[j] += partialSums[j];
+        for(int t = 0; t < points; t++) limitedOver[t] += partialLimitedOver[t];
+    }
+
+    /**
+     * Helper function to find the first point the package is at or below a classification
+     * (0 = Exempt, 1 = Excepted/Limited, 2 = Type A, 4 = Type B, 8 = Type B: Highway Route Control)
+     *
+     * @param classification the classification
+     * @return the first point the package is at or below the classification or -1 if it never is
+     */
+    public int getFirstPoint(int classification) {
+        for(int t = 0; t < points; t++) {
+            if(packageClass[t] <= classification) return t;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper function to make sure a point is in the projection
+     *
+     * @param t the point
+     */
+    private void checkPoint(int t) throws InvalidParameterException {
+        if(t < 0 || t >= points) throw new InvalidParameterException("Point " + t + " is out of range");
+    }
+
+    /**
+     * Helper function to make sure an isotope and a point are in the projection
+     *
+     * @param i the position of the isotope
+     * @param t the point
+     */
+    private void checkIsotope(int i, int t) throws InvalidParameterException {
+        if(i < 0 || i >= size) throw new InvalidParameterException("Index " + i + " is out of range");
+        checkPoint(t);
+    }
+
+    /*/////////////////////////////////////////////////// GETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Getter function to get the number of points in the projection
+     *
+     * @return the number of points
+     */
+    public int getPoints() { return points; }
+
+    /**
+     * Getter function to get the number of isotopes in the projection
+     *
+     * @return the number of isotopes
+     */
+    public int size() { return size; }
+
+    /**
+     * Getter function to get the number of days between points
+     *
+     * @return the number of days between points
+     */
+    public int getStep() { return step; }
+
+    /**
+     * Getter function to get the day of a point as days since 1970-01-01
+     *
+     * @param t the point
+     * @return the day of the point
+     */
+    public long getEpochDay(int t) throws InvalidParameterException {
+        checkPoint(t);
+        return epochDay + (long)t * step;
+    }
+
+    /**
+     * Getter function to get the date of a point
+     *
+     * @param t the point
+     * @return the date of the point
+     */
+    public LocalDate getDate(int t) throws InvalidParameterException { return LocalDate.ofEpochDay(getEpochDay(t)); }
+
+    /**
+     * Getter function to get the activity of an isotope at a point in microCi
+     *
+     * @param i the position of the isotope
+     * @param t the point
+     * @return the activity of the isotope at the point
+     */
+    public double getActivity(int i, int t) throws InvalidParameterException {
+        checkIsotope(i, t);
+        return activity[i * points + t];
+    }
+
+    /**
+     * Getter function to get the classification of an isotope at a point
+     *
+     * @param i the position of the isotope
+     * @param t the point
+     * @return the classification of the isotope at the point as an integer
+     */
+    public int getIsotopeClass(int i, int t) throws InvalidParameterException {
+        checkIsotope(i, t);
+        return isotopeClass[i * points + t];
+    }
+
+    /**
+     * Getter function to get the total activity of the package at a point in microCi
+     *
+     * @param t the point
+     * @return the total activity at the point
+     */
+    public double getTotalActivity(int t) throws InvalidParameterException { return getSum(TOTAL_ACTIVITY, t); }
+
+    /**
+     * Getter function to get the package sum of fractions of A1/A2 at a point
+     *
+     * @param t the point
+     * @return the sum of fractions of A1/A2 at the point
+     */
+    public double getSumLimitFraction(int t) throws InvalidParameterException { return getSum(LIMIT, t); }
+
+    /**
+     * Getter function to get the package sum of fractions of the limited quantity limits at a point
+     *
+     * @param t the point
+     * @return the sum of fractions of the limited quantity limits at the point
+     */
+    public double getSumLimitedFraction(int t) throws InvalidParameterException { return getSum(LIMITED, t); }
+
+    /**
+     * Getter function to get the package sum of fractions of the highway route control limits at a point
+     *
+     * @param t the point
+     * @return the sum of fractions of the highway route control limits at the point
+     */
+    public double getSumHRCQFraction(int t) throws InvalidParameterException { return getSum(HRCQ, t); }
+
+    /**
+     * Getter function to get the package sum of fractions of the exempt limits at a point
+     *
+     * @param t the point
+     * @return the sum of fractions of the exempt limits at the point
+     */
+    public double getSumExemptLimitFraction(int t) throws InvalidParameterException { return getSum(EXEMPT_LIMIT, t); }
+
+    /**
+     * Getter function to get the package sum of fractions of the exempt concentrations at a point
+     *
+     * @param t the point
+     * @return the sum of fractions of the exempt concentrations at the point
+     */
+    public double getSumExemptConcentrationFraction(int t) throws InvalidParameterException { return getSum(EXEMPT_CONCENTRATION, t); }
+
+    /**
+     * Getter function to get the package sum of fractions of the reportable quantities at a point
+     *
+     * @param t the point
+     * @return the sum of fractions of the reportable quantities at the point
+     */
+    public double getSumReportableFraction(int t) throws InvalidParameterException { return getSum(REPORTABLE, t); }
+
+    /**
+     * Getter function to get the number of isotopes over their own limited quantity limit at a point
+     *
+     * @param t the point
+     * @return the number of isotopes over their limited limit at the point
+     */
+    public int getLimitedOverCount(int t) throws InvalidParameterException {
+        checkPoint(t);
+        return limitedOver[t];
+    }
+
+    /**
+     * Getter function to get the classification of the package at a point
+     *
+     * @param t the point
+     * @return the classification of the package at the point as an integer
+     */
+    public int getPackageClass(int t) throws InvalidParameterException {
+        checkPoint(t);
+        return packageClass[t];
+    }
+
+    /**
+     * Getter function to get a package sum at a point
+     *
+     * @param sum the position of the sum
+     * @param t the point
+     * @return the package sum at the point
+     */
+    private double getSum(int sum, int t) throws InvalidParameterException {
+        checkPoint(t);
+        return sums[sum * points + t];
+    }
+
+    /**
+     * Getter function to get the activity of every isotope at every point for the calculator to fill in
+     *
+     * @return the activity array
+     */
+    double[] getActivity() { return activity; }
+
+    /**
+     * Getter function to get the classification of every isotope at every point for the calculator to fill in
+     *
+     * @return the isotope classification array
+     */
+    int[] getIsotopeClass() { return isotopeClass; }
+
+    /*/////////////////////////////////////////////////// SETTERS ////////////////////////////////////////////////////*/
+
+    /**
+     * Setter function to set the classification of the package at a point
+     *
+     * @param t the point
+     * @param classification the classification of the package as an integer
+     */
+    void setPackageClass(int t, int classification) { packageClass[t] = classification; }
+}
@@ -1,22 +1,121 @@
 package rad.shipment.calculator.helpers;
 
-import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ModifiableObservableListBase;
 import javafx.collections.ObservableList;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import rad.shipment.calculator.gui.HomePaneController;
 import rad.shipment.calculator.gui.Main;
 
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 public class TableEditor {
 
     // Declaring variables
     private static final ResourceBundle BUNDLE = Main.getBundle();
-    private static final ObservableList<Isotope> ISOTOPES = FXCollections.observableArrayList();
+    private static final IsotopeList ISOTOPES = new IsotopeList();
+    private static final Map<RowKey, Integer> INDEX = new HashMap<>();  // row key -> position of the first row with that key
+    private static final List<RowKey> KEYS = new ArrayList<>();  // position -> key the row was indexed with
+    private static int duplicates;  // rows whose key was already in the index (the index is rebuilt on changes while there are any)
     final HomePaneController homePaneController;
-    
+
+    static {
+        // keeping the index up to date with every change to the list (including the ones made straight to the list)
+        ISOTOPES.addListener((ListChangeListener<Isotope>) TableEditor::reindex);
+    }
+
+    /**
+     * The values Isotope.equals compares, copied when the row is indexed so editing an isotope
+     * that is in the list cannot move it to another hash bucket
+     */
+    static final class RowKey {
+        private final int id;
+        private final String name;
+        private final String dbName;
+        private final float A0;
+        private final float mass;
+        private final String massUnit;
+        private final String nature;
+        private final String state;
+        private final String form;
+        private final int hash;
+
+        /**
+         * Constructs the RowKey of the given isotope
+         *
+         * @param isotope the isotope
+         */
+        RowKey(@NotNull Isotope isotope) {
+            id = isotope.getIsotopeId();
+            name = isotope.get_Name();
+            dbName = isotope.get_DBName();
+            A0 = isotope.get_A0();
+            mass = isotope.getMassValue();
+            massUnit = isotope.get_MassUnit();
+            nature = isotope.get_Nature();
+            state = isotope.get_State();
+            form = isotope.get_Form();
+            hash = Objects.hash(id, name, dbName, Float.floatToIntBits(A0 + 0.0f), Float.floatToIntBits(mass + 0.0f),
+                    massUnit, nature, state, form);  // adding 0 so -0 and 0 hash the same like they compare the same
+        }
+
+        @Override public boolean equals(Object obj) {
+            if(this == obj) return true;
+            if(!(obj instanceof RowKey)) return false;
+
+            RowKey other = (RowKey) obj;
+            return hash == other.hash && id == other.id && A0 == other.A0 && mass == other.mass &&
+                    Objects.equals(name, other.name) && Objects.equals(dbName, other.dbName) &&
+                    Objects.equals(massUnit, other.massUnit) && Objects.equals(nature, other.nature) &&
+                    Objects.equals(state, other.state) && Objects.equals(form, other.form);
+        }
+
+        @Override public int hashCode() { return hash; }
+    }
+
+    /**
+     * Observable list of the isotopes in the table that can make any number of changes one change to its listeners
+     */
+    private static final class IsotopeList extends ModifiableObservableListBase<Isotope> {
+        private final List<Isotope> rows = new ArrayList<>();
+
+        /**
+         * Helper function to make every change the given changes make to the list one change
+         * (the listeners are told about them once the changes are done)
+         *
+         * @param changes the changes to make to the list
+         */
+        void batch(Runnable changes) {
+            beginChange();
+            try {
+                changes.run();
+            } finally {
+                endChange();
+            }
+        }
+
+        @Override public Isotope get(int index) { return rows.get(index); }
+
+        @Override public int size() { return rows.size(); }
+
+        @Override protected void doAdd(int index, Isotope element) { rows.add(index, element); }
+
+        @Override protected Isotope doSet(int index, Isotope element) { return rows.set(index, element); }
+
+        @Override protected Isotope doRemove(int index) { return rows.remove(index); }
+    }
+
     @Contract(pure = true) public TableEditor(HomePaneController homePaneController){ this.homePaneController = homePaneController;}
 
     /**
@@ -45,11 +144,9 @@ public class TableEditor {
      * @param newRow the Isotope object containing the values to be set
      */
     private void updateRowInfo(Isotope newRow){
-        // getting the list of isotopes in the shipment
-        List<Isotope> isotopes = HomePaneController.getShipment().getIsotopes();
-
         // updating the isotope at the repeatIndex
-        isotopes.set(HomePaneController.getRepeatIndex(), newRow);
+        // (the home pane passes the change on to the shipment so only this isotope is recalculated)
+        ISOTOPES.set(HomePaneController.getRepeatIndex(), newRow);
     }
 
     /**
@@ -58,20 +155,100 @@ public class TableEditor {
      * @param newIso the isotope to check
      * @return true if the isotope is already in the table otherwise false
      */
-    @Contract(pure = true) private boolean isRepeat(Isotope newIso){
-        // searching through all the ISOTOPES in the table
-        // (same as the Isotope objects in the HomePaneController Observable list)
-        for(Isotope isotope: ISOTOPES){
-            // checking if the ip or hostname are the same
-            if(isotope.equals(newIso)) {
-                HomePaneController.setRepeatIndex(ISOTOPES.indexOf(isotope));
-                return true;
-            }
+    private boolean isRepeat(Isotope newIso){
+        // looking the isotope up in the index instead of comparing it to every row
+        int index = indexOf(newIso);
+        if(index >= 0) {
+            HomePaneController.setRepeatIndex(index);
+            return true;
         }
         HomePaneController.setRepeatIndex(Integer.parseInt(BUNDLE.getString("defaultInt")));  // resetting repeatIndex to show that device is not in table
         return false;
     }
 
+    /**
+     * Helper function to make every change the given changes make to the isotope list one change to its listeners
+     *
+     * @param changes the changes to make to the isotope list
+     */
+    static void batch(@NotNull Runnable changes) { ISOTOPES.batch(changes); }
+
+    /**
+     * Helper function to make sure none of the rows of a bulk change are null before anything is changed
+     *
+     * @param rows the rows to check
+     * @return a copy of the rows
+     */
+    private static List<Isotope> checkRows(Collection<Isotope> rows) throws InvalidParameterException {
+        if(rows == null) throw new InvalidParameterException("Rows cannot be null");
+
+        List<Isotope> ret = new ArrayList<>(rows);
+        for(Isotope row : ret) {
+            if(row == null) throw new InvalidParameterException("Rows cannot contain null");
+        }
+        return ret;
+    }
+
+    /**
+     * Helper function to find the position of the first row equal to an isotope
+     *
+     * @param isotope the isotope to look for
+     * @return the position of the row or -1 if no row is equal to the isotope
+     */
+    static int indexOf(Isotope isotope) {
+        if(isotope == null) return -1;
+        Integer ret = INDEX.get(new RowKey(isotope));
+        return (ret == null)? -1 : ret;
+    }
+
+    /**
+     * Helper function to update the index after the list changed
+     * Adding rows to the end and replacing rows only touches the rows that changed,
+     * anything else (or any change while the list has equal rows in it) rebuilds the index
+     *
+     * @param change the change made to the list
+     */
+    private static void reindex(ListChangeListener.Change<? extends Isotope> change) {
+        boolean rebuild = duplicates > 0;
+
+        while(!rebuild && change.next()) {
+            if(change.wasPermutated() || change.wasUpdated()) rebuild = true;
+            else if(change.wasReplaced() && change.getRemovedSize() == change.getAddedSize()) {
+                for(int i = change.getFrom(); i < change.getTo(); i++) {
+                    INDEX.remove(KEYS.get(i), i);
+                    put(change.getList().get(i), i);
+                }
+            } else if(!change.wasRemoved() && change.getTo() == change.getList().size()) {
+                for(int i = change.getFrom(); i < change.getTo(); i++) put(change.getList().get(i), i);
+            } else rebuild = true;
+        }
+
+        if(rebuild) {
+            INDEX.clear();
+            KEYS.clear();
+            duplicates = 0;
+            for(int i = 0; i < ISOTOPES.size(); i++) put(ISOTOPES.get(i), i);
+        }
+    }
+
+    /**
+     * Helper function to add a row to the index
+     *
+     * @param isotope the isotope in the row
+     * @param index the position of the row
+     */
+    private static void put(Isotope isotope, int index) {
+        RowKey key = new RowKey(isotope);
+        if(index == KEYS.size()) KEYS.add(key);
+        else KEYS.set(index, key);
+
+        Integer previous = INDEX.putIfAbsent(key, index);
+        if(previous != null) {
+            duplicates++;
+            if(index < previous) INDEX.put(key, index);
+        }
+    }
+
     /*//////////////////////////////////////////////// TABLE EDITOR //////////////////////////////////////////////////*/
 
     /**
@@ -115,7 +292,91 @@ public class TableEditor {
      *
      * @param shipment an Observable list containing the new values for all of the ISOTOPES in the table
      */
-    public void refresh(@NotNull ObservableList<Isotope> shipment) {
-        for( Isotope device: shipment) { editRow(device); }
+    public void refresh(@NotNull ObservableList<Isotope> shipment) { editRows(shipment); }
+
+    /**
+     * Function to add many rows to the table at once (e.g. pasting in a manifest)
+     * The rows that are already in the table (or earlier in the given rows) are skipped,
+     * the rest are added as one change to the list and the table is updated once
+     *
+     * @param newRows the rows to add
+     * @return the number of rows that were added
+     */
+    public int addRows(Collection<Isotope> newRows) throws InvalidParameterException {
+        List<Isotope> added = new ArrayList<>();
+        Set<RowKey> keys = new HashSet<>();
+
+        for(Isotope row : checkRows(newRows)) {
+            if(indexOf(row) < 0 && keys.add(new RowKey(row))) added.add(row);
+        }
+
+        if(!added.isEmpty()) {
+            ISOTOPES.addAll(added);
+            homePaneController.getTableView().setItems(ISOTOPES);  // updating the TableView with the observable list
+        }
+        return added.size();
+    }
+
+    /**
+     * Function to replace many rows of the table at once, each edited row replaces the row equal to it
+     * All the rows are replaced as one change to the list and the table is refreshed once
+     *
+     * @param editedRows the edited rows
+     * @return the number of rows that were replaced (rows without an equal row in the table are skipped)
+     */
+    public int editRows(Collection<Isotope> editedRows) throws InvalidParameterException {
+        List<Isotope> rows = checkRows(editedRows);
+
+        // finding every row before changing the list (the index is updated once the whole change is done)
+        int[] positions = new int[rows.size()];
+        int ret = 0;
+        for(int i = 0; i < positions.length; i++) {
+            positions[i] = indexOf(rows.get(i));
+            if(positions[i] >= 0) ret++;
+        }
+        if(ret == 0) return 0;
+
+        batch(() -> {
+            for(int i = 0; i < positions.length; i++) {
+                if(positions[i] >= 0) ISOTOPES.set(positions[i], rows.get(i));
+            }
+        });
+        homePaneController.getTableView().refresh();  // refreshing table to show updated values
+        return ret;
+    }
+
+    /**
+     * Function to remove many rows from the table at once (e.g. every selected row)
+     * All the rows are removed as one change to the list
+     *
+     * @param oldRows the rows to remove
+     * @return the number of rows that were removed
+     */
+    public int removeRows(Collection<Isotope> oldRows) throws InvalidParameterException {
+        Set<Isotope> rows = new HashSet<>(checkRows(oldRows));
+        int size = ISOTOPES.size();
+
+        if(!rows.isEmpty()) ISOTOPES.removeAll(rows);
+        return size - ISOTOPES.size();
+    }
+
+    /**
+     * Function to change the reference date of every row in the table
+     * Every row is changed as one change to the list and the table is refreshed once
+     *
+     * @param date the new reference date
+     */
+    public void redateRows(LocalDate date) throws InvalidParameterException {
+        if(date == null) throw new InvalidParameterException("Date cannot be null");
+        if(ISOTOPES.isEmpty()) return;
+
+        batch(() -> {
+            for(int i = 0; i < ISOTOPES.size(); i++) {
+                Isotope row = ISOTOPES.get(i);
+                row.set_RefDate(date);
+                ISOTOPES.set(i, row);  // replacing the row with itself so the listeners see the new date
+            }
+        });
+        homePaneController.getTableView().refresh();
     }
 }
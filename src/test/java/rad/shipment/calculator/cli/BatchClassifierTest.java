@@ -0,0 +1,139 @@
+package rad.shipment.calculator.cli;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+import rad.shipment.calculator.helpers.CsvReferenceData;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class BatchClassifierTest {
+
+    private static final Logger logr = Logger.getLogger(BatchClassifierTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static CsvReferenceData csvReferenceData;
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        csvReferenceData = CsvReferenceData.load();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void afterAllTests() { pool.shutdown(); }
+
+    private static List<Manifest> manifests(int shipments, int isotopes) throws IOException {
+        String[] names = {"Co-60", "P-32", "Cs-137", "I-131", "H-3", "C-14", "Sr-90", "Am-241"};
+        StringBuilder csv = new StringBuilder("Shipment,Isotope,A0,Mass\n");
+        for(int i = 0; i < shipments; i++) {
+            for(int j = 0; j < isotopes; j++) csv.append("S").append(i).append(',').append(names[(i + j) % names.length])
+                    .append(',').append((i % 7 + 1) * Math.pow(10, j % 6)).append(",10\n");
+        }
+        return ManifestReader.readCsv(new StringReader(csv.toString()));
+    }
+
+    private static List<String[]> classify(List<Manifest> manifests, Executor executor, int maxPending) {
+        List<String[]> ret = new ArrayList<>();
+        new BatchClassifier(csvReferenceData, LocalDate.now(), executor, maxPending).classify(manifests.iterator(), ret::add);
+        return ret;
+    }
+
+    @Test
+    public void constructor_InvalidPending() {
+        expectedException.expect(InvalidParameterException.class);
+        expectedException.expectMessage("Pending shipment limit must be at least 1");
+        new BatchClassifier(csvReferenceData, LocalDate.now(), pool, 0);
+    }
+
+    @Test
+    public void classify_OrderedAndMatchesSequential() throws IOException {
+        List<Manifest> manifests = manifests(300, 4);
+        List<String[]> sequential = classify(manifests, Runnable::run, 1);
+        List<String[]> parallel = classify(manifests, pool, 16);
+
+        Assert.assertEquals(300, parallel.size());
+        for(int i = 0; i < manifests.size(); i++) {
+            Assert.assertEquals(manifests.get(i).getId(), parallel.get(i)[BatchClassifier.ID]);
+            Assert.assertArrayEquals(sequential.get(i), parallel.get(i));
+        }
+    }
+
+    @Test
+    public void classify_IsolatesErrors() throws IOException {
+        List<Manifest> manifests = ManifestReader.readCsv(new StringReader(
+                "Shipment,Isotope,A0\n" +
+                "S1,Co-60,1\n" +
+                "S2,Unobtainium-1,1\n" +
+                "S3,Co-60,-5\n" +
+                "S4,Co-60,1e6\n"));
+        List<String[]> rows = new ArrayList<>();
+        int failed = new BatchClassifier(csvReferenceData, LocalDate.now(), pool, 2).classify(manifests.iterator(), rows::add);
+
+        Assert.assertEquals(2, failed);
+        Assert.assertEquals("Exempt", rows.get(0)[BatchClassifier.CLASSIFICATION]);
+        Assert.assertEquals("Unknown isotope(s): Unobtainium-1", rows.get(1)[BatchClassifier.ERROR]);
+        Assert.assertEquals("Initial Activity of isotope cannot be less than or equal to 0", rows.get(2)[BatchClassifier.ERROR]);
+        Assert.assertEquals("Type A", rows.get(3)[BatchClassifier.CLASSIFICATION]);
+        Assert.assertNull(rows.get(3)[BatchClassifier.ERROR]);
+    }
+
+    @Test
+    public void classify_RejectedShipmentOnlyFailsItself() throws IOException {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectsSecond = task -> {
+            if(submitted.incrementAndGet() == 2) throw new RejectedExecutionException("queue is full");
+            task.run();
+        };
+
+        List<String[]> rows = classify(manifests(3, 1), rejectsSecond, 4);
+        Assert.assertNull(rows.get(0)[BatchClassifier.ERROR]);
+        Assert.assertEquals("queue is full", rows.get(1)[BatchClassifier.ERROR]);
+        Assert.assertNull(rows.get(2)[BatchClassifier.ERROR]);
+    }
+
+    @Test
+    public void classify_BoundsPendingShipments() throws IOException {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor counting = task -> {
+            submitted.incrementAndGet();
+            pool.execute(task);
+        };
+
+        int maxPending = 8;
+        AtomicInteger written = new AtomicInteger(), mostPending = new AtomicInteger();
+        new BatchClassifier(csvReferenceData, LocalDate.now(), counting, maxPending).classify(manifests(200, 3).iterator(), row -> {
+            mostPending.accumulateAndGet(submitted.get() - written.getAndIncrement(), Math::max);
+        });
+
+        Assert.assertEquals(200, written.get());
+        Assert.assertTrue(mostPending.get() <= maxPending);
+    }
+
+    @Test
+    public void classify_Benchmark() throws IOException {
+        List<Manifest> manifests = manifests(2000, 8);
+        classify(manifests, pool, 256);  // warming up
+
+        long start = System.nanoTime();
+        classify(manifests, Runnable::run, 1);
+        long sequential = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        classify(manifests, pool, 256);
+        long parallel = System.nanoTime() - start;
+
+        logr.info("Classifying 2000 shipments of 8 isotopes took " + sequential / 1000000 + "ms on one thread and " +
+                parallel / 1000000 + "ms on " + pool.getParallelism() + " threads (" +
+                Runtime.getRuntime().availableProcessors() + " processor(s))");
+    }
+}
@@ -0,0 +1,122 @@
+package rad.shipment.calculator.cli;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.logging.Logger;
+
+public class BatchMainTest {
+
+    private static final Logger logr = Logger.getLogger(BatchMainTest.class.getName());  // getting logger
+
+    @BeforeClass
+    public static void beforeAllTests() {
+        // the csv reference data loads without starting the embedded database
+        System.setProperty("referenceDataSource", "csv");
+    }
+
+    private static String[] run(String input, String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int code = BatchMain.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new PrintStream(out, true));
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\r?\\n");
+
+        String[] ret = new String[lines.length + 1];
+        ret[0] = String.valueOf(code);
+        System.arraycopy(lines, 0, ret, 1, lines.length);
+        return ret;
+    }
+
+    @Test
+    public void run_UnknownOption() {
+        String[] ret = run("", "--colour", "blue");
+        Assert.assertEquals(String.valueOf(BatchMain.USAGE_ERROR), ret[0]);
+        Assert.assertTrue(ret[1].startsWith("Usage:"));
+    }
+
+    @Test
+    public void run_MissingFile() {
+        Assert.assertEquals(String.valueOf(BatchMain.USAGE_ERROR), run("", "--reference", "csv", "does/not/exist.csv")[0]);
+    }
+
+    @Test
+    public void run_ClassifiesStdin() {
+        String[] ret = run(
+                "Shipment,Isotope,A0,Mass,Nature,State,Form\n" +
+                "small,Co-60,1,1,Regular,Solid,Special\n" +
+                "large,Co-60,1e6,1,Regular,Solid,Special\n" +
+                "bad,Unobtainium-1,1,1,,,\n" +
+                "limited,Co-60,1e3,1,Regular,Solid,Special\n",
+                "--reference", "csv", "--date", LocalDate.now().toString());
+
+        Assert.assertEquals(String.valueOf(BatchMain.SHIPMENT_FAILED), ret[0]);
+        Assert.assertEquals(6, ret.length);
+        Assert.assertTrue(ret[2].startsWith("small,1,Exempt,false,"));
+        Assert.assertTrue(ret[3].startsWith("large,1,Type A,false,"));
+        Assert.assertTrue(ret[4].endsWith(",Unknown isotope(s): Unobtainium-1"));
+        Assert.assertTrue(ret[5].startsWith("limited,1,Excepted/Limited Quantity,"));
+        Assert.assertTrue(ret[2].endsWith("," + LocalDate.now() + ","));
+    }
+
+    @Test
+    public void run_DateBeforeRefDate() {
+        LocalDate date = LocalDate.now().minusDays(10);
+        String[] ret = run(
+                "Shipment,Isotope,A0,Mass,Nature,State,Form,RefDate\n" +
+                "current,Co-60,1,1,Regular,Solid,Special," + date + "\n" +
+                "later,Co-60,1,1,Regular,Solid,Special," + date.plusDays(1) + "\n",
+                "--reference", "csv", "--date", date.toString());
+
+        // the shipment dated after --date is a failed row instead of being classified with grown activity
+        Assert.assertEquals(String.valueOf(BatchMain.SHIPMENT_FAILED), ret[0]);
+        Assert.assertEquals(4, ret.length);
+        Assert.assertTrue(ret[2].startsWith("current,1,Exempt,false,"));
+        Assert.assertTrue(ret[3].endsWith(",reference date " + date.plusDays(1) + " cannot be after the calculated date " + date));
+    }
+
+    @Test
+    public void run_JsonFileToOutput() throws IOException {
+        File manifest = File.createTempFile("manifest", ".json");
+        File output = File.createTempFile("results", ".csv");
+        manifest.deleteOnExit();
+        output.deleteOnExit();
+        Files.write(manifest.toPath(), ("[{\"id\": \"S1, room 2\", \"mass\": 1, \"form\": \"Special\"," +
+                "\"isotopes\": [{\"name\": \"Co-60\", \"A0\": 1}]}]").getBytes(StandardCharsets.UTF_8));
+
+        String[] ret = run("", "--reference", "csv", "--output", output.getPath(), manifest.getPath());
+        Assert.assertEquals(String.valueOf(BatchMain.SUCCESS), ret[0]);
+
+        String[] rows = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8).split("\\r?\\n");
+        Assert.assertEquals(2, rows.length);
+        Assert.assertTrue(rows[1].startsWith("\"S1, room 2\",1,Exempt,"));
+    }
+
+    @Test
+    public void csvRow_Quotes() {
+        Assert.assertEquals("a,\"b,c\",\"d\"\"e\",", BatchMain.csvRow("a", "b,c", "d\"e", null));
+    }
+
+    @Test
+    public void run_Benchmark() {
+        StringBuilder input = new StringBuilder("Shipment,Isotope,A0,Mass\n");
+        String[] names = {"Co-60", "P-32", "Cs-137", "I-131", "H-3"};
+        for(int i = 0; i < 500; i++) {
+            for(int j = 0; j < names.length; j++) input.append("S").append(i).append(',').append(names[j]).append(',').append(i + j + 1).append(",10\n");
+        }
+
+        long start = System.nanoTime();
+        String[] ret = run(input.toString(), "--reference", "csv");
+        logr.info("Classifying 500 shipments of 5 isotopes took " + (System.nanoTime() - start) / 1000000 + "ms");
+
+        Assert.assertEquals(String.valueOf(BatchMain.SUCCESS), ret[0]);
+        Assert.assertEquals(502, ret.length);
+    }
+}
@@ -0,0 +1,190 @@
+package rad.shipment.calculator.cli;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rad.shipment.calculator.helpers.ManifestEntry;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+public class ManifestReaderTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+
+    @Test
+    public void read_UnknownFormat() throws IOException {
+        expectedException.expect(InvalidParameterException.class);
+        expectedException.expectMessage("Unknown manifest format: xml");
+        ManifestReader.read(new StringReader(""), "xml");
+    }
+
+    @Test
+    public void formatOf() {
+        Assert.assertEquals(ManifestReader.JSON, ManifestReader.formatOf("pending.JSON"));
+        Assert.assertEquals(ManifestReader.CSV, ManifestReader.formatOf("pending.csv"));
+        Assert.assertEquals(ManifestReader.CSV, ManifestReader.formatOf(null));
+    }
+
+    @Test
+    public void readCsv_MissingColumn() throws IOException {
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("Line 1: Header is missing the a0 column");
+        ManifestReader.readCsv(new StringReader("Shipment,Isotope\nS1,Co-60\n"));
+    }
+
+    @Test
+    public void readCsv_GroupsRows() throws IOException {
+        List<Manifest> manifests = ManifestReader.readCsv(new StringReader(
+                "isotope,SHIPMENT,A0,Mass,State,RefDate\n" +
+                "Co-60,S1,10,2,liquid,2020-01-02\n" +
+                "# comment\n" +
+                "\n" +
+                "P-32,S2,5,,,\n" +
+                "Cs-137,S1,20,3,,2020-02-03\n"));
+
+        Assert.assertEquals(2, manifests.size());
+        Manifest first = manifests.get(0);
+        Assert.assertEquals("S1", first.getId());
+        Assert.assertNull(first.getError());
+        Assert.assertEquals("Liquid", first.getState());
+        Assert.assertEquals("liters", first.getMassUnit());
+        Assert.assertEquals("Regular", first.getNature());
+        Assert.assertEquals("Normal", first.getForm());
+        Assert.assertEquals(LocalDate.of(2020, 1, 2), first.getRefDate());
+        Assert.assertEquals(2, first.getIsotopes().size());
+
+        // isotope values fall back to the shipment values
+        ManifestEntry cesium = first.getIsotopes().get(1);
+        Assert.assertEquals("Cs-137", cesium.getName());
+        Assert.assertEquals(20, cesium.getA0(), 0);
+        Assert.assertEquals(3, cesium.getMass(), 0);
+        Assert.assertEquals("liters", cesium.getMassUnit());
+        Assert.assertEquals(LocalDate.of(2020, 2, 3), cesium.getRefDate());
+
+        Manifest second = manifests.get(1);
+        Assert.assertEquals("grams", second.getMassUnit());
+        Assert.assertEquals(-2, second.getMass(), 0);
+        Assert.assertEquals(LocalDate.now(), second.getRefDate());
+    }
+
+    @Test
+    public void readCsv_BadValueOnlyFailsItsShipment() throws IOException {
+        List<Manifest> manifests = ManifestReader.readCsv(new StringReader(
+                "Shipment,Isotope,A0,RefDate\n" +
+                "S1,Co-60,lots,\n" +
+                "S2,Co-60,1,2020-13-01\n" +
+                "S3,Co-60,1,\n" +
+                "S1,P-32,1,\n"));
+
+        Assert.assertEquals(3, manifests.size());
+        Assert.assertEquals("Line 2: a0 is not a number: lots", manifests.get(0).getError());
+        Assert.assertEquals(1, manifests.get(0).getIsotopes().size());
+        Assert.assertEquals("Line 3: refdate is not a date (yyyy-MM-dd): 2020-13-01", manifests.get(1).getError());
+        Assert.assertNull(manifests.get(2).getError());
+    }
+
+    @Test
+    public void readCsv_QuotedValues() throws IOException {
+        String id = "Lab \"A\", room 2\nnorth wing";
+        List<Manifest> manifests = ManifestReader.readCsv(new StringReader(
+                BatchMain.csvRow("Shipment", "Isotope", "A0", "Nature") + "\n" +
+                BatchMain.csvRow(id, "Co-60", "1", "Regular") + "\n" +
+                "\"S2\",  \"P-32\" ,2,\n"));
+
+        Assert.assertEquals(2, manifests.size());
+        Assert.assertEquals(id, manifests.get(0).getId());
+        Assert.assertNull(manifests.get(0).getError());
+        Assert.assertEquals("Co-60", manifests.get(0).getIsotopes().get(0).getName());
+        Assert.assertEquals("S2", manifests.get(1).getId());
+        Assert.assertEquals("P-32", manifests.get(1).getIsotopes().get(0).getName());
+        Assert.assertEquals(2, manifests.get(1).getIsotopes().get(0).getA0(), 0);
+    }
+
+    @Test
+    public void readCsv_UnclosedQuote() throws IOException {
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("Line 3: Quoted value is missing its closing quote");
+        ManifestReader.readCsv(new StringReader("Shipment,Isotope,A0\nS1,Co-60,1\n\"S2,P-32,1\nS3,Co-60,1\n"));
+    }
+
+    @Test
+    public void iterate_CsvIsLazy() throws IOException {
+        // a manifest that never ends, reading it whole would never return
+        Reader endless = new Reader() {
+            private final StringBuilder text = new StringBuilder("Shipment,Isotope,A0\n");
+            private int rows = 0;
+
+            @Override public int read(char[] buffer, int offset, int length) {
+                while(text.length() < length) text.append("S").append(rows / 2).append(",Co-60,").append(++rows).append('\n');
+                text.getChars(0, length, buffer, offset);
+                text.delete(0, length);
+                return length;
+            }
+
+            @Override public void close() {}
+        };
+
+        Iterator<Manifest> manifests = ManifestReader.iterate(endless, ManifestReader.CSV);
+        for(int i = 0; i < 3; i++) {
+            Manifest manifest = manifests.next();
+            Assert.assertEquals("S" + i, manifest.getId());
+            Assert.assertEquals(2, manifest.getIsotopes().size());
+            Assert.assertEquals(2 * i + 2, manifest.getIsotopes().get(1).getA0(), 0);
+        }
+        Assert.assertTrue(manifests.hasNext());
+    }
+
+    @Test
+    public void iterate_CsvRowsApart() throws IOException {
+        Iterator<Manifest> manifests = ManifestReader.iterate(new StringReader(
+                "Shipment,Isotope,A0\n" +
+                "S1,Co-60,1\n" +
+                "S2,Co-60,1\n" +
+                "S1,P-32,1\n"), ManifestReader.CSV);
+
+        Assert.assertNull(manifests.next().getError());
+        Assert.assertNull(manifests.next().getError());
+        Assert.assertEquals("Line 4: Rows of shipment S1 are not next to each other", manifests.next().getError());
+        Assert.assertFalse(manifests.hasNext());
+    }
+
+    @Test
+    public void readJson_Shipments() throws IOException {
+        List<Manifest> manifests = ManifestReader.read(new StringReader(
+                "{\"shipments\": [\n" +
+                "  {\"id\": \"S1\", \"mass\": 4, \"nature\": \"Instrument\", \"form\": \"special\", \"refDate\": \"2020-01-02\",\n" +
+                "   \"isotopes\": [{\"name\": \"Co-60\", \"A0\": 1.5}, {\"name\": \"P-32\", \"A0\": \"2\", \"mass\": 1, \"massUnit\": \"grams\"}]},\n" +
+                "  {\"id\": 2, \"state\": \"Plasma\", \"isotopes\": []},\n" +
+                "  {\"id\": \"S3\"}\n" +
+                "]}"), "json");
+
+        Assert.assertEquals(3, manifests.size());
+        Manifest first = manifests.get(0);
+        Assert.assertNull(first.getError());
+        Assert.assertEquals("Instrument", first.getNature());
+        Assert.assertEquals("Special", first.getForm());
+        Assert.assertEquals(4, first.getMass(), 0);
+        Assert.assertEquals(1.5, first.getIsotopes().get(0).getA0(), 0);
+        Assert.assertEquals(4, first.getIsotopes().get(0).getMass(), 0);
+        Assert.assertEquals(2, first.getIsotopes().get(1).getA0(), 0);
+        Assert.assertEquals(1, first.getIsotopes().get(1).getMass(), 0);
+
+        Assert.assertEquals("2", manifests.get(1).getId());
+        Assert.assertEquals("Shipment 2: Unknown state: Plasma", manifests.get(1).getError());
+        Assert.assertEquals("Shipment 3: Expected an array of isotopes", manifests.get(2).getError());
+    }
+
+    @Test
+    public void readJson_Invalid() throws IOException {
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("Line 2: Expected ','");
+        ManifestReader.readJson(new StringReader("[{\"id\": \"S1\"\n \"isotopes\": []}]"));
+    }
+}
@@ -11,12 +11,16 @@ import org.junit.*;
 import org.junit.rules.ExpectedException;
 import org.testfx.api.FxToolkit;
 import org.testfx.framework.junit.ApplicationTest;
+import rad.shipment.calculator.helpers.CsvReferenceData;
 import rad.shipment.calculator.helpers.Isotope;
+import rad.shipment.calculator.helpers.Shipment;
+import rad.shipment.calculator.helpers.TableEditor;
 import rad.shipment.calculator.panes.HomePane;
 import rad.shipment.calculator.panes.StartWithHomePane;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.logging.Handler;
 import java.util.logging.Logger;
 import java.util.logging.StreamHandler;
@@ -151,6 +155,25 @@ public class HomePaneControllerTest extends ApplicationTest {
         Assert.assertTrue(homePane.getBtnCalculate().isDisabled());
     }
 
+    @Test
+    public void tableChanged_HomePaneLoadedTwice() throws Exception {
+        FxToolkit.setupApplication(StartWithHomePane.class);  // loading the home pane again like a scene reload does
+        CsvReferenceData reference = CsvReferenceData.load();
+        Isotope isotope = new Isotope(reference, "Co-60", reference.getIsotopeProfile("Co-60"), 1, "grams", 1,
+                "Regular", "Solid", "Special", LocalDate.now());
+
+        interact(() -> {
+            HomePaneController.setShipment(new Shipment());
+            TableEditor.getIsotopes().add(isotope);
+        });
+        try {
+            // only the last home pane passes the change on so the shipment gets the isotope once
+            Assert.assertEquals(1, HomePaneController.getShipment().getIsotopes().size());
+        } finally {
+            interact(() -> TableEditor.getIsotopes().clear());
+        }
+    }
+
     @Test
     public void setMainController_Null_Controller(){
         expectedException.expect(RuntimeException.class);
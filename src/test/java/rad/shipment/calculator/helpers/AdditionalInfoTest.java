@@ -0,0 +1,78 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.logging.Logger;
+
+public class AdditionalInfoTest {
+
+    private static final Logger logr = Logger.getLogger(AdditionalInfoTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private final IsotopeNameResolver resolver = new IsotopeNameResolver(
+            Arrays.asList("Europium-150", "Uranium-235", "Cobalt-60", "Neptunium-236"),
+            Arrays.asList("Eu-150", "U-235", "Co-60", "Np-236"));
+    private final AdditionalInfo info = new AdditionalInfo(resolver, Arrays.asList("Eu-150", " Np-236", "Xx-1"),
+            Arrays.asList("U-235", "Np-236"));
+
+    @Test
+    public void AdditionalInfo_NullResolver() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotope name resolver cannot be null");
+        new AdditionalInfo(null, Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void AdditionalInfo_NullTable() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Additional info tables cannot be null");
+        new AdditionalInfo(resolver, null, Collections.emptyList());
+    }
+
+    @Test
+    public void get_Flags() {
+        Assert.assertEquals(AdditionalInfo.SHORT_LONG, info.get("Eu-150"));
+        Assert.assertEquals(AdditionalInfo.LUNG_ABSORPTION, info.get("U-235"));
+        Assert.assertEquals(AdditionalInfo.SHORT_LONG | AdditionalInfo.LUNG_ABSORPTION, info.get("Np-236"));
+        Assert.assertEquals(AdditionalInfo.NONE, info.get("Co-60"));
+    }
+
+    @Test
+    public void get_UnknownName() {
+        Assert.assertEquals(AdditionalInfo.NONE, info.get(null));
+        Assert.assertEquals(AdditionalInfo.NONE, info.get("Xx-1"));
+        Assert.assertFalse(info.isShortLong("invalidName"));
+    }
+
+    @Test
+    public void get_Variants() {
+        Assert.assertTrue(info.isShortLong("europium 150"));
+        Assert.assertTrue(info.isLungAbsorption("235U"));
+        Assert.assertFalse(info.isLungAbsorption("Eu150"));
+    }
+
+    @Test
+    public void get_EveryKeystroke() {
+        String[] typed = {"U", "U-", "U-2", "U-23", "U-235", "Eu-15", "Eu-150", "Co-60"};
+
+        // what the add page did on every change of the isotope name before the flags were worked out up front
+        int rounds = 100000, found = 0;
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) {
+            String abbr = resolver.getAbbr(typed[round % typed.length]);
+            if(new ArrayList<>(Arrays.asList("Eu-150", "Np-236")).contains(abbr) || abbr.contains("U-23")) found++;
+        }
+        long scanned = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) if(info.get(typed[round % typed.length]) != AdditionalInfo.NONE) found--;
+        long flagged = System.nanoTime() - start;
+
+        logr.info(rounds + " name checks took " + scanned / 1000000 + "ms searching the lists and " + flagged / 1000000 +
+                "ms reading the flags");
+        Assert.assertEquals(0, found);
+    }
+}
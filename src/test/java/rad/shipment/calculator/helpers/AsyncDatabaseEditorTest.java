@@ -0,0 +1,86 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+import rad.shipment.calculator.gui.Main;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncDatabaseEditorTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static DatabaseEditor databaseEditor;
+    private AsyncDatabaseEditor asyncDatabaseEditor;
+
+    @BeforeClass
+    public static void beforeAllTests() {
+        databaseEditor = new DatabaseEditor(Main.getString("h2DB_Driver"),
+                Main.getString("testDB_Path"),
+                Main.getString("h2DB_Settings"), null, null);
+
+        if(!databaseEditor.startConnection()) Assert.fail("Failed to start database");
+        databaseEditor.setupEmbeddedDB();
+    }
+
+    @AfterClass
+    public static void afterAllTests() {
+        databaseEditor.closeConnection();
+    }
+
+    @Before
+    public void beforeEachTest() {
+        asyncDatabaseEditor = new AsyncDatabaseEditor(databaseEditor, 2);
+    }
+
+    @After
+    public void afterEachTest() {
+        asyncDatabaseEditor.close();
+    }
+
+    @Test
+    public void AsyncDatabaseEditor_NullEditor() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Reference data source cannot be null");
+        new AsyncDatabaseEditor(null, 1);
+    }
+
+    @Test
+    public void AsyncDatabaseEditor_ZeroThreads() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Number of threads must be greater than 0");
+        new AsyncDatabaseEditor(databaseEditor, 0);
+    }
+
+    @Test
+    public void getAbbr_ValidName() throws Exception {
+        Assert.assertEquals("Au-198", asyncDatabaseEditor.getAbbr("Gold-198").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void getAbbr_RunsOffCallingThread() throws Exception {
+        String caller = Thread.currentThread().getName();
+        String worker = asyncDatabaseEditor.supply(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        Assert.assertNotEquals(caller, worker);
+        Assert.assertTrue(worker.startsWith("db-lookup-"));
+    }
+
+    @Test
+    public void getAbbr_NullName() {
+        CompletableFuture<String> retVal = asyncDatabaseEditor.getAbbr(null);
+
+        try {
+            retVal.get(5, TimeUnit.SECONDS);
+            Assert.fail("Lookup should have failed");
+        } catch (Exception e) {
+            Assert.assertTrue(retVal.isCompletedExceptionally());
+            Assert.assertEquals("Isotope name cannot be null or empty string", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void getA1_ValidName() throws Exception {
+        Assert.assertEquals(databaseEditor.getA1("Au-198"), asyncDatabaseEditor.getA1("Au-198").get(5, TimeUnit.SECONDS), 0);
+    }
+}
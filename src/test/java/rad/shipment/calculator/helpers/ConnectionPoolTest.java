@@ -0,0 +1,104 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+import rad.shipment.calculator.gui.Main;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.*;
+
+public class ConnectionPoolTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private ConnectionPool pool;
+
+    @Before
+    public void beforeEachTest() throws ClassNotFoundException {
+        Class.forName(Main.getString("h2DB_Driver"));  // registering database driver
+        pool = new ConnectionPool(Main.getString("testDB_Path") + Main.getString("h2DB_Settings"),
+                null, null, 2, 500);
+    }
+
+    @After
+    public void afterEachTest() {
+        pool.close();
+    }
+
+    @Test
+    public void ConnectionPool_NullUrl() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Database url cannot be null or empty string");
+        new ConnectionPool(null, null, null, 1, 0);
+    }
+
+    @Test
+    public void ConnectionPool_ZeroSize() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Pool size must be greater than 0");
+        new ConnectionPool(Main.getString("testDB_Path"), null, null, 0, 0);
+    }
+
+    @Test
+    public void acquire_ReusesReleasedConnection() throws SQLException {
+        PooledConnection first = pool.acquire();
+        first.close();
+        PooledConnection second = pool.acquire();
+        second.close();
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, pool.getOpenCount());
+    }
+
+    @Test
+    public void close_Twice() throws SQLException {
+        PooledConnection first = pool.acquire();
+        first.close();
+        first.close();  // a second close must not give the connection back again
+
+        Assert.assertEquals(pool.getSize(), pool.getAvailableCount());
+
+        // two leases get two different connections instead of sharing the one closed twice
+        try (PooledConnection second = pool.acquire(); PooledConnection third = pool.acquire()) {
+            Assert.assertNotSame(second, third);
+            Assert.assertEquals(0, pool.getAvailableCount());
+        }
+        Assert.assertEquals(pool.getSize(), pool.getAvailableCount());
+    }
+
+    @Test
+    public void acquire_PoolExhausted() throws SQLException {
+        try (PooledConnection ignored = pool.acquire(); PooledConnection ignored2 = pool.acquire()) {
+            expectedException.expect(SQLException.class);
+            expectedException.expectMessage("Timed out after 500ms waiting for a database connection");
+            pool.acquire();
+        }
+    }
+
+    @Test
+    public void acquire_ClosedPool() throws SQLException {
+        pool.close();
+
+        expectedException.expect(SQLException.class);
+        expectedException.expectMessage("Cannot lease a connection, the pool is closed");
+        pool.acquire();
+    }
+
+    @Test
+    public void acquire_WorkerThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Callable<Boolean> task = () -> {
+                try (PooledConnection connection = pool.acquire()) {
+                    return connection.getConnection().isValid(1);
+                }
+            };
+
+            for (Future<Boolean> result : executor.invokeAll(Collections.nCopies(32, task)))
+                Assert.assertTrue(result.get());
+            Assert.assertTrue(pool.getOpenCount() <= pool.getSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
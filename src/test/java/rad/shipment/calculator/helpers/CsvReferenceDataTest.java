@@ -0,0 +1,122 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+import rad.shipment.calculator.gui.Main;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class CsvReferenceDataTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static DatabaseEditor databaseEditor;
+    private static CsvReferenceData csvReferenceData;
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        databaseEditor = new DatabaseEditor(Main.getString("h2DB_Driver"),
+                Main.getString("testDB_Path"),
+                Main.getString("h2DB_Settings"), null, null);
+
+        if(!databaseEditor.startConnection()) Assert.fail("Failed to start database");
+        databaseEditor.setupEmbeddedDB();
+
+        csvReferenceData = CsvReferenceData.load();
+    }
+
+    @AfterClass
+    public static void afterAllTests() {
+        databaseEditor.closeConnection();
+    }
+
+    @Test
+    public void getAbbr_NullName() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotope name cannot be null or empty string");
+        csvReferenceData.getAbbr(null);
+    }
+
+    @Test
+    public void getAbbr_InvalidName() {
+        Assert.assertEquals("", csvReferenceData.getAbbr("invalidName"));
+    }
+
+    @Test
+    public void getAbbr_ValidName() {
+        Assert.assertEquals("Au-198", csvReferenceData.getAbbr("gold-198"));
+        Assert.assertEquals("Gold-198", csvReferenceData.getFullName("AU-198"));
+    }
+
+    @Test
+    public void getA1_InvalidName() {
+        Assert.assertEquals((float)Main.getInt("defaultInt"), csvReferenceData.getA1("invalidName"), 0);
+        Assert.assertEquals((float)Main.getInt("defaultInt"), csvReferenceData.getA1(null), 0);
+    }
+
+    @Test
+    public void getLimitedLimit_NullState() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("state cannot be null or empty string");
+        csvReferenceData.getLimitedLimit(null, "Normal");
+    }
+
+    @Test
+    public void getIsotopeProfiles_ValidAndInvalidNames() {
+        Map<String, IsotopeProfile> retVal = csvReferenceData.getIsotopeProfiles(
+                Arrays.asList("gold-198", "invalidName", "Au-198"));
+
+        Assert.assertEquals(Arrays.asList("gold-198", "invalidName", "Au-198"), new ArrayList<>(retVal.keySet()));
+        Assert.assertEquals("Au-198", retVal.get("gold-198").getAbbr());
+        Assert.assertFalse(retVal.get("invalidName").isValid());
+    }
+
+    @Test
+    public void getAdditionalInfo_MatchesTables() throws IOException {
+        AdditionalInfo info = csvReferenceData.getAdditionalInfo();
+        List<String> shortLong = csvReferenceData.getShortLong();
+
+        // the flags give the same answer as searching the ShortLong list and the old uranium rule
+        for(String[] row : CsvReferenceData.readCsv(FileHandler.getValidIsotopesCSVPath())) {
+            Assert.assertEquals(row[1], shortLong.contains(row[1]), info.isShortLong(row[0]));
+            Assert.assertEquals(row[1], row[1].contains("U-23"), info.isLungAbsorption(row[0]));
+        }
+        Assert.assertEquals(AdditionalInfo.SHORT_LONG, info.get("np236"));
+        Assert.assertEquals(AdditionalInfo.LUNG_ABSORPTION, info.get("uranium-235"));
+        Assert.assertEquals(AdditionalInfo.NONE, info.get("invalidName"));
+    }
+
+    @Test
+    public void load_MatchesDatabase() throws IOException {
+        for(String[] row : CsvReferenceData.readCsv(FileHandler.getValidIsotopesCSVPath())) {
+            for(String name : row) {
+                IsotopeProfile expected = databaseEditor.getIsotopeProfile(name);
+                IsotopeProfile actual = csvReferenceData.getIsotopeProfile(name);
+
+                Assert.assertEquals(expected.getName(), actual.getName());
+                Assert.assertEquals(expected.getAbbr(), actual.getAbbr());
+                Assert.assertEquals(expected.getA1(), actual.getA1(), 0);
+                Assert.assertEquals(expected.getA2(), actual.getA2(), 0);
+                Assert.assertEquals(expected.getDecayConstant(), actual.getDecayConstant(), 0);
+                Assert.assertEquals(expected.getExemptConcentration(), actual.getExemptConcentration(), 0);
+                Assert.assertEquals(expected.getExemptLimit(), actual.getExemptLimit(), 0);
+                Assert.assertEquals(expected.getHalfLife(), actual.getHalfLife(), 0);
+                Assert.assertEquals(expected.getLicenseLimit(), actual.getLicenseLimit(), 0);
+                Assert.assertEquals(expected.getReportableQuantity(), actual.getReportableQuantity(), 0);
+                Assert.assertEquals(databaseEditor.getAdditionalInfo().get(name), csvReferenceData.getAdditionalInfo().get(name));
+            }
+        }
+
+        Assert.assertEquals(databaseEditor.getShortLong().size(), csvReferenceData.getShortLong().size());
+        for(String state : Main.getStates()) {
+            for(String form : Main.getForms()) {
+                Assert.assertEquals(databaseEditor.getLimitedLimit(state, form), csvReferenceData.getLimitedLimit(state, form), 0);
+                Assert.assertEquals(databaseEditor.getIALimitedMultiplier(state, form), csvReferenceData.getIALimitedMultiplier(state, form), 0);
+                Assert.assertEquals(databaseEditor.getIAPackageLimit(state, form), csvReferenceData.getIAPackageLimit(state, form), 0);
+            }
+        }
+    }
+}
@@ -11,9 +11,13 @@ import rad.shipment.calculator.panes.StartWithHomePane;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Handler;
 import java.util.logging.Logger;
@@ -196,8 +200,8 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getResultSetSize_ImproperStatementSetup() {
-        try {
-            Statement db = DatabaseEditor.con.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+        try (PooledConnection connection = databaseEditor.acquireConnection()) {
+            Statement db = connection.getConnection().createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
             ResultSet rs = db.executeQuery("select * from Isotopes");
 
             int result = databaseEditor.getResultSetSize(rs);
@@ -214,8 +218,8 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getResultSetSize_ProperResultSet() {
-        try {
-            Statement db = DatabaseEditor.con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
+        try (PooledConnection connection = databaseEditor.acquireConnection()) {
+            Statement db = connection.getConnection().createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);  // creating statement to execute SQL commands
             ResultSet rs = db.executeQuery("select * from Isotopes");
 
             int result = databaseEditor.getResultSetSize(rs);
@@ -224,6 +228,28 @@ public class DatabaseEditorTest extends ApplicationTest {
         } catch (SQLException e) { Assert.fail("Failed to create Statement"); }
     }
 
+    @Test
+    public void getPreparedStatement_SameKey() {
+        try (PooledConnection connection = databaseEditor.acquireConnection()) {
+            PreparedStatement first = databaseEditor.getPreparedStatement(connection, "A1TableQuery", Main.getString("valueCol"), "Abbr = ?");
+            PreparedStatement second = databaseEditor.getPreparedStatement(connection, "A1TableQuery", Main.getString("valueCol"), "Abbr = ?");
+
+            Assert.assertSame(first, second);
+        } catch (SQLException e) { Assert.fail("Failed to prepare statement"); }
+    }
+
+    @Test
+    public void getPreparedStatement_QuoteInParameter() {
+        try (PooledConnection connection = databaseEditor.acquireConnection()) {
+            PreparedStatement query = databaseEditor.getPreparedStatement(connection, "isotopesTableQuery",
+                    Main.getString("abbrCol"), "Upper(Abbr) = Upper(?) or Upper(Name) = Upper(?)");
+            query.setString(1, "Au-198' or '1'='1");
+            query.setString(2, "Au-198' or '1'='1");
+
+            try (ResultSet result = query.executeQuery()) { Assert.assertFalse(result.next()); }
+        } catch (SQLException e) { Assert.fail("Failed to query with prepared statement"); }
+    }
+
     @Test
     public void getAbbr_NullParam(){
         expectedException.expect(RuntimeException.class);
@@ -233,7 +259,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getAbbr_NullConnection(){
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         String retVal = databaseEditor.getAbbr("invalidName");
 
         Assert.assertEquals("", retVal);
@@ -292,7 +318,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getA1_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getA1(null);
 
@@ -340,7 +366,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getA2_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getA2(null);
 
@@ -388,7 +414,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getDecayConstant_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getDecayConstant(null);
 
@@ -436,7 +462,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getExemptConcentration_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getExemptConcentration(null);
 
@@ -486,7 +512,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getExemptLimit_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getExemptLimit(null);
 
@@ -534,7 +560,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getHalfLife_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getHalfLife(null);
 
@@ -569,7 +595,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getIALimitedMultiplier_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getIALimitedMultiplier("invalidState", "invalidForm");
 
@@ -639,7 +665,7 @@ public class DatabaseEditorTest extends ApplicationTest {
     
     @Test
     public void getIAPackageLimit_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getIAPackageLimit("invalidState", "invalidForm");
 
@@ -722,7 +748,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getLicenseLimit_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getLicenseLimit(null);
 
@@ -759,7 +785,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getLimitedLimit_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getLimitedLimit("invalidState", "invalidForm");
 
@@ -842,7 +868,7 @@ public class DatabaseEditorTest extends ApplicationTest {
 
     @Test
     public void getReportableQuantity_NullConnection() {
-        DatabaseEditor.con = null;
+        databaseEditor.closeConnection();
         float expected = (float)Main.getInt("defaultInt");
         float retVal = databaseEditor.getReportableQuantity(null);
 
@@ -877,6 +903,62 @@ public class DatabaseEditorTest extends ApplicationTest {
                 
     }
 
+    @Test
+    public void getIsotopeProfile_NullName() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotope name cannot be null or empty string");
+        databaseEditor.getIsotopeProfile(null);
+    }
+
+    @Test
+    public void getIsotopeProfile_InvalidName() {
+        IsotopeProfile retVal = databaseEditor.getIsotopeProfile("invalidName");
+
+        Assert.assertFalse(retVal.isValid());
+        Assert.assertEquals((float)Main.getInt("defaultInt"), retVal.getA1(), 0);
+    }
+
+    @Test
+    public void getIsotopeProfile_ValidName() {
+        IsotopeProfile retVal = databaseEditor.getIsotopeProfile("gold-198");
+
+        Assert.assertTrue(retVal.isValid());
+        Assert.assertEquals("Au-198", retVal.getAbbr());
+        Assert.assertEquals(databaseEditor.getFullName("Au-198"), retVal.getName());
+        Assert.assertEquals(databaseEditor.getA1("Au-198"), retVal.getA1(), 0);
+        Assert.assertEquals(databaseEditor.getHalfLife("Au-198"), retVal.getHalfLife(), 0);
+        Assert.assertEquals((float) 3.7, retVal.getReportableQuantity(), 0);
+    }
+
+    @Test
+    public void getIsotopeProfiles_NullNames() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotope names cannot be null");
+        databaseEditor.getIsotopeProfiles(null);
+    }
+
+    @Test
+    public void getIsotopeProfiles_ValidAndInvalidNames() {
+        Map<String, IsotopeProfile> retVal = databaseEditor.getIsotopeProfiles(
+                Arrays.asList("gold-198", "invalidName", "Au-198"));
+
+        Assert.assertEquals(Arrays.asList("gold-198", "invalidName", "Au-198"), new ArrayList<>(retVal.keySet()));
+        Assert.assertEquals("Au-198", retVal.get("gold-198").getAbbr());
+        Assert.assertEquals("Au-198", retVal.get("Au-198").getAbbr());
+        Assert.assertFalse(retVal.get("invalidName").isValid());
+    }
+
+    @Test
+    public void getReferenceData_AfterSetup() {
+        ReferenceData referenceData = databaseEditor.getReferenceData();
+
+        Assert.assertNotNull(referenceData);
+        Assert.assertEquals("Au-198", referenceData.getAbbr("gold-198"));
+        Assert.assertEquals((float) 1.00e+00, referenceData.getA1("Au-198"), 0);
+        Assert.assertEquals((float) 1.00e-03, referenceData.getLimitedLimit("Solid", "Normal"), 0);
+        Assert.assertEquals((float)Main.getInt("defaultInt"), referenceData.getA1("invalidName"), 0);
+    }
+
     @Test
     public void getDriver() {
         Assert.assertEquals(Main.getString("h2DB_Driver"), databaseEditor.getDriver());
@@ -0,0 +1,101 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.time.*;
+import java.util.logging.Logger;
+
+public class DecayTest {
+
+    private static final Logger logr = Logger.getLogger(DecayTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static final ZoneId zone = ZoneId.of("America/New_York");
+    private static CsvReferenceData csvReferenceData;
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        csvReferenceData = CsvReferenceData.load();
+    }
+
+    @After
+    public void afterEachTest() {
+        Decay.setClock(Clock.systemDefaultZone());
+    }
+
+    @Test
+    public void today_MatchesLocalDate() {
+        Assert.assertEquals(LocalDate.now().toEpochDay(), Decay.today());
+    }
+
+    @Test
+    public void today_ChangesAtMidnight() {
+        LocalDate date = LocalDate.of(2020, 3, 8);  // daylight saving time starts, the day is 23 hours long
+        Instant midnight = date.plusDays(1).atStartOfDay(zone).toInstant();
+
+        Decay.setClock(Clock.fixed(midnight.minusMillis(1), zone));
+        Assert.assertEquals(date.toEpochDay(), Decay.today());
+
+        Decay.setClock(Clock.fixed(midnight, zone));
+        Assert.assertEquals(date.toEpochDay() + 1, Decay.today());
+    }
+
+    @Test
+    public void factor_HalfLife() {
+        double decayConstant = Math.log(2) / 10;
+
+        Assert.assertEquals(1, Decay.factor(decayConstant, 0), 0);
+        Assert.assertEquals(0.5, Decay.factor(decayConstant, 10), 1e-12);
+        Assert.assertEquals(0.25, new Decay(decayConstant, 100, 120).getFactor(), 1e-12);
+    }
+
+    @Test
+    public void calculateA_OneHalfLife() {
+        // P-32 has a half life of 14.29 days, so it should have half of its activity left after 14 or 15 days
+        LocalDate refDate = LocalDate.of(2020, 1, 1);
+        Isotope isotope = new Isotope(csvReferenceData, "P-32", csvReferenceData.getIsotopeProfile("P-32"), 1, "grams", 100,
+                "Regular", "Solid", "Normal", refDate);
+
+        Assert.assertEquals(100, isotope.calculateA(refDate.toEpochDay()), 0);
+        Assert.assertTrue(isotope.calculateA(refDate.toEpochDay() + 14) > 50);
+        Assert.assertTrue(isotope.calculateA(refDate.toEpochDay() + 15) < 50);
+    }
+
+    @Test
+    public void calculateA_BeforeRefDate() {
+        LocalDate refDate = LocalDate.of(2020, 1, 1);
+        Isotope isotope = new Isotope(csvReferenceData, "P-32", csvReferenceData.getIsotopeProfile("P-32"), refDate);
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("reference date cannot be after today's date");
+        isotope.calculateA(refDate.toEpochDay() - 1);
+    }
+
+    @Test
+    public void calculateA_MatchesCalculator() {
+        Isotope isotope = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams", 100,
+                "Regular", "Solid", "Special", LocalDate.now().minusDays(400));
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(java.util.Collections.singletonList(isotope.getData()));
+        calculator.calculate(Decay.today());
+
+        Assert.assertEquals((float)calculator.getAToday(0), isotope.calculateAToday(), 0);
+    }
+
+    @Test
+    public void get_AToday_Benchmark() {
+        Isotope isotope = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams", 100,
+                "Regular", "Solid", "Special", LocalDate.now().minusDays(400));
+
+        // what rendering the activity column of a table does
+        int rounds = 1000000;
+        double sum = 0;
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) sum += isotope.calculateAToday();
+        long elapsed = System.nanoTime() - start;
+
+        logr.info(rounds + " activity lookups took " + elapsed / 1000000 + "ms");
+        Assert.assertEquals((double)rounds * isotope.calculateAToday(), sum, sum * 1e-6);
+    }
+}
@@ -1,10 +1,17 @@
 package rad.shipment.calculator.helpers;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
 
 public class FileHandlerTest {
 
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+
     @Test
     public void getValidIsotopesCSVPath() {
         Assert.assertEquals(
@@ -100,4 +107,36 @@ public class FileHandlerTest {
                 FileHandler.getReportQCSVPath()
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getContentHash_SameFile() throws IOException {
+        String hash = FileHandler.getContentHash(FileHandler.getA1CSVPath());
+
+        Assert.assertEquals(64, hash.length());
+        Assert.assertEquals(hash, FileHandler.getContentHash(FileHandler.getA1CSVPath()));
+    }
+
+    @Test
+    public void getContentHash_DifferentFiles() throws IOException {
+        Assert.assertNotEquals(
+                FileHandler.getContentHash(FileHandler.getA1CSVPath()),
+                FileHandler.getContentHash(FileHandler.getA2CSVPath())
+        );
+    }
+
+    @Test
+    public void getContentHash_DifferentText() throws IOException {
+        String hash = FileHandler.getContentHash(FileHandler.getA1CSVPath(), "create table A1 (Abbr char(15))");
+
+        Assert.assertEquals(64, hash.length());
+        Assert.assertEquals(FileHandler.getContentHash(FileHandler.getA1CSVPath()), FileHandler.getContentHash(FileHandler.getA1CSVPath(), ""));
+        Assert.assertNotEquals(hash, FileHandler.getContentHash(FileHandler.getA1CSVPath(), "create table A1 (Abbr char(20))"));
+    }
+
+    @Test
+    public void getContentHash_MissingFile() throws IOException {
+        expectedException.expect(FileNotFoundException.class);
+        expectedException.expectMessage("Could not find classpath:csv/missing.csv on the classpath");
+        FileHandler.getContentHash("classpath:csv/missing.csv");
+    }
+}
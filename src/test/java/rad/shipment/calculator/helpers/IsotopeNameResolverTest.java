@@ -0,0 +1,125 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.logging.Logger;
+
+public class IsotopeNameResolverTest {
+
+    private static final Logger logr = Logger.getLogger(IsotopeNameResolverTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private final IsotopeNameResolver resolver = new IsotopeNameResolver(
+            Arrays.asList("Cobalt-60", "Silver-110m", "Tritium", "Cobalt-60"),
+            Arrays.asList("Co-60", "Ag-110m", "T", "Co-60"));
+
+    @Test
+    public void IsotopeNameResolver_NullNames() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotope names cannot be null");
+        new IsotopeNameResolver(null, Collections.emptyList());
+    }
+
+    @Test
+    public void IsotopeNameResolver_MissingAbbr() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Every isotope name needs an abbreviation");
+        new IsotopeNameResolver(Collections.singletonList("Cobalt-60"), Collections.emptyList());
+    }
+
+    @Test
+    public void resolve_DuplicateRows() {
+        Assert.assertEquals(3, resolver.size());
+    }
+
+    @Test
+    public void resolve_NullName() {
+        Assert.assertEquals(-1, resolver.resolve(null));
+        Assert.assertEquals("", resolver.getAbbr((String) null));
+    }
+
+    @Test
+    public void resolve_InvalidName() {
+        Assert.assertEquals(-1, resolver.resolve("invalidName"));
+        Assert.assertEquals("", resolver.getFullName("Co-61"));
+    }
+
+    @Test
+    public void resolve_Variants() {
+        int id = resolver.resolve("Co-60");
+
+        for(String name : Arrays.asList("co-60", " CO-60 ", "Co60", "Co 60", "60Co", "cobalt-60", "Cobalt 60", "COBALT60"))
+            Assert.assertEquals(name, id, resolver.resolve(name));
+        Assert.assertEquals("Ag-110m", resolver.getAbbr("110mAg"));
+        Assert.assertEquals("Tritium", resolver.getFullName("t"));
+    }
+
+    @Test
+    public void resolve_InternedNames() {
+        Assert.assertSame(resolver.getAbbr("cobalt-60"), resolver.getAbbr("Co60"));
+        Assert.assertSame("Co-60", resolver.getAbbr("60co"));
+    }
+
+    @Test
+    public void resolve_AmbiguousVariant() {
+        IsotopeNameResolver ambiguous = new IsotopeNameResolver(Arrays.asList("A-1", "A1"), Arrays.asList("A-1", "A1"));
+
+        Assert.assertEquals("A-1", ambiguous.getAbbr("a-1"));
+        Assert.assertEquals("A1", ambiguous.getAbbr("a1"));
+        Assert.assertEquals("", ambiguous.getAbbr("a 1"));
+    }
+
+    @Test
+    public void suggest_NegativeLimit() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Suggestion limit cannot be negative");
+        resolver.suggest("Co", -1);
+    }
+
+    @Test
+    public void suggest_NullText() {
+        Assert.assertTrue(resolver.suggest(null, 10).isEmpty());
+        Assert.assertTrue(resolver.suggest("", 10).isEmpty());
+        Assert.assertTrue(resolver.suggest("Co", 0).isEmpty());
+    }
+
+    @Test
+    public void suggest_Prefixes() {
+        int cobalt = resolver.resolve("Co-60"), silver = resolver.resolve("Ag-110m"), tritium = resolver.resolve("T");
+
+        Assert.assertEquals(Collections.singletonList(cobalt), resolver.suggest("co", 10));
+        Assert.assertEquals(Collections.singletonList(cobalt), resolver.suggest("cobalt 6", 10));
+        Assert.assertEquals(Collections.singletonList(silver), resolver.suggest("sil", 10));
+        Assert.assertEquals(Collections.singletonList(silver), resolver.suggest("110", 10));
+        Assert.assertEquals(Collections.singletonList(tritium), resolver.suggest("TRI", 10));
+        Assert.assertTrue(resolver.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    public void suggest_ResolvedFirst() {
+        IsotopeNameResolver isotopes = new IsotopeNameResolver(Arrays.asList("Cobalt-57", "Cobalt-58", "Cobalt-60", "Cobalt-60m"),
+                Arrays.asList("Co-57", "Co-58", "Co-60", "Co-60m"));
+
+        Assert.assertEquals(Arrays.asList(2, 3), isotopes.suggest("Co-60", 10));
+        Assert.assertEquals(Arrays.asList(0, 1), isotopes.suggest("co-5", 10));
+        Assert.assertEquals(Arrays.asList(0, 1, 2), isotopes.suggest("co", 3));
+    }
+
+    @Test
+    public void suggest_EveryIsotope() throws IOException {
+        IsotopeNameResolver isotopes = CsvReferenceData.load().getResolver();
+        String[] typed = {"a", "co", "cobalt", "u-23", "60", "i-1", "tech", "xe"};
+
+        int rounds = 10000, found = 0;
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) found += isotopes.suggest(typed[round % typed.length], 10).size();
+        long elapsed = System.nanoTime() - start;
+
+        logr.info(rounds + " suggestions over " + isotopes.size() + " isotopes took " + elapsed / 1000000 + "ms");
+        Assert.assertTrue(found > 0);
+        Assert.assertTrue(isotopes.suggest("u-23", 10).contains(isotopes.resolve("U-235")));
+    }
+}
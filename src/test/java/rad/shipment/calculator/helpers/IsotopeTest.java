@@ -0,0 +1,170 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class IsotopeTest {
+
+    private static final Logger logr = Logger.getLogger(IsotopeTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static CsvReferenceData csvReferenceData;
+    private final AtomicInteger lookups = new AtomicInteger();  // number of calls made to the reference data source
+    private ReferenceDataSource countingSource;
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        csvReferenceData = CsvReferenceData.load();
+    }
+
+    @Before
+    public void beforeEachTest() {
+        // counting every call that reaches the reference data source
+        countingSource = (ReferenceDataSource) Proxy.newProxyInstance(ReferenceDataSource.class.getClassLoader(),
+                new Class<?>[]{ReferenceDataSource.class}, (proxy, method, args) -> {
+                    lookups.incrementAndGet();
+                    return method.invoke(csvReferenceData, args);
+                });
+    }
+
+    private Isotope newIsotope(String name) {
+        return new Isotope(countingSource, name, csvReferenceData.getIsotopeProfile(name), LocalDate.now());
+    }
+
+    @Test
+    public void Isotope_NullSource() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Reference data source cannot be null");
+        new Isotope(null, "Au-198", csvReferenceData.getIsotopeProfile("Au-198"), LocalDate.now());
+    }
+
+    @Test
+    public void get_Name_ValidName() {
+        Isotope isotope = newIsotope("gold-198");
+
+        Assert.assertEquals("Gold-198 (Au-198)", isotope.get_Name());
+        Assert.assertEquals("Au-198", isotope.get_AbbrName());
+        Assert.assertEquals("Gold-198", isotope.get_FullName());
+        Assert.assertEquals(csvReferenceData.getResolver().resolve("Au-198"), isotope.getIsotopeId());
+    }
+
+    @Test
+    public void set_Name_Variant() {
+        Isotope isotope = newIsotope("Au-198");
+        int hash = isotope.hashCode();
+        isotope.set_Name("Co60");
+
+        Assert.assertEquals("Cobalt-60 (Co-60)", isotope.get_Name());
+        Assert.assertEquals(csvReferenceData.getResolver().resolve("Co-60"), isotope.getIsotopeId());
+        Assert.assertNotEquals(hash, isotope.hashCode());
+    }
+
+    @Test
+    public void equals_SameIsotope() {
+        Isotope isotope = newIsotope("Au-198");
+        Isotope other = newIsotope("Gold-198");
+
+        Assert.assertEquals(isotope, other);
+        Assert.assertEquals(isotope.hashCode(), other.hashCode());
+        Assert.assertNotEquals(isotope, newIsotope("Co-60"));
+    }
+
+    @Test
+    public void hashCode_ChangedA0() {
+        Isotope isotope = newIsotope("Au-198");
+        Isotope other = newIsotope("Au-198");
+        other.set_A0(5);
+
+        Assert.assertNotEquals(isotope, other);
+        Assert.assertNotEquals(isotope.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void getData_MatchesProfile() {
+        IsotopeProfile profile = csvReferenceData.getIsotopeProfile("Co-60");
+        Isotope isotope = newIsotope("Co-60");
+        isotope.set_A0(5);
+        IsotopeData data = isotope.getData();
+
+        Assert.assertEquals(isotope.getIsotopeId(), data.getId());
+        Assert.assertEquals("Co-60", data.getAbbr());
+        Assert.assertEquals(5, data.getA0(), 0);
+        Assert.assertEquals(profile.getA1(), data.getA1(), 0);
+        Assert.assertEquals(profile.getHalfLife(), data.getHalfLife(), 0);
+        Assert.assertEquals(LocalDate.now().toEpochDay(), data.getRefEpochDay());
+
+        // the data is a snapshot, changing the isotope replaces it instead of changing it
+        isotope.set_HalfLife(1);
+        Assert.assertEquals(profile.getHalfLife(), data.getHalfLife(), 0);
+        Assert.assertEquals(1, isotope.getData().getHalfLife(), 0);
+    }
+
+    @Test
+    public void _NameProperty_FollowsName() {
+        Isotope isotope = newIsotope("Au-198");
+        javafx.beans.property.ReadOnlyStringProperty name = isotope._NameProperty();
+
+        Assert.assertEquals("Gold-198 (Au-198)", name.get());
+        Assert.assertSame(name, isotope._NameProperty());
+        isotope.set_Name("Co60");
+        Assert.assertEquals("Cobalt-60 (Co-60)", name.get());
+    }
+
+    @Test
+    public void _ATodayProperty_Cached() {
+        Isotope isotope = newIsotope("Co-60");
+        javafx.beans.property.ReadOnlyStringProperty activity = isotope._ATodayProperty();
+        String text = activity.get();
+
+        // asking again without changing anything keeps the same text instead of working it out again
+        Assert.assertSame(activity, isotope._ATodayProperty());
+        Assert.assertSame(text, activity.get());
+
+        // changing the isotope changes the text the next time the column asks for it
+        isotope.set_A0(10);
+        Assert.assertEquals(isotope.get_AToday(), isotope._ATodayProperty().get());
+        Assert.assertNotEquals(text, activity.get());
+
+        int rounds = 100000;
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) isotope.get_AToday();
+        long uncached = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) isotope._ATodayProperty();
+        long cached = System.nanoTime() - start;
+
+        logr.info(rounds + " renders of today's activity took " + uncached / 1000000 + "ms working it out and " +
+                cached / 1000000 + "ms from the property");
+    }
+
+    @Test
+    public void renderAndCompare_NoLookups() throws IOException {
+        List<Isotope> isotopes = new ArrayList<>();
+        for(String[] row : CsvReferenceData.readCsv(FileHandler.getValidIsotopesCSVPath())) isotopes.add(newIsotope(row[1]));
+        lookups.set(0);
+
+        // what the table does when it renders and what TableEditor.isRepeat and hash based collections do
+        long start = System.nanoTime();
+        int rounds = 200;
+        for(int round = 0; round < rounds; round++) {
+            Set<Isotope> seen = new HashSet<>();
+            for(Isotope isotope : isotopes) {
+                Assert.assertFalse(isotope.get_Name().isEmpty());
+                Assert.assertTrue(seen.add(isotope));
+                Assert.assertEquals(isotope, isotopes.get(isotopes.indexOf(isotope)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        logr.info(rounds + " rounds of rendering and comparing " + isotopes.size() + " isotopes took "
+                + elapsed / 1000000 + "ms with " + lookups.get() + " reference data lookups");
+        Assert.assertEquals(0, lookups.get());
+    }
+}
@@ -0,0 +1,545 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+
+public class ShipmentCalculatorTest {
+
+    private static final Logger logr = Logger.getLogger(ShipmentCalculatorTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static final String[] natures = {"Regular", "Instrument", "Article"};
+    private static final String[] states = {"Solid", "Liquid"};
+    private static final String[] forms = {"Special", "Normal"};
+    private static CsvReferenceData csvReferenceData;
+    private static List<String> names;
+    private final long today = LocalDate.now().toEpochDay();
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        csvReferenceData = CsvReferenceData.load();
+        names = new ArrayList<>();
+        for(String[] row : CsvReferenceData.readCsv(FileHandler.getValidIsotopesCSVPath())) names.add(row[1]);
+    }
+
+    /**
+     * Builds a random shipment that is the same every time for the same seed
+     */
+    private List<Isotope> randomIsotopes(int count, long seed) {
+        Random random = new Random(seed);
+        List<Isotope> ret = new ArrayList<>();
+
+        for(int i = 0; i < count; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            String state = states[random.nextInt(states.length)];
+            ret.add(new Isotope(csvReferenceData, name, csvReferenceData.getIsotopeProfile(name), 1 + random.nextInt(1000),
+                    "Liquid".equals(state)? "liters" : "grams", (float)Math.pow(10, random.nextInt(12) - 2),
+                    natures[random.nextInt(natures.length)], state, forms[random.nextInt(forms.length)],
+                    LocalDate.now().minusDays(random.nextInt(3650))));
+        }
+        return ret;
+    }
+
+    private static List<IsotopeData> data(List<Isotope> isotopes) {
+        List<IsotopeData> ret = new ArrayList<>();
+        for(Isotope isotope : isotopes) ret.add(isotope.getData());
+        return ret;
+    }
+
+    /**
+     * Calculates the same values one isotope object at a time
+     *
+     * @return the classification of the package
+     */
+    private static int objectPath(List<Isotope> isotopes, long epochDay) {
+        double totalActivity = 0, sumLimit = 0, sumLimited = 0, sumHRCQ = 0, sumExemptLimit = 0, sumExemptConcentration = 0;
+
+        for(Isotope isotope : isotopes) {
+            double ALimit = "special".equalsIgnoreCase(isotope.get_Form())? isotope.get_A1() : isotope.get_A2();
+            double multiplier = ShipmentCalculator.isRegular(isotope.get_Nature())? isotope.get_LimitedLimit() : isotope.get_IALimitedMultiplier();
+            double decayConstant = ShipmentCalculator.decayConstant(isotope.get_DecayConstant(), isotope.getHalfLifeValue());
+            double today = isotope.get_A0() * Math.exp(-decayConstant * (epochDay - isotope.getData().getRefEpochDay()));
+            double tbq = today * ShipmentCalculator.MICRO_CI_TO_TBQ;
+            double bq = today * ShipmentCalculator.MICRO_CI_TO_BQ;
+            double hrcq = Math.min(ShipmentCalculator.HRCQ_MULTIPLIER * ALimit, ShipmentCalculator.HRCQ_MAX);
+            double concentration = (isotope.getMassValue() > 0)? bq / isotope.getMassValue() : Double.POSITIVE_INFINITY;
+            double limit = ShipmentCalculator.fraction(tbq, ALimit);
+            double limited = ShipmentCalculator.fraction(tbq, (multiplier > 0)? multiplier * ALimit : 0);
+            double HRCQ = ShipmentCalculator.fraction(tbq, hrcq);
+            double exemptLimit = ShipmentCalculator.fraction(bq, isotope.get_ExemptLimit());
+            double exemptConcentration = ShipmentCalculator.fraction(concentration, isotope.get_ExemptConcentration());
+            double reportable = ShipmentCalculator.fraction(tbq, isotope.get_ReportableQuan());
+
+            isotope.set_ConcentrationToday((isotope.getMassValue() > 0)? (float)(today / isotope.getMassValue()) : Float.POSITIVE_INFINITY);
+            isotope.set_DecaysPerMinute((float)(today * ShipmentCalculator.DPM_PER_MICRO_CI));
+            isotope.set_ActivityConcentration((float)concentration);
+            isotope.set_ActivityFraction((float)tbq);  // divided by the total below
+            isotope.set_LimitedQuanMultiplier((float)multiplier);
+            isotope.set_ReportableQuanFraction((float)reportable);
+            isotope.set_LimitPercentage((float)(limit * 100));
+            isotope.set_ConcentrationPercentage((float)(exemptConcentration * 100));
+            isotope.set_LicensePercentage((float)(ShipmentCalculator.fraction(today, isotope.get_LicenseLimit()) * 100));
+            isotope.set_ALimit((float)ALimit);
+            isotope.set_HRCQLimit((float)hrcq);
+            isotope.set_IsReportableQuan(reportable >= 1);
+            isotope.set_IsotopeClass(ShipmentCalculator.classify(exemptConcentration, exemptLimit, limited, limit, HRCQ));
+
+            totalActivity += tbq;
+            sumLimit += limit;
+            sumLimited += limited;
+            sumHRCQ += HRCQ;
+            sumExemptLimit += exemptLimit;
+            sumExemptConcentration += exemptConcentration;
+        }
+
+        for(Isotope isotope : isotopes) {
+            isotope.set_ActivityFraction((totalActivity > 0)? (float)(isotope.get_ActivityFraction() / totalActivity) : 0);
+        }
+        return ShipmentCalculator.classify(sumExemptConcentration, sumExemptLimit, sumLimited, sumLimit, sumHRCQ);
+    }
+
+    private static void assertSameValues(Isotope expected, Isotope actual) {
+        Assert.assertEquals(expected.get_ConcentrationToday(), actual.get_ConcentrationToday(), 0);
+        Assert.assertEquals(expected.get_DecaysPerMinute(), actual.get_DecaysPerMinute(), 0);
+        Assert.assertEquals(expected.get_ActivityConcentration(), actual.get_ActivityConcentration(), 0);
+        Assert.assertEquals(expected.get_ActivityFraction(), actual.get_ActivityFraction(), Math.ulp(expected.get_ActivityFraction()));
+        Assert.assertEquals(expected.get_LimitedQuanMultiplier(), actual.get_LimitedQuanMultiplier(), 0);
+        Assert.assertEquals(expected.get_ReportableQuanFraction(), actual.get_ReportableQuanFraction(), 0);
+        Assert.assertEquals(expected.get_LimitPercentage(), actual.get_LimitPercentage(), 0);
+        Assert.assertEquals(expected.get_ConcentrationPercentage(), actual.get_ConcentrationPercentage(), 0);
+        Assert.assertEquals(expected.get_LicensePercentage(), actual.get_LicensePercentage(), 0);
+        Assert.assertEquals(expected.get_ALimit(), actual.get_ALimit(), 0);
+        Assert.assertEquals(expected.get_HRCQLimit(), actual.get_HRCQLimit(), 0);
+        Assert.assertEquals(expected.get_IsReportableQuan(), actual.get_IsReportableQuan());
+        Assert.assertEquals(expected.get_IsotopeClass(), actual.get_IsotopeClass());
+    }
+
+    @Test
+    public void load_Null() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotopes cannot be null");
+        new ShipmentCalculator().load(null);
+    }
+
+    @Test
+    public void apply_WrongSize() {
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(data(randomIsotopes(3, 1)));
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Isotopes do not match the loaded values");
+        calculator.apply(randomIsotopes(2, 1));
+    }
+
+    @Test
+    public void calculate_Empty() {
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(new ArrayList<>());
+        calculator.calculate(today);
+
+        Assert.assertEquals(0, calculator.size());
+        Assert.assertEquals(0, calculator.getTotalActivity(), 0);
+        Assert.assertEquals(ShipmentCalculator.EXEMPT, calculator.getPackageClass());
+    }
+
+    @Test
+    public void calculate_Decay() {
+        // one half life of Co-60 later the activity has halved
+        Isotope isotope = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams",
+                1000, "Regular", "Solid", "Special", LocalDate.now());
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(Collections.singletonList(isotope.getData()));
+        calculator.calculate(today + Math.round(isotope.getHalfLifeValue()));
+
+        Assert.assertEquals(500, calculator.getAToday(0), 1);
+        Assert.assertEquals(calculator.getAToday(0) * ShipmentCalculator.MICRO_CI_TO_TBQ / isotope.get_A1(), calculator.getLimitFraction(0), 1e-12);
+        Assert.assertEquals(1, calculator.getActivityFraction(0), 0);
+    }
+
+    @Test
+    public void calculate_RefDateAfterDay() {
+        // a reference date after the calculated day would make the activity grow instead of decay
+        Isotope isotope = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams",
+                1000, "Regular", "Solid", "Special", LocalDate.ofEpochDay(today + 1));
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(Collections.singletonList(isotope.getData()));
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("reference date " + LocalDate.ofEpochDay(today + 1) +
+                " cannot be after the calculated date " + LocalDate.ofEpochDay(today));
+        calculator.calculate(today);
+    }
+
+    @Test
+    public void add_RefDateAfterDay() {
+        Isotope isotope = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams",
+                1000, "Regular", "Solid", "Special", LocalDate.ofEpochDay(today + 1));
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(new ArrayList<>());
+        calculator.calculate(today);
+
+        try {
+            calculator.add(0, isotope.getData());
+            Assert.fail("Expected the isotope to be rejected");
+        } catch(IllegalStateException e) {
+            // the rejected isotope is not added to the package
+            Assert.assertEquals(0, calculator.size());
+            Assert.assertEquals(0, calculator.getTotalActivity(), 0);
+        }
+    }
+
+    @Test
+    public void classify_Order() {
+        Assert.assertEquals(ShipmentCalculator.EXEMPT, ShipmentCalculator.classify(0.5, 2, 2, 2, 2));
+        Assert.assertEquals(ShipmentCalculator.EXEMPT, ShipmentCalculator.classify(2, 0.5, 2, 2, 2));
+        Assert.assertEquals(ShipmentCalculator.LIMITED, ShipmentCalculator.classify(2, 2, 1, 2, 2));
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, ShipmentCalculator.classify(2, 2, 2, 1, 2));
+        Assert.assertEquals(ShipmentCalculator.TYPE_B, ShipmentCalculator.classify(2, 2, 2, 2, 1));
+        Assert.assertEquals(ShipmentCalculator.HRCQ, ShipmentCalculator.classify(2, 2, 2, 2, 1.5));
+    }
+
+    @Test
+    public void calculate_MatchesObjectPath() {
+        List<Isotope> expected = randomIsotopes(2000, 42);
+        List<Isotope> actual = randomIsotopes(2000, 42);
+        int packageClass = objectPath(expected, today);
+
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(data(actual));
+        calculator.calculate(today);
+        calculator.apply(actual);
+
+        for(int i = 0; i < expected.size(); i++) assertSameValues(expected.get(i), actual.get(i));
+        Assert.assertEquals(packageClass, calculator.getPackageClass());
+    }
+
+    private static void assertSameSums(ShipmentCalculator expected, ShipmentCalculator actual, double delta) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(expected.getTotalActivity(), actual.getTotalActivity(), delta * expected.getTotalActivity());
+        Assert.assertEquals(expected.getSumLimitFraction(), actual.getSumLimitFraction(), delta * expected.getSumLimitFraction());
+        Assert.assertEquals(expected.getSumLimitedFraction(), actual.getSumLimitedFraction(), delta * expected.getSumLimitedFraction());
+        Assert.assertEquals(expected.getSumHRCQFraction(), actual.getSumHRCQFraction(), delta * expected.getSumHRCQFraction());
+        Assert.assertEquals(expected.getSumExemptLimitFraction(), actual.getSumExemptLimitFraction(), delta * expected.getSumExemptLimitFraction());
+        Assert.assertEquals(expected.getSumReportableFraction(), actual.getSumReportableFraction(), delta * expected.getSumReportableFraction());
+        Assert.assertEquals(expected.getLimitedOverCount(), actual.getLimitedOverCount());
+        Assert.assertEquals(expected.getPackageClass(), actual.getPackageClass());
+    }
+
+    @Test
+    public void set_OutOfRange() {
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        List<IsotopeData> data = data(randomIsotopes(3, 1));
+        calculator.load(data);
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Index 3 is out of range");
+        calculator.set(3, data.get(0));
+    }
+
+    @Test
+    public void addSetRemove_MatchesFullCalculation() {
+        List<IsotopeData> pool = data(randomIsotopes(500, 3));
+        List<IsotopeData> current = new ArrayList<>(pool.subList(0, 100));
+        ShipmentCalculator incremental = new ShipmentCalculator(Integer.MAX_VALUE);
+        incremental.load(current);
+        incremental.calculate(today);
+
+        Random random = new Random(5);
+        for(int change = 0; change < 2000; change++) {
+            IsotopeData data = pool.get(random.nextInt(pool.size()));
+            int operation = random.nextInt(3);
+
+            if(operation == 0 || current.isEmpty()) {
+                int index = random.nextInt(current.size() + 1);
+                current.add(index, data);
+                incremental.add(index, data);
+            } else if(operation == 1) {
+                int index = random.nextInt(current.size());
+                current.set(index, data);
+                incremental.set(index, data);
+            } else {
+                int index = random.nextInt(current.size());
+                current.remove(index);
+                incremental.remove(index);
+            }
+        }
+
+        ShipmentCalculator full = new ShipmentCalculator();
+        full.load(current);
+        full.calculate(today);
+
+        assertSameSums(full, incremental, 1e-9);
+        for(int i = 0; i < full.size(); i++) {
+            Assert.assertEquals(full.getAToday(i), incremental.getAToday(i), 0);
+            Assert.assertEquals(full.getIsotopeClass(i), incremental.getIsotopeClass(i));
+        }
+    }
+
+    @Test
+    public void set_RecomputeBoundsDrift() {
+        List<IsotopeData> data = data(randomIsotopes(200, 9));
+        ShipmentCalculator incremental = new ShipmentCalculator(100);
+        incremental.load(data);
+        incremental.calculate(today);
+
+        // every 100th change recalculates the whole shipment so the sums come out exactly the same as a fresh calculation
+        for(int change = 0; change < 1000; change++) incremental.set(change % data.size(), data.get((change * 7) % data.size()));
+
+        List<IsotopeData> expected = new ArrayList<>(data);
+        for(int change = 0; change < 1000; change++) expected.set(change % data.size(), data.get((change * 7) % data.size()));
+        ShipmentCalculator full = new ShipmentCalculator();
+        full.load(expected);
+        full.calculate(today);
+
+        assertSameSums(full, incremental, 0);
+    }
+
+    @Test
+    public void remove_InfiniteFraction() {
+        // Co-60 has no limited limit as a special form liquid so its limited fraction is infinite
+        IsotopeData liquid = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "liters",
+                1, "Regular", "Liquid", "Special", LocalDate.now()).getData();
+        IsotopeData solid = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams",
+                1, "Regular", "Solid", "Special", LocalDate.now()).getData();
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(Arrays.asList(solid, liquid));
+        calculator.calculate(today);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, calculator.getSumLimitedFraction(), 0);
+
+        calculator.remove(1);
+        Assert.assertEquals(calculator.getLimitedFraction(0), calculator.getSumLimitedFraction(), 0);
+    }
+
+    @Test
+    public void project_InvalidStep() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Step must be at least 1");
+        new ShipmentCalculator().project(10, 0);
+    }
+
+    @Test
+    public void project_MatchesCalculate() {
+        List<IsotopeData> data = data(randomIsotopes(300, 13));
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(data);
+        calculator.calculate(today);
+        ShipmentProjection projection = calculator.project(20, 7);
+
+        // every point should be the same as calculating the shipment on the day of the point
+        ShipmentCalculator expected = new ShipmentCalculator();
+        expected.load(data);
+        for(int t = 0; t < projection.getPoints(); t++) {
+            expected.calculate(today + 7 * t);
+
+            Assert.assertEquals(today + 7 * t, projection.getEpochDay(t));
+            Assert.assertEquals(expected.getTotalAToday(), projection.getTotalActivity(t), 1e-9 * expected.getTotalAToday());
+            Assert.assertEquals(expected.getSumLimitFraction(), projection.getSumLimitFraction(t), 1e-9 * expected.getSumLimitFraction());
+            Assert.assertEquals(expected.getSumLimitedFraction(), projection.getSumLimitedFraction(t), 1e-9 * expected.getSumLimitedFraction());
+            Assert.assertEquals(expected.getSumReportableFraction(), projection.getSumReportableFraction(t), 1e-9 * expected.getSumReportableFraction());
+            Assert.assertEquals(expected.getLimitedOverCount(), projection.getLimitedOverCount(t));
+            for(int i = 0; i < data.size(); i++) {
+                Assert.assertEquals(expected.getAToday(i), projection.getActivity(i, t), 1e-9 * expected.getAToday(i) + Double.MIN_NORMAL);
+                Assert.assertEquals(expected.getIsotopeClass(i), projection.getIsotopeClass(i, t));
+            }
+        }
+    }
+
+    @Test
+    public void project_ParallelMatchesSequential() {
+        List<IsotopeData> data = data(randomIsotopes(1000, 17));
+        ShipmentCalculator sequential = new ShipmentCalculator(500, Integer.MAX_VALUE);
+        ShipmentCalculator parallel = new ShipmentCalculator(500, 1);
+        sequential.load(data);
+        sequential.calculate(today);
+        parallel.load(data);
+        parallel.calculate(today);
+
+        ShipmentProjection expected = sequential.project(366, 1);
+        ShipmentProjection actual = parallel.project(366, 1);
+        for(int t = 0; t < expected.getPoints(); t++) {
+            Assert.assertEquals(expected.getTotalActivity(t), actual.getTotalActivity(t), 1e-12 * expected.getTotalActivity(t));
+            Assert.assertEquals(expected.getSumHRCQFraction(t), actual.getSumHRCQFraction(t), 1e-12 * expected.getSumHRCQFraction(t));
+            Assert.assertEquals(expected.getLimitedOverCount(t), actual.getLimitedOverCount(t));
+            Assert.assertEquals(expected.getActivity(999, t), actual.getActivity(999, t), 0);
+        }
+    }
+
+    @Test
+    public void project_Benchmark() {
+        List<IsotopeData> data = data(randomIsotopes(2000, 19));
+        ShipmentCalculator sequential = new ShipmentCalculator(500, Integer.MAX_VALUE);
+        ShipmentCalculator parallel = new ShipmentCalculator(500, 1);
+        sequential.load(data);
+        sequential.calculate(today);
+        parallel.load(data);
+        parallel.calculate(today);
+        int points = 3651;
+
+        // warming up both paths
+        sequential.project(points, 1);
+        parallel.project(points, 1);
+
+        long start = System.nanoTime();
+        ShipmentProjection projection = sequential.project(points, 1);
+        long sequentialTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        parallel.project(points, 1);
+        long parallelTime = System.nanoTime() - start;
+
+        // what calculating the shipment once per day would take
+        start = System.nanoTime();
+        for(int t = 0; t < points; t++) sequential.calculate(today + t);
+        long calculateTime = System.nanoTime() - start;
+
+        logr.info("Projecting a " + data.size() + " isotope shipment over " + points + " days took " + sequentialTime / 1000000 +
+                "ms on one thread, " + parallelTime / 1000000 + "ms split across threads and " + calculateTime / 1000000 +
+                "ms calculating every day");
+        Assert.assertEquals(points, projection.getPoints());
+    }
+
+    /**
+     * Keeps the isotopes that have every limit and decay (a missing limit can never be met so nothing can be solved)
+     */
+    private static List<IsotopeData> solvable(List<IsotopeData> isotopes) {
+        List<IsotopeData> ret = new ArrayList<>();
+        for(IsotopeData data : isotopes) {
+            if(data.getA1() > 0 && data.getA2() > 0 && data.getExemptLimit() > 0 && data.getExemptConcentration() > 0 &&
+                    data.getLicenseLimit() > 0 && data.getLimitedLimit() > 0 && data.getIALimitedMultiplier() > 0 &&
+                    ShipmentCalculator.decayConstant(data.getDecayConstant(), data.getHalfLife()) > 0) ret.add(data);
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the first point of a projection a sum is at or under 1 by checking every point
+     *
+     * @return the first point or -1 if the sum is over 1 at every point
+     */
+    private static long firstPoint(ShipmentProjection projection, java.util.function.IntToDoubleFunction sum) {
+        for(int t = 0; t < projection.getPoints(); t++) {
+            if(sum.applyAsDouble(t) <= 1) return t;
+        }
+        return -1;
+    }
+
+    @Test
+    public void daysUntil_MatchesProjection() {
+        int points = 4000;
+        for(long seed = 20; seed < 30; seed++) {
+            ShipmentCalculator calculator = new ShipmentCalculator();
+            calculator.load(solvable(data(randomIsotopes(2000, seed))).subList(0, 300));
+            calculator.calculate(today);
+            ShipmentProjection projection = calculator.project(points, 1);
+
+            long exempt = calculator.getDaysUntilExempt();
+            long expected = ShipmentCalculator.earliest(firstPoint(projection, projection::getSumExemptLimitFraction),
+                    firstPoint(projection, projection::getSumExemptConcentrationFraction));
+            Assert.assertEquals((exempt < points)? exempt : -1, expected);
+
+            long limited = calculator.getDaysUntilLimited();
+            Assert.assertEquals((limited < points)? limited : -1, firstPoint(projection, projection::getSumLimitedFraction));
+
+            long type = calculator.getDaysUntilLimit(1);
+            Assert.assertEquals((type < points)? type : -1, firstPoint(projection, projection::getSumLimitFraction));
+        }
+    }
+
+    @Test
+    public void daysUntil_WideHalfLives() {
+        // half lives from hours (F-18) to thousands of years (Ra-226) where only the long lived isotope is left at the end
+        List<IsotopeData> data = new ArrayList<>();
+        String[] mix = {"F-18", "Tc-99m", "I-131", "P-32", "Co-60", "Cs-137", "Ra-226"};
+        for(int i = 0; i < mix.length; i++) {
+            data.add(new Isotope(csvReferenceData, mix[i], csvReferenceData.getIsotopeProfile(mix[i]), 1, "grams",
+                    (float)Math.pow(10, 8 - i), "Regular", "Solid", "Normal", LocalDate.now()).getData());
+        }
+        ShipmentCalculator calculator = new ShipmentCalculator();
+        calculator.load(data);
+        calculator.calculate(today);
+
+        long days = calculator.getDaysUntilExempt();
+        Assert.assertTrue(days > 0);
+
+        // the package should be exempt on the solved day and not the day before it
+        ShipmentCalculator check = new ShipmentCalculator();
+        check.load(data);
+        check.calculate(today + days);
+        Assert.assertEquals(ShipmentCalculator.EXEMPT, check.getPackageClass());
+        check.calculate(today + days - 1);
+        Assert.assertNotEquals(ShipmentCalculator.EXEMPT, check.getPackageClass());
+    }
+
+    @Test
+    public void daysUntil_SingleIsotope() {
+        double decayConstant = Math.log(2) / 10;
+
+        Assert.assertEquals(0, ShipmentCalculator.daysUntil(1, decayConstant));
+        Assert.assertEquals(10, ShipmentCalculator.daysUntil(2, decayConstant));
+        Assert.assertEquals(11, ShipmentCalculator.daysUntil(2.01, decayConstant));
+        Assert.assertEquals(-1, ShipmentCalculator.daysUntil(2, 0));
+        Assert.assertEquals(-1, ShipmentCalculator.daysUntil(Double.POSITIVE_INFINITY, decayConstant));
+    }
+
+    @Test
+    public void daysUntil_Benchmark() {
+        List<ShipmentCalculator> calculators = new ArrayList<>();
+        for(long seed = 40; seed < 60; seed++) {
+            ShipmentCalculator calculator = new ShipmentCalculator();
+            calculator.load(solvable(data(randomIsotopes(2000, seed))).subList(0, 300));
+            calculator.calculate(today);
+            calculators.add(calculator);
+        }
+
+        int rounds = 1000;
+        long total = 0;
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) {
+            ShipmentCalculator calculator = calculators.get(round % calculators.size());
+            total += calculator.getDaysUntilExempt() + calculator.getDaysUntilLimited() + calculator.getDaysUntilLicenseExempt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        logr.info("Solving the exempt, limited and licensing dates of a " + calculators.get(0).size() + " isotope shipment took " +
+                elapsed / rounds / 1000 + "\u00B5s on average (" + total / rounds + " days on average)");
+        Assert.assertTrue(elapsed / rounds < 1000000);
+    }
+
+    @Test
+    public void calculate_Benchmark() {
+        int count = 10000;
+        int rounds = 50;
+        List<Isotope> isotopes = randomIsotopes(count, 7);
+        ShipmentCalculator calculator = new ShipmentCalculator();
+
+        // warming up both paths before timing them
+        for(int round = 0; round < rounds; round++) {
+            objectPath(isotopes, today);
+            calculator.load(data(isotopes));
+            calculator.calculate(today);
+        }
+
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) objectPath(isotopes, today + round);
+        long objectTime = System.nanoTime() - start;
+
+        calculator.load(data(isotopes));
+        start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) calculator.calculate(today + round);
+        long arrayTime = System.nanoTime() - start;
+
+        // changing one isotope at a time instead of recalculating the whole shipment
+        start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) calculator.set(round, isotopes.get(count - round - 1).getData());
+        long changeTime = System.nanoTime() - start;
+
+        logr.info(rounds + " calculations of a " + count + " isotope shipment took " + objectTime / 1000000 +
+                "ms one isotope object at a time, " + arrayTime / 1000000 + "ms over arrays and " + changeTime / 1000 +
+                "\u00B5s changing one isotope at a time");
+        Assert.assertEquals(count, calculator.size());
+    }
+}
@@ -0,0 +1,316 @@
+package rad.shipment.calculator.helpers;
+
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class ShipmentTest {
+
+    private static final Logger logr = Logger.getLogger(ShipmentTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static CsvReferenceData csvReferenceData;
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        csvReferenceData = CsvReferenceData.load();
+    }
+
+    private static Isotope cobalt(float A0, String nature) {
+        return new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams", A0,
+                nature, "Solid", "Special", LocalDate.now());
+    }
+
+    private static int classify(float A0, String nature) {
+        Shipment shipment = new Shipment(1, nature, "Solid", "Special", LocalDate.now());
+        shipment.setIsotopes(cobalt(A0, nature));
+        return shipment.calculate(csvReferenceData, LocalDate.now());
+    }
+
+    @Test
+    public void calculate_NullDate() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Date cannot be null");
+        new Shipment().calculate(csvReferenceData, null);
+    }
+
+    @Test
+    public void calculate_Empty() {
+        Shipment shipment = new Shipment();
+
+        Assert.assertFalse(shipment.isCalculated());
+        Assert.assertEquals(ShipmentCalculator.EXEMPT, shipment.calculate(csvReferenceData, LocalDate.now()));
+        Assert.assertTrue(shipment.isCalculated());
+    }
+
+    @Test
+    public void calculate_Classes() {
+        // Co-60: exempt limit 1e5 Bq, A1 0.4 TBq, limited limit 1e-3 * A1, HRCQ limit 1000 TBq
+        Assert.assertEquals(ShipmentCalculator.EXEMPT, classify(1, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.LIMITED, classify(1e3f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, classify(1e6f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.TYPE_B, classify(1e8f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.HRCQ, classify(3e10f, "Regular"));
+    }
+
+    @Test
+    public void calculate_InstrumentLimits() {
+        // instruments get the larger item limit (1e-2 * A1) and package limit (1 * A1)
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, classify(2e4f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.LIMITED, classify(2e4f, "Instrument"));
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, classify(2e5f, "Instrument"));
+    }
+
+    @Test
+    public void calculate_SetsIsotopeValues() {
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", LocalDate.now());
+        Isotope isotope = cobalt(2e7f, "Regular");
+        shipment.setIsotopes(isotope);
+        shipment.calculate(csvReferenceData, LocalDate.now());
+
+        // 2e7 microCi is 0.74 TBq, twice the reportable quantity of Co-60
+        Assert.assertTrue(shipment.isReportableQuan());
+        Assert.assertTrue(isotope.get_IsReportableQuan());
+        Assert.assertEquals(2, isotope.get_ReportableQuanFraction(), 1e-5);
+        Assert.assertEquals(isotope.get_A1(), isotope.get_ALimit(), 0);
+        Assert.assertEquals(1, isotope.get_ActivityFraction(), 0);
+        Assert.assertEquals(ShipmentCalculator.TYPE_B, isotope.get_IsotopeClass());
+    }
+
+    @Test
+    public void addIsotope_Reclassifies() {
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", LocalDate.now());
+        shipment.setIsotopes(cobalt(1e3f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.LIMITED, shipment.calculate(csvReferenceData, LocalDate.now()));
+
+        shipment.addIsotope(1, cobalt(1e6f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, shipment.getShipmentClass());
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, shipment.getIsotopes().get(1).get_IsotopeClass());
+
+        shipment.setIsotope(1, cobalt(1e8f, "Regular"));
+        Assert.assertEquals(ShipmentCalculator.TYPE_B, shipment.getShipmentClass());
+
+        shipment.removeIsotope(1);
+        Assert.assertEquals(ShipmentCalculator.LIMITED, shipment.getShipmentClass());
+        Assert.assertEquals(1, shipment.getCalculator().size());
+    }
+
+    @Test
+    public void addIsotopes_UnknownName() {
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", LocalDate.now());
+
+        try {
+            shipment.addIsotopes(csvReferenceData, Arrays.asList(new ManifestEntry("Co-60", 1, 1, "grams", LocalDate.now()),
+                    new ManifestEntry("Unobtainium-1", 1, 1, "grams", LocalDate.now())));
+            Assert.fail("Unknown isotope was added");
+        } catch(RuntimeException e) {
+            Assert.assertEquals("Unknown isotope(s): Unobtainium-1", e.getMessage());
+        }
+
+        // nothing is added if any of the isotopes is unknown
+        Assert.assertTrue(shipment.getIsotopes().isEmpty());
+    }
+
+    @Test
+    public void addIsotopes_SameIsotopeTwice() {
+        LocalDate today = LocalDate.now();
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", today);
+        List<Isotope> added = shipment.addIsotopes(csvReferenceData, Arrays.asList(
+                new ManifestEntry("Co-60", 1e3f, 2, "grams", today.minusYears(1)),
+                new ManifestEntry("cobalt 60", 1e6f, 5, "grams", today)));
+
+        Assert.assertEquals(added, shipment.getIsotopes());
+        Assert.assertEquals("Co-60", added.get(1).get_AbbrName());
+        Assert.assertEquals(today.minusYears(1), added.get(0).getLocalDateRefDate());
+        Assert.assertEquals(5, added.get(1).getMassValue(), 0);
+
+        // the same as building the isotopes one at a time
+        Shipment expected = new Shipment(1, "Regular", "Solid", "Special", today);
+        expected.setIsotopes(new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 2, "grams", 1e3f,
+                "Regular", "Solid", "Special", today.minusYears(1)),
+                new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 5, "grams", 1e6f,
+                "Regular", "Solid", "Special", today));
+        Assert.assertEquals(expected.calculate(csvReferenceData, today), shipment.calculate(csvReferenceData, today));
+        Assert.assertEquals(expected.getCalculator().getTotalAToday(), shipment.getCalculator().getTotalAToday(), 1e-3);
+    }
+
+    @Test
+    public void setIsotopes_AfterCalculate() {
+        LocalDate today = LocalDate.now();
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", today);
+        shipment.setIsotopes(cobalt(1e3f, "Regular"));
+        shipment.calculate(csvReferenceData, today);
+
+        // the bulk setter, then single changes at positions that only line up if the calculator kept up
+        shipment.setIsotopes(cobalt(1e6f, "Regular"), cobalt(2e4f, "Regular"));
+        shipment.addIsotope(shipment.getIsotopes().size() - 1, cobalt(1e8f, "Regular"));
+        shipment.removeIsotope(1);
+        shipment.setIsotope(0, cobalt(5e3f, "Regular"));
+
+        Shipment fresh = new Shipment(1, "Regular", "Solid", "Special", today);
+        for(Isotope isotope : shipment.getIsotopes()) fresh.setIsotopes(cobalt(isotope.get_A0(), "Regular"));
+        Assert.assertEquals(fresh.calculate(csvReferenceData, today), shipment.getShipmentClass());
+        Assert.assertEquals(fresh.getCalculator().size(), shipment.getCalculator().size());
+        Assert.assertEquals(fresh.getCalculator().getTotalAToday(), shipment.getCalculator().getTotalAToday(), 1e-3);
+
+    }
+
+    @Test
+    public void addIsotope_OnlyTouchesNewRow() {
+        LocalDate today = LocalDate.now();
+        int[] applied = new int[3];
+        Isotope[] isotopes = new Isotope[3];
+        for(int i = 0; i < isotopes.length; i++) {
+            int row = i;
+            isotopes[i] = new Isotope(csvReferenceData, "Co-60", csvReferenceData.getIsotopeProfile("Co-60"), 1, "grams",
+                    (float)Math.pow(10, i + 2), "Regular", "Solid", "Special", today) {
+                @Override void set_Activity(double activity, ShipmentCalculator shipment) {
+                    applied[row]++;
+                    super.set_Activity(activity, shipment);
+                }
+            };
+        }
+
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", today);
+        shipment.setIsotopes(isotopes[0], isotopes[1]);
+        shipment.calculate(csvReferenceData, today);
+        shipment.addIsotope(2, isotopes[2]);
+        shipment.removeIsotope(2);
+        shipment.setIsotope(1, isotopes[2]);
+
+        // the full calculation applied every row once, each single change only applied the row it changed
+        Assert.assertArrayEquals(new int[] {1, 1, 2}, applied);
+
+        // the untouched row's share still follows the new total
+        Assert.assertEquals(shipment.getCalculator().getActivityFraction(0), isotopes[0].get_ActivityFraction(), 1e-6);
+        Assert.assertEquals(shipment.getCalculator().getActivityFraction(1), isotopes[2].get_ActivityFraction(), 1e-6);
+    }
+
+    @Test
+    public void replaceIsotopes_NeedsCalculate() {
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Special", LocalDate.now());
+        shipment.setIsotopes(cobalt(1e3f, "Regular"));
+        shipment.calculate(csvReferenceData, LocalDate.now());
+
+        shipment.replaceIsotopes(Arrays.asList(cobalt(1e6f, "Regular"), cobalt(1, "Regular")));
+        Assert.assertFalse(shipment.isCalculated());
+        Assert.assertEquals(2, shipment.getIsotopes().size());
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, shipment.calculate(csvReferenceData, LocalDate.now()));
+    }
+
+    @Test
+    public void getIsotopes_ReadOnly() {
+        expectedException.expect(UnsupportedOperationException.class);
+        new Shipment().getIsotopes().add(cobalt(1, "Regular"));
+    }
+
+    @Test
+    public void removeIsotope_OutOfRange() {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Index 0 is out of range");
+        new Shipment().removeIsotope(0);
+    }
+
+    @Test
+    public void project_NotCalculated() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Shipment must be calculated before it is projected");
+        new Shipment().project(10);
+    }
+
+    @Test
+    public void project_ExemptDate() {
+        // P-32 has an exempt limit of 1e5 Bq (2.7 microCi) and a half life of 14.29 days,
+        // so 5.6 microCi should be exempt a little after one half life
+        LocalDate today = LocalDate.now();
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Normal", today);
+        shipment.setIsotopes(new Isotope(csvReferenceData, "P-32", csvReferenceData.getIsotopeProfile("P-32"), 1, "grams", 5.6f,
+                "Regular", "Solid", "Normal", today));
+        shipment.calculate(csvReferenceData, today);
+        ShipmentProjection projection = shipment.project(30);
+
+        int exempt = projection.getFirstPoint(ShipmentCalculator.EXEMPT);
+        Assert.assertEquals(31, projection.getPoints());
+        Assert.assertEquals(shipment.getShipmentClass(), projection.getPackageClass(0));
+        Assert.assertTrue(exempt > 14 && exempt < 17);
+
+        // the package class at each point should be what calculating the shipment on that day gives
+        for(int t = exempt - 1; t <= exempt; t++)
+            Assert.assertEquals(shipment.calculate(csvReferenceData, projection.getDate(t)), projection.getPackageClass(t));
+    }
+
+    @Test
+    public void calculateDateForExemptShipping_NotCalculated() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Shipment must be calculated before solving for a date");
+        new Shipment().calculateDateForExemptShipping();
+    }
+
+    @Test
+    public void calculateDateForExemptShipping_MatchesProjection() {
+        LocalDate today = LocalDate.now();
+        Shipment shipment = new Shipment(1, "Regular", "Solid", "Normal", today);
+        shipment.setIsotopes(new Isotope(csvReferenceData, "P-32", csvReferenceData.getIsotopeProfile("P-32"), 1, "grams", 5e3f,
+                "Regular", "Solid", "Normal", today), cobalt(1, "Regular"));
+        shipment.calculate(csvReferenceData, today);
+        ShipmentProjection projection = shipment.project(365);
+
+        Assert.assertEquals(projection.getDate(projection.getFirstPoint(ShipmentCalculator.EXEMPT)), shipment.calculateDateForExemptShipping());
+        Assert.assertEquals(projection.getDate(projection.getFirstPoint(ShipmentCalculator.LIMITED)), shipment.calculateDateForLimitedShipping());
+
+        // a shipment of one isotope calculated on its reference date is exempt on the same day as the isotope
+        Shipment single = new Shipment(shipment.getIsotopes().get(0));
+        single.calculate(csvReferenceData, today);
+        Assert.assertEquals(single.getIsotopes().get(0).calculateDateForExemptShipping(), single.calculateDateForExemptShipping());
+    }
+
+    @Test
+    public void calculateDateForLimitedShipping_Instrument() {
+        // instruments wait for every item to be under the item limit and the package to be under the package limit
+        LocalDate today = LocalDate.now();
+        Shipment shipment = new Shipment(1, "Instrument", "Solid", "Special", today);
+        shipment.setIsotopes(cobalt(2e5f, "Instrument"), cobalt(2e4f, "Instrument"));
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, shipment.calculate(csvReferenceData, today));
+
+        LocalDate limited = shipment.calculateDateForLimitedShipping();
+        Assert.assertEquals(ShipmentCalculator.LIMITED, shipment.calculate(csvReferenceData, limited));
+        Assert.assertEquals(ShipmentCalculator.TYPE_A, shipment.calculate(csvReferenceData, limited.minusDays(1)));
+    }
+
+    @Test
+    public void calculate_LiveManifest() {
+        Shipment shipment = new Shipment(10, "Regular", "Solid", "Normal", LocalDate.now());
+        List<String> names = new ArrayList<>();
+        for(int i = 0; i < csvReferenceData.getIsotopeCount() && names.size() < 200; i++) names.add(csvReferenceData.getResolver().getAbbr(i));
+        for(String name : names) {
+            shipment.setIsotopes(new Isotope(csvReferenceData, name, csvReferenceData.getIsotopeProfile(name), 10, "grams", 100,
+                    "Regular", "Solid", "Normal", LocalDate.now().minusDays(30)));
+        }
+
+        // what editing one isotope of the manifest at a time does
+        int rounds = 1000;
+        long start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) {
+            shipment.getIsotopes().get(round % names.size()).set_A0(100 + round);
+            shipment.calculate(csvReferenceData, LocalDate.now());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int round = 0; round < rounds; round++) {
+            Isotope isotope = shipment.getIsotopes().get(round % names.size());
+            isotope.set_A0(200 + round);
+            shipment.setIsotope(round % names.size(), isotope);
+        }
+        long incremental = System.nanoTime() - start;
+
+        logr.info(rounds + " edits of a " + names.size() + " isotope shipment took " + elapsed / 1000000 +
+                "ms recalculating everything and " + incremental / 1000000 + "ms recalculating the edited isotope");
+        Assert.assertEquals(200, shipment.getCalculator().size());
+    }
+}
@@ -0,0 +1,169 @@
+package rad.shipment.calculator.helpers;
+
+import javafx.collections.ListChangeListener;
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class TableEditorTest {
+
+    private static final Logger logr = Logger.getLogger(TableEditorTest.class.getName());  // getting logger
+    @Rule public final ExpectedException expectedException = ExpectedException.none();  // expected exception
+    private static CsvReferenceData csvReferenceData;
+
+    @BeforeClass
+    public static void beforeAllTests() throws IOException {
+        csvReferenceData = CsvReferenceData.load();
+    }
+
+    @Before
+    public void beforeEachTest() { TableEditor.getIsotopes().clear(); }
+
+    @After
+    public void afterEachTest() { TableEditor.getIsotopes().clear(); }
+
+    private static Isotope isotope(String name, float A0) {
+        return new Isotope(csvReferenceData, name, csvReferenceData.getIsotopeProfile(name), 1, "grams", A0,
+                "Regular", "Solid", "Normal", LocalDate.now());
+    }
+
+    private static void assertIndexMatchesList() {
+        List<Isotope> isotopes = TableEditor.getIsotopes();
+        for(int i = 0; i < isotopes.size(); i++) Assert.assertEquals(isotopes.indexOf(isotopes.get(i)), TableEditor.indexOf(isotopes.get(i)));
+    }
+
+    @Test
+    public void indexOf_Missing() {
+        TableEditor.getIsotopes().add(isotope("Co-60", 1));
+
+        Assert.assertEquals(0, TableEditor.indexOf(isotope("Co-60", 1)));
+        Assert.assertEquals(-1, TableEditor.indexOf(isotope("Co-60", 2)));
+        Assert.assertEquals(-1, TableEditor.indexOf(null));
+    }
+
+    @Test
+    public void indexOf_FollowsListChanges() {
+        for(int i = 1; i <= 20; i++) TableEditor.getIsotopes().add(isotope("Co-60", i));
+
+        // changes made straight to the list (like the remove button) keep the index up to date
+        TableEditor.getIsotopes().remove(3);
+        TableEditor.getIsotopes().removeIf(isotope -> isotope.get_A0() % 5 == 0);
+        TableEditor.getIsotopes().add(0, isotope("P-32", 1));
+        TableEditor.getIsotopes().set(2, isotope("H-3", 1));
+        TableEditor.getIsotopes().sort((a, b) -> Float.compare(b.get_A0(), a.get_A0()));
+        assertIndexMatchesList();
+        Assert.assertEquals(-1, TableEditor.indexOf(isotope("Co-60", 4)));
+        Assert.assertEquals(-1, TableEditor.indexOf(isotope("Co-60", 5)));
+
+        // equal rows added straight to the list are found at the first one
+        Isotope repeat = isotope("Co-60", 7);
+        TableEditor.getIsotopes().add(repeat);
+        Assert.assertEquals(TableEditor.getIsotopes().indexOf(repeat), TableEditor.indexOf(repeat));
+        TableEditor.getIsotopes().remove(TableEditor.getIsotopes().indexOf(repeat));
+        Assert.assertEquals(TableEditor.getIsotopes().size() - 1, TableEditor.indexOf(repeat));
+        assertIndexMatchesList();
+    }
+
+    @Test
+    public void indexOf_EditedIsotopeStaysIndexedWhereItWas() {
+        Isotope isotope = isotope("Co-60", 1);
+        TableEditor.getIsotopes().add(isotope);
+        isotope.set_A0(2);
+
+        // the row keeps the key it was added with until it is replaced
+        Assert.assertEquals(0, TableEditor.indexOf(isotope("Co-60", 1)));
+        TableEditor.getIsotopes().set(0, isotope);
+        Assert.assertEquals(0, TableEditor.indexOf(isotope("Co-60", 2)));
+        Assert.assertEquals(-1, TableEditor.indexOf(isotope("Co-60", 1)));
+    }
+
+    @Test
+    public void indexOf_LargeShipment() {
+        List<Isotope> shipment = new ArrayList<>();
+        for(int i = 0; i < 5000; i++) shipment.add(isotope("Co-60", i + 1));
+
+        // what adding and then editing every row of an imported manifest does
+        long start = System.nanoTime();
+        for(Isotope isotope : shipment) {
+            if(TableEditor.indexOf(isotope) < 0) TableEditor.getIsotopes().add(isotope);
+        }
+        for(Isotope isotope : shipment) TableEditor.getIsotopes().set(TableEditor.indexOf(isotope), isotope);
+        long indexed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(Isotope isotope : shipment) TableEditor.getIsotopes().set(TableEditor.getIsotopes().indexOf(isotope), isotope);
+        long scanned = System.nanoTime() - start;
+
+        logr.info("Adding and editing 5000 rows took " + indexed / 1000000 + "ms with the index, editing them took " +
+                scanned / 1000000 + "ms scanning the list");
+        Assert.assertEquals(5000, TableEditor.getIsotopes().size());
+        Assert.assertEquals(4999, TableEditor.indexOf(shipment.get(4999)));
+    }
+
+    @Test
+    public void batch_OneChange() {
+        for(int i = 1; i <= 10; i++) TableEditor.getIsotopes().add(isotope("Co-60", i));
+
+        AtomicInteger changes = new AtomicInteger();
+        ListChangeListener<Isotope> listener = change -> changes.incrementAndGet();
+        TableEditor.getIsotopes().addListener(listener);
+        try {
+            TableEditor.batch(() -> {
+                TableEditor.getIsotopes().set(7, isotope("P-32", 1));
+                TableEditor.getIsotopes().set(2, isotope("H-3", 1));
+                TableEditor.getIsotopes().remove(5);
+                TableEditor.getIsotopes().add(isotope("C-14", 1));
+            });
+        } finally {
+            TableEditor.getIsotopes().removeListener(listener);
+        }
+
+        Assert.assertEquals(1, changes.get());
+        Assert.assertEquals(10, TableEditor.getIsotopes().size());
+        Assert.assertEquals(6, TableEditor.indexOf(isotope("P-32", 1)));
+        Assert.assertEquals(9, TableEditor.indexOf(isotope("C-14", 1)));
+        Assert.assertEquals(-1, TableEditor.indexOf(isotope("Co-60", 6)));
+        assertIndexMatchesList();
+    }
+
+    @Test
+    public void removeRows_NullRow() {
+        expectedException.expect(InvalidParameterException.class);
+        expectedException.expectMessage("Rows cannot contain null");
+        new TableEditor(null).removeRows(Arrays.asList(isotope("Co-60", 1), null));
+    }
+
+    @Test
+    public void removeRows_OneChange() {
+        List<Isotope> remove = new ArrayList<>();
+        for(int i = 1; i <= 5000; i++) {
+            TableEditor.getIsotopes().add(isotope("Co-60", i));
+            if(i % 5 == 0) remove.add(isotope("Co-60", i));
+        }
+        remove.add(isotope("P-32", 1));  // not in the table
+
+        AtomicInteger changes = new AtomicInteger();
+        ListChangeListener<Isotope> listener = change -> changes.incrementAndGet();
+        TableEditor.getIsotopes().addListener(listener);
+        long start = System.nanoTime();
+        try {
+            Assert.assertEquals(1000, new TableEditor(null).removeRows(remove));
+        } finally {
+            TableEditor.getIsotopes().removeListener(listener);
+        }
+        logr.info("Removing 1000 of 5000 rows took " + (System.nanoTime() - start) / 1000000 + "ms");
+
+        Assert.assertEquals(1, changes.get());
+        Assert.assertEquals(4000, TableEditor.getIsotopes().size());
+        Assert.assertEquals(-1, TableEditor.indexOf(isotope("Co-60", 5)));
+        Assert.assertEquals(3999, TableEditor.indexOf(isotope("Co-60", 4999)));
+    }
+}